@@ -1,7 +1,10 @@
 package academy.hekiyou.door;
 
+import academy.hekiyou.door.house.CommandLine;
+import academy.hekiyou.door.house.ConcurrentRegister;
 import academy.hekiyou.door.house.House;
-import academy.hekiyou.door.house.SimpleRegister;
+import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.interp.InterpreterRegistry;
 import academy.hekiyou.door.model.Channel;
 import academy.hekiyou.door.model.Invoker;
 import academy.hekiyou.door.model.Register;
@@ -22,14 +25,14 @@ public final class FrontDoor {
      * @see Settings
      */
     public static void initialize(){
-        initialize(new Settings.Builder().build(), new SimpleRegister());
+        initialize(new Settings.Builder().build(), new ConcurrentRegister());
     }
     
     /**
      * Initializes door with the given {@link Settings} and default {@link Register}
      */
     public static void initialize(@NotNull Settings settings){
-        initialize(settings, new SimpleRegister());
+        initialize(settings, new ConcurrentRegister());
     }
     
     /**
@@ -95,6 +98,86 @@ public final class FrontDoor {
         return __instance.__house.findAndExecute(command, invoker, args);
     }
     
+    /**
+     * Signals that every module has been loaded, letting the command register compile its commands into a table that
+     * is faster to look up. Modules may still be (un)loaded afterwards; see {@link #thaw()}.
+     * @see Register#freeze()
+     */
+    public static void freeze(){
+        __instance.__house.freeze();
+    }
+    
+    /**
+     * Undoes {@link #freeze()}, i.e before (un)loading many modules at once.
+     * @see Register#thaw()
+     */
+    public static void thaw(){
+        __instance.__house.thaw();
+    }
+    
+    /**
+     * A variant of {@link #process(String, Invoker, Channel, String[])} that takes the raw command line, i.e
+     * {@code "tp 5 2 3"}, rather than a pre-split one. The line may quote arguments that contain spaces, and
+     * arguments are handed to the command as views into {@code line} rather than being copied.
+     * @param line The raw command line, whose first token is the command name
+     * @param invoker An instance/implementation of {@link Invoker}
+     * @param chan The {@link Channel} that this command was processed in
+     * @return {@code true} if the command was found and processed successfully, {@code false} otherwise
+     * @see CommandLine
+     */
+    public static boolean process(@NotNull CharSequence line, @NotNull Invoker invoker, @NotNull Channel chan){
+        return __instance.__house.findAndExecute(line, invoker, chan);
+    }
+    
+    /**
+     * A variant of {@link #process(CharSequence, Invoker, Channel)} that does not require a channel to be supplied.
+     * @param line The raw command line, whose first token is the command name
+     * @param invoker An instance/implementation of {@link Invoker}
+     * @return {@code true} if the command was found and processed successfully, {@code false} otherwise
+     */
+    public static boolean process(@NotNull CharSequence line, @NotNull Invoker invoker){
+        return __instance.__house.findAndExecute(line, invoker, Channel.NULL_CHANNEL);
+    }
+    
+    /**
+     * Completes the last token of a command line that is still being typed, i.e for tab-completion. Completing
+     * command names only walks the part of the name already typed, and is cached for prefixes that were seen before.
+     * @param line The partial command line, i.e {@code "tp"} or {@code "perm "}
+     * @return A {@link List} of possible values for the last token, which is empty if there are none
+     * @see House#complete(CharSequence)
+     */
+    @NotNull
+    public static List<String> complete(@NotNull CharSequence line){
+        return __instance.__house.complete(line);
+    }
+    
+    /**
+     * Suggests what a mistyped command line may have meant, i.e after {@link #process(CharSequence, Invoker)}
+     * returned {@code false}. Names are kept in a tree indexed by edit distance, so only the names that could be
+     * close enough are compared against what was typed.
+     * @param line The mistyped command line, i.e {@code "tpp 5 2 3"} or {@code "perm grop add"}
+     * @return A {@link List} of the command (or branch) names closest to what was typed, closest first
+     * @see Settings#getSuggestionDistance()
+     * @see Settings#getSuggestionLimit()
+     * @see House#suggest(CharSequence)
+     */
+    @NotNull
+    public static List<String> suggest(@NotNull CharSequence line){
+        return __instance.__house.suggest(line);
+    }
+    
+    /**
+     * Return the interpreters of the current House, which are layered over the global ones. An {@link Interpreter}
+     * registered with them applies to the modules loaded afterwards, until door is initialized again.
+     *
+     * @return An {@link InterpreterRegistry}
+     * @see academy.hekiyou.door.interp.Interpreters#register(Class, Interpreter)
+     */
+    @NotNull
+    public static InterpreterRegistry getInterpreters(){
+        return __instance.__house.getInterpreters();
+    }
+    
     /**
      * Return the current settings that is loaded for Door
      *
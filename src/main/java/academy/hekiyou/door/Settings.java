@@ -57,15 +57,33 @@ public final class Settings {
      */
     private String badInterpretationPrefix;
     
+    /**
+     * Represents how many edits (insertions, deletions or substitutions) away from a mistyped name another name may
+     * be, and still be suggested in its place.
+     *
+     * @implSpec Default is: 2
+     */
+    private int suggestionDistance;
+    
+    /**
+     * Represents the most names that are suggested in place of a mistyped one.
+     *
+     * @implSpec Default is: 3
+     */
+    private int suggestionLimit;
+    
     private Settings(@NotNull String errorPrefix, @NotNull String invalidArgumentPrefix,
                      @NotNull String usageErrorFormat, @NotNull String permissionError,
-                     @NotNull String invalidSubcommandError, @NotNull String badInterpretationPrefix){
+                     @NotNull String invalidSubcommandError, @NotNull String badInterpretationPrefix,
+                     int suggestionDistance, int suggestionLimit){
         this.errorPrefix = errorPrefix;
         this.invalidArgumentPrefix = invalidArgumentPrefix;
         this.usageErrorFormat = usageErrorFormat;
         this.permissionError = permissionError;
         this.invalidSubcommandError = invalidSubcommandError;
         this.badInterpretationPrefix = badInterpretationPrefix;
+        this.suggestionDistance = suggestionDistance;
+        this.suggestionLimit = suggestionLimit;
     }
     
     /**
@@ -138,6 +156,24 @@ public final class Settings {
         return badInterpretationPrefix;
     }
     
+    /**
+     * Return how far from a mistyped name another name may be, and still be suggested in its place
+     *
+     * @return The largest edit distance of a suggestion
+     */
+    public int getSuggestionDistance(){
+        return suggestionDistance;
+    }
+    
+    /**
+     * Return the most names that are suggested in place of a mistyped one
+     *
+     * @return The most suggestions made
+     */
+    public int getSuggestionLimit(){
+        return suggestionLimit;
+    }
+    
     /**
      * A builder class used to build a {@link Settings} object
      */
@@ -149,6 +185,8 @@ public final class Settings {
         private String permissionError = "Permission required not granted.";
         private String invalidSubcommandError = "Invalid subcommand. Subcommands are: %s";
         private String badInterpretationPrefix = "";
+        private int suggestionDistance = 2;
+        private int suggestionLimit = 3;
         
         /**
          * Sets the error prefix
@@ -240,10 +278,41 @@ public final class Settings {
             return this;
         }
         
+        /**
+         * Sets how far from a mistyped name another name may be, and still be suggested in its place
+         *
+         * @param suggestionDistance the new distance to set
+         *
+         * @return The current builder
+         *
+         * @see Settings#suggestionDistance
+         */
+        @NotNull
+        public Builder suggestionDistance(int suggestionDistance){
+            this.suggestionDistance = suggestionDistance;
+            return this;
+        }
+        
+        /**
+         * Sets the most names that are suggested in place of a mistyped one
+         *
+         * @param suggestionLimit the new limit to set
+         *
+         * @return The current builder
+         *
+         * @see Settings#suggestionLimit
+         */
+        @NotNull
+        public Builder suggestionLimit(int suggestionLimit){
+            this.suggestionLimit = suggestionLimit;
+            return this;
+        }
+        
         @NotNull
         public Settings build(){
             return new Settings(errorPrefix, invalidArgumentPrefix, usageErrorFormat,
-                    permissionError, invalidSubcommandError, badInterpretationPrefix);
+                    permissionError, invalidSubcommandError, badInterpretationPrefix,
+                    suggestionDistance, suggestionLimit);
         }
         
     }
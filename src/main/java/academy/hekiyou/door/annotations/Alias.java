@@ -0,0 +1,25 @@
+package academy.hekiyou.door.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Represents other names that an enum constant may be given by, i.e {@code @Alias("tp") TELEPORT}. Like the name of
+ * the constant itself, aliases are matched regardless of case.
+ *
+ * @see academy.hekiyou.door.interp.EnumInterpreter
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Alias {
+    
+    /**
+     * Return the other names of the constant
+     *
+     * @return an array of names
+     */
+    String[] value();
+    
+}
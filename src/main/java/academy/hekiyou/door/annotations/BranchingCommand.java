@@ -1,5 +1,7 @@
 package academy.hekiyou.door.annotations;
 
+import academy.hekiyou.door.model.CaseFolding;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -30,7 +32,8 @@ import java.lang.annotation.Target;
  * <ul>
  * <li>Declare a {@link RegisterCommand} (to create the root command)
  *       along with {@link BranchingCommand} (signal to the loader that this command branches)</li>
- * <li>Separate valid sub-commands into their own methods, using {@code $} as a splitting token.</li>
+ * <li>Separate valid sub-commands into their own methods, using {@code $} as a splitting token. Sub-commands may be
+ *       nested to any depth, i.e {@code members$role$add} is invoked as "/members role add".</li>
  * <li>Branching/sub-commands must not declare {@link RegisterCommand} or {@link BranchingCommand}</li>
  * </ul>
  * @implSpec Note that the root function will not be called; this is currently a design flaw as a result of the
@@ -41,5 +44,12 @@ import java.lang.annotation.Target;
 @Retention(value = RetentionPolicy.RUNTIME)
 @Target(value = ElementType.METHOD)
 public @interface BranchingCommand {
-
+    
+    /**
+     * Return how the branch a user typed is matched against the branches declared
+     *
+     * @return a {@link CaseFolding}; branches are case-insensitive by default
+     */
+    CaseFolding caseFolding() default CaseFolding.INSENSITIVE;
+    
 }
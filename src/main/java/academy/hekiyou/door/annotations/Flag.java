@@ -0,0 +1,35 @@
+package academy.hekiyou.door.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Represents a {@code boolean} parameter that is given by name rather than by position, i.e {@code --force} or
+ * {@code -f}. The parameter is {@code true} if the flag was given, {@code false} otherwise.
+ * <p>
+ * Flags may be given anywhere among the positional arguments, and short flags may be bundled (i.e {@code -fv}). An
+ * argument of {@code --} ends the flags; every argument after it is positional.
+ *
+ * @see Option
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Flag {
+    
+    /**
+     * Return the long name of the flag, given as {@code --name}
+     *
+     * @return The long name, or an empty {@link String} to use the name of the parameter
+     */
+    String value() default "";
+    
+    /**
+     * Return the short name of the flag, given as {@code -c}
+     *
+     * @return The short name, which must be an ASCII letter, or {@code '\0'} for none
+     */
+    char shortName() default '\0';
+    
+}
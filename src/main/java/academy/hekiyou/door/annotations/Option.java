@@ -0,0 +1,36 @@
+package academy.hekiyou.door.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Represents a parameter whose value is given by name rather than by position, i.e {@code --count 5},
+ * {@code --count=5}, {@code -n 5} or {@code -n5}.
+ * <p>
+ * An option is required unless the parameter is also annotated with an optional annotation (i.e
+ * {@link academy.hekiyou.door.annotations.optional.OptionalInteger}), whose default is used if the option is not
+ * given. If an option is given more than once, the last value is taken.
+ *
+ * @see Flag
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Option {
+    
+    /**
+     * Return the long name of the option, given as {@code --name}
+     *
+     * @return The long name, or an empty {@link String} to use the name of the parameter
+     */
+    String value() default "";
+    
+    /**
+     * Return the short name of the option, given as {@code -c}
+     *
+     * @return The short name, which must be an ASCII letter, or {@code '\0'} for none
+     */
+    char shortName() default '\0';
+    
+}
@@ -10,6 +10,9 @@ import java.lang.annotation.Target;
 /**
  * An annotation that is used to indicate the method is a command - that is, it is destined to be registered,
  * executed, and utilized by users.
+ * <p>
+ * Several methods of a module may be annotated under the same name, in which case each is an overload of the
+ * command; they must declare the same {@link #alias()} and {@link #override()}.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
@@ -0,0 +1,20 @@
+package academy.hekiyou.door.annotations.constraint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that limits a {@code float} or {@code double} parameter to a range of values, inclusive. An argument
+ * outside of the range (or one that is not a number) is reported as a bad argument.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface DecimalRange {
+    
+    double min() default Double.NEGATIVE_INFINITY;
+    
+    double max() default Double.POSITIVE_INFINITY;
+    
+}
@@ -0,0 +1,20 @@
+package academy.hekiyou.door.annotations.constraint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that limits the number of characters of a {@link String} (or {@link CharSequence}) parameter,
+ * inclusive. An argument that is too short or too long is reported as a bad argument.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Length {
+    
+    int min() default 0;
+    
+    int max() default Integer.MAX_VALUE;
+    
+}
@@ -0,0 +1,25 @@
+package academy.hekiyou.door.annotations.constraint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that requires a {@link String} (or {@link CharSequence}) parameter to match a regular expression in
+ * its entirety. The expression is compiled once, when the command is loaded.
+ *
+ * @see java.util.regex.Pattern
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Matches {
+    
+    /**
+     * Return the regular expression the argument must match
+     *
+     * @return a regular expression, as accepted by {@link java.util.regex.Pattern#compile(String)}
+     */
+    String value();
+    
+}
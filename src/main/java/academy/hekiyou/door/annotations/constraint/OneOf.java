@@ -0,0 +1,32 @@
+package academy.hekiyou.door.annotations.constraint;
+
+import academy.hekiyou.door.model.CaseFolding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that limits a {@link String} (or {@link CharSequence}) parameter to a fixed set of values. The values
+ * are also suggested when completing the argument.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface OneOf {
+    
+    /**
+     * Return the values the argument may be
+     *
+     * @return an array of values
+     */
+    String[] value();
+    
+    /**
+     * Return how the argument is matched against the values
+     *
+     * @return a {@link CaseFolding}; values are case-sensitive by default
+     */
+    CaseFolding caseFolding() default CaseFolding.SENSITIVE;
+    
+}
@@ -0,0 +1,20 @@
+package academy.hekiyou.door.annotations.constraint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that limits an integral parameter ({@code byte}, {@code short}, {@code int} or {@code long}) to a
+ * range of values, inclusive. An argument outside of the range is reported as a bad argument.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Range {
+    
+    long min() default Long.MIN_VALUE;
+    
+    long max() default Long.MAX_VALUE;
+    
+}
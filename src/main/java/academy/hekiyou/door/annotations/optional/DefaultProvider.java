@@ -0,0 +1,29 @@
+package academy.hekiyou.door.annotations.optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Represents a functional interface (or object) capable of producing the default value described by an
+ * {@link Optional} annotation, i.e {@code OptionalInteger::value}.
+ * <p>
+ * Providers are only consulted once per parameter, when a command is loaded; the value returned is kept and reused
+ * every time the parameter is omitted.
+ *
+ * @param <A> the type of the optional annotation
+ */
+@FunctionalInterface
+public interface DefaultProvider<A extends Annotation> {
+    
+    /**
+     * Produces the default value described by {@code annotation}.
+     *
+     * @param annotation the annotation present on the parameter
+     *
+     * @return The default value, which must be assignable to the parameter (or {@code null} for non-primitives)
+     */
+    @Nullable Object provide(@NotNull A annotation);
+    
+}
@@ -0,0 +1,99 @@
+package academy.hekiyou.door.annotations.optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A class to maintain the registry and retrieval of {@link DefaultProvider}s.
+ * <p>
+ * Applications that declare their own {@link Optional} annotations can call
+ * {@link DefaultProviders#register(Class, DefaultProvider)} so that commands using them can be loaded.
+ */
+public class DefaultProviders {
+    
+    /**
+     * An annotation type to {@link DefaultProvider} mapping; used internally to manage {@link DefaultProvider}s.
+     *
+     * @implNote Not thread safe, for the same reasons as {@link academy.hekiyou.door.interp.Interpreters}.
+     */
+    private static final Map<Class<? extends Annotation>, DefaultProvider<?>> REGISTERED = new HashMap<>();
+    
+    // register the defaults whenever DefaultProviders is accessed to ensure the built-in annotations work
+    static{
+        registerDefaults();
+    }
+    
+    /**
+     * Fetches the {@link DefaultProvider} for annotations of type {@code A}.
+     *
+     * @param klass the annotation type
+     * @param <A>   the type of the annotation
+     *
+     * @return A {@link DefaultProvider} instance, or {@code null} if none was found
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation> @Nullable DefaultProvider<A> of(@NotNull Class<A> klass){
+        return (DefaultProvider<A>) REGISTERED.get(klass);
+    }
+    
+    /**
+     * Registers a {@link DefaultProvider} to be associated with the specified annotation type.
+     *
+     * @param klass    the annotation type to map as a key; it should be annotated with {@link Optional}
+     * @param provider the {@link DefaultProvider} to map as a value
+     * @param <A>      the type of the annotation
+     *
+     * @throws IllegalArgumentException if {@code klass} is not an {@link Optional} annotation or is already mapped
+     * to a {@link DefaultProvider}
+     */
+    public static <A extends Annotation> void register(@NotNull Class<A> klass, @NotNull DefaultProvider<A> provider){
+        if(!klass.isAnnotationPresent(Optional.class))
+            throw new IllegalArgumentException(klass.getName() + " is not annotated with @Optional");
+        if(REGISTERED.containsKey(klass))
+            throw new IllegalArgumentException(String.format("%s is already registered to %s!",
+                    klass.getName(), String.valueOf(REGISTERED.get(klass))));
+        
+        REGISTERED.put(klass, provider);
+    }
+    
+    /**
+     * Produces the default value described by {@code annotation} using its registered {@link DefaultProvider}.
+     *
+     * @param annotation an annotation whose type is annotated with {@link Optional}
+     * @param <A>        the type of the annotation
+     *
+     * @return The default value
+     *
+     * @throws IllegalArgumentException if no {@link DefaultProvider} is registered for the annotation's type
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation> @Nullable Object provide(@NotNull A annotation){
+        DefaultProvider<A> provider = (DefaultProvider<A>) REGISTERED.get(annotation.annotationType());
+        if(provider == null)
+            throw new IllegalArgumentException(annotation.annotationType().getName() + " has no default provider");
+        return provider.provide(annotation);
+    }
+    
+    /**
+     * Registers the providers for the built-in optional annotations.
+     *
+     * @implNote {@link OptionalObject} always provides {@code null}; its value is only used to describe the default.
+     */
+    private static void registerDefaults(){
+        register(OptionalByte.class, OptionalByte::value);
+        register(OptionalShort.class, OptionalShort::value);
+        register(OptionalCharacter.class, OptionalCharacter::value);
+        register(OptionalInteger.class, OptionalInteger::value);
+        register(OptionalFloat.class, OptionalFloat::value);
+        register(OptionalLong.class, OptionalLong::value);
+        register(OptionalDouble.class, OptionalDouble::value);
+        register(OptionalBoolean.class, OptionalBoolean::value);
+        register(OptionalString.class, OptionalString::value);
+        register(OptionalObject.class, annotation -> null);
+    }
+    
+}
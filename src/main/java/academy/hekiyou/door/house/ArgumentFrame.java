@@ -0,0 +1,253 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.interp.InterpretResult;
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A reusable, per-thread scratch area that a {@link HouseCommand} interprets its arguments into.
+ * <p>
+ * Frames are sized from the command's arity once and then recycled between executions, so a successful dispatch does
+ * not need to allocate an argument array of its own. Primitive arguments are kept in their own lanes (see
+ * {@link Lane}) and read back out by {@link #reader(int, Lane, Class)} without ever being boxed.
+ *
+ * @implNote A frame is only read up until the command's method is entered; after that point it may be safely reused,
+ * even by a nested dispatch of the same command on the same thread.
+ */
+final class ArgumentFrame {
+    
+    private static final MethodHandle VALUES;
+    private static final MethodHandle LONGS;
+    private static final MethodHandle DOUBLES;
+    
+    private static final CompletableFuture<?>[] NO_LOOKUPS = new CompletableFuture<?>[0];
+    
+    static{
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            VALUES = lookup.findGetter(ArgumentFrame.class, "values", Object[].class);
+            LONGS = lookup.findGetter(ArgumentFrame.class, "longs", long[].class);
+            DOUBLES = lookup.findGetter(ArgumentFrame.class, "doubles", double[].class);
+        } catch(NoSuchFieldException | IllegalAccessException exc) {
+            throw new ExceptionInInitializerError(exc);
+        }
+    }
+    
+    final Object[] values;
+    final long[] longs;
+    final double[] doubles;
+    
+    /**
+     * The result each argument is interpreted into before being moved into its lane
+     */
+    InterpretResult result = new InterpretResult();
+    
+    /**
+     * The result of the last argument that failed to be interpreted, if any
+     */
+    InterpretResult failure = new InterpretResult();
+    
+    /**
+     * Who is executing the command and where, for {@link academy.hekiyou.door.interp.ContextualInterpreter}s; both
+     * are {@code null} outside of an execution
+     */
+    @Nullable Invoker invoker;
+    @Nullable Channel channel;
+    
+    /**
+     * The view used when the command is executed with a {@link String} array
+     */
+    final ArrayArguments arrayArguments = new ArrayArguments();
+    
+    /**
+     * The index of every positional argument, when the command has flags or options (see {@link FlagTable})
+     */
+    int[] positions = new int[8];
+    int positionCount;
+    
+    /**
+     * The view of the positional arguments, when the command has flags or options
+     */
+    final PositionalArguments positional = new PositionalArguments();
+    
+    /**
+     * A bit for each flag or option that was given
+     */
+    long given;
+    
+    /**
+     * The index of the parameter a flag or option failed on, or -1 if it failed on none in particular
+     */
+    int failedIndex = -1;
+    
+    /**
+     * Views of the name and attached value of a flag or option (i.e {@code --count=5})
+     */
+    final TokenView name = new TokenView();
+    final TokenView value = new TokenView();
+    
+    /**
+     * The lookups of asynchronous arguments that were started (see
+     * {@link academy.hekiyou.door.interp.AsyncInterpreter}), along with the index of the parameter and the input of
+     * each
+     */
+    CompletableFuture<?>[] lookups = NO_LOOKUPS;
+    int[] lookupIndices = new int[0];
+    String[] lookupInputs = new String[0];
+    int lookupCount;
+    
+    /**
+     * Constructs a frame capable of holding {@code arity} arguments
+     *
+     * @param arity The number of arguments the owning command takes (excluding the invoker and channel)
+     */
+    ArgumentFrame(int arity){
+        this.values = new Object[arity];
+        this.longs = new long[arity];
+        this.doubles = new double[arity];
+    }
+    
+    /**
+     * Keeps the failure currently held by {@link #result}, so that it may be reported even if later arguments are
+     * interpreted successfully. The two results are swapped rather than copied.
+     */
+    void keepFailure(){
+        InterpretResult failed = result;
+        result = failure;
+        failure = failed;
+    }
+    
+    /**
+     * Records the index of a positional argument, growing {@link #positions} if needed
+     *
+     * @param index The index of the argument
+     */
+    void addPosition(int index){
+        if(positionCount == positions.length)
+            positions = Arrays.copyOf(positions, positionCount * 2);
+        positions[positionCount++] = index;
+    }
+    
+    /**
+     * Records the lookup of an asynchronous argument, growing the lookup arrays if needed
+     *
+     * @param index  The index of the parameter the argument is passed to
+     * @param input  The input the lookup was started with
+     * @param lookup The lookup
+     */
+    void addLookup(int index, @NotNull String input, @NotNull CompletableFuture<?> lookup){
+        if(lookupCount == lookups.length){
+            int size = Math.max(4, lookupCount * 2);
+            lookups = Arrays.copyOf(lookups, size);
+            lookupIndices = Arrays.copyOf(lookupIndices, size);
+            lookupInputs = Arrays.copyOf(lookupInputs, size);
+        }
+        lookups[lookupCount] = lookup;
+        lookupIndices[lookupCount] = index;
+        lookupInputs[lookupCount] = input;
+        lookupCount++;
+    }
+    
+    /**
+     * Copies the arguments and lookups of this frame into a new frame, which the execution keeps once it has to wait
+     * for its lookups, so that this frame may be reused in the meantime
+     *
+     * @return A new {@link ArgumentFrame}, whose lookup arrays are exactly {@link #lookupCount} long
+     */
+    @NotNull ArgumentFrame detach(){
+        ArgumentFrame detached = new ArgumentFrame(values.length);
+        System.arraycopy(values, 0, detached.values, 0, values.length);
+        System.arraycopy(longs, 0, detached.longs, 0, longs.length);
+        System.arraycopy(doubles, 0, detached.doubles, 0, doubles.length);
+        detached.lookups = Arrays.copyOf(lookups, lookupCount);
+        detached.lookupIndices = Arrays.copyOf(lookupIndices, lookupCount);
+        detached.lookupInputs = Arrays.copyOf(lookupInputs, lookupCount);
+        detached.lookupCount = lookupCount;
+        return detached;
+    }
+    
+    /**
+     * Releases every reference held by this frame, so that arguments do not outlive their execution
+     */
+    void clear(){
+        Arrays.fill(values, null);
+        invoker = null;
+        channel = null;
+        if(lookupCount > 0){
+            Arrays.fill(lookups, 0, lookupCount, null);
+            Arrays.fill(lookupInputs, 0, lookupCount, null);
+            lookupCount = 0;
+        }
+        result.reset();
+        failure.reset();
+        arrayArguments.clear();
+        positional.clear();
+        name.set("", 0, 0);
+        value.set("", 0, 0);
+    }
+    
+    /**
+     * Creates a {@link MethodHandle} of type {@code (ArgumentFrame)type} that reads the argument at {@code index}
+     * out of the given lane.
+     *
+     * @param index The index of the argument
+     * @param lane  The {@link Lane} the argument is stored in
+     * @param type  The type of the parameter the argument is passed to
+     *
+     * @return A {@link MethodHandle} reading the argument
+     */
+    static @NotNull MethodHandle reader(int index, @NotNull Lane lane, @NotNull Class<?> type){
+        MethodHandle array;
+        switch(lane){
+            case OBJECT:
+                array = VALUES;
+                break;
+            case DOUBLE:
+                array = DOUBLES;
+                break;
+            default:
+                array = LONGS;
+                break;
+        }
+        
+        Class<?> arrayType = array.type().returnType();
+        MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(arrayType), 1, index);
+        return MethodHandles.explicitCastArguments(MethodHandles.filterArguments(element, 0, array),
+                MethodType.methodType(type, ArgumentFrame.class));
+    }
+    
+    /**
+     * Represents where in a frame an argument is stored.
+     * <p>
+     * Integral primitives (including {@code boolean}, as 0 or 1, and {@code char}) use {@link ArgumentFrame#longs},
+     * floating point primitives use {@link ArgumentFrame#doubles}, and everything else is kept in
+     * {@link ArgumentFrame#values}.
+     */
+    enum Lane {
+        OBJECT, LONG, DOUBLE;
+        
+        /**
+         * Return the lane that arguments of the given type are stored in
+         *
+         * @param type The type of the parameter
+         *
+         * @return The {@link Lane} for {@code type}
+         */
+        static @NotNull Lane of(@NotNull Class<?> type){
+            if(type == float.class || type == double.class)
+                return DOUBLE;
+            if(type.isPrimitive())
+                return LONG;
+            return OBJECT;
+        }
+    }
+    
+}
@@ -0,0 +1,127 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.Arguments;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A reusable {@link Arguments} view over a {@link String} array (or a range of one), used when a command is executed
+ * the traditional way.
+ */
+final class ArrayArguments implements Arguments {
+    
+    /**
+     * The largest glob buffer we are willing to keep around between executions
+     */
+    private static final int MAX_RETAINED_GLOB = 1024;
+    private static final String[] EMPTY = new String[0];
+    
+    private String[] array = EMPTY;
+    private int offset;
+    private int length;
+    private StringBuilder globBuffer = new StringBuilder();
+    
+    /**
+     * Points this view at {@code array}
+     *
+     * @param array The arguments to view
+     *
+     * @return This object, for convenience
+     */
+    @NotNull ArrayArguments wrap(@NotNull String[] array){
+        return wrap(array, 0, array.length);
+    }
+    
+    /**
+     * Points this view at {@code length} elements of {@code array}, starting at {@code offset}
+     *
+     * @param array  The array holding the arguments to view
+     * @param offset The index of the first argument in {@code array}
+     * @param length The number of arguments to view
+     *
+     * @return This object, for convenience
+     *
+     * @throws IndexOutOfBoundsException if the range does not fit within {@code array}
+     */
+    @NotNull ArrayArguments wrap(@NotNull String[] array, int offset, int length){
+        if(offset < 0 || length < 0 || offset > array.length - length)
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length
+                    + ", size: " + array.length);
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+    
+    /**
+     * Releases the array currently viewed
+     */
+    void clear(){
+        array = EMPTY;
+        offset = length = 0;
+        if(globBuffer.capacity() > MAX_RETAINED_GLOB)
+            globBuffer = new StringBuilder();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(){
+        return length;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CharSequence get(int index){
+        if(index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + length);
+        return array[offset + index];
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Arguments are joined by a single space. A single argument is returned as is (trimmed), otherwise the
+     * arguments are joined into a buffer owned by this object.
+     */
+    @Override
+    public @NotNull CharSequence glob(int from){
+        if(from < 0 || from >= length)
+            throw new IndexOutOfBoundsException("index: " + from + ", size: " + length);
+        
+        // a single argument needs no joining; trim() won't copy it unless it has to
+        if(from == length - 1)
+            return array[offset + from].trim();
+        
+        StringBuilder sb = globBuffer;
+        sb.setLength(0);
+        for(int i = offset + from; i < offset + length; i++){
+            if(i > offset + from)
+                sb.append(' ');
+            sb.append(array[i]);
+        }
+        
+        int start = 0;
+        while(start < sb.length() && sb.charAt(start) <= ' ')
+            start++;
+        sb.delete(0, start);
+        int end = sb.length();
+        while(end > 0 && sb.charAt(end - 1) <= ' ')
+            end--;
+        sb.setLength(end);
+        return sb;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull String[] toArray(){
+        return Arrays.copyOfRange(array, offset, offset + length);
+    }
+    
+}
@@ -0,0 +1,323 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A Burkhard-Keller tree over a set of names (i.e commands, aliases or branches), used to find the names closest to
+ * one that was mistyped.
+ * <p>
+ * Each child of a node is filed under its edit distance to the node, so by the triangle inequality a search within
+ * distance {@code k} of a query that is distance {@code d} from a node only has to visit the children filed under
+ * {@code d - k} to {@code d + k}. Once as many names as were asked for are found, the search narrows to the distance
+ * of the worst of them.
+ * <p>
+ * Distances are Levenshtein distances (insertions, deletions and substitutions), with characters compared according
+ * to a {@link CaseFolding}.
+ *
+ * @implNote Reads never lock. Nodes are never modified once they can be read; adding a name copies only the nodes on
+ * its path. Removed names are only marked as such, and the tree is rebuilt once they outnumber the names still held.
+ */
+public final class BKTree {
+    
+    private final CaseFolding folding;
+    private volatile @Nullable Node root;
+    private int live;
+    private int removed;
+    
+    /**
+     * Constructs an empty tree
+     *
+     * @param folding How characters of names are compared
+     */
+    public BKTree(@NotNull CaseFolding folding){
+        this.folding = folding;
+    }
+    
+    /**
+     * Constructs a tree holding the given names
+     *
+     * @param names   The names to hold
+     * @param folding How characters of names are compared
+     */
+    public BKTree(@NotNull Collection<String> names, @NotNull CaseFolding folding){
+        this(folding);
+        for(String name : names)
+            add(name);
+    }
+    
+    /**
+     * Adds a name to this tree. If a name matching it (according to the {@link CaseFolding}) is already held, it is
+     * respelled as {@code name}.
+     *
+     * @param name The name to add
+     */
+    public synchronized void add(@NotNull String name){
+        Node current = root;
+        if(current == null){
+            root = new Node(name);
+            live++;
+        } else {
+            root = insert(current, name);
+        }
+    }
+    
+    /**
+     * Removes a name from this tree
+     *
+     * @param name The name to remove, matched according to the {@link CaseFolding}
+     *
+     * @return {@code true} if the name was held, {@code false} otherwise
+     */
+    public synchronized boolean remove(@NotNull String name){
+        Node current = root;
+        Node marked = current == null ? null : mark(current, name);
+        if(marked == current)
+            return false;
+        
+        live--;
+        removed++;
+        if(removed <= live){
+            root = marked;
+            return true;
+        }
+        
+        // too much of the tree is dead weight; rebuild it from what is left
+        List<String> names = new ArrayList<>(live);
+        marked.collect(names);
+        root = null;
+        live = removed = 0;
+        for(String kept : names)
+            add(kept);
+        return true;
+    }
+    
+    /**
+     * Finds the names closest to {@code query}
+     *
+     * @param query       The (possibly mistyped) name
+     * @param maxDistance The largest distance a name may be from {@code query}
+     * @param limit       The most names to return
+     *
+     * @return A {@link List} of at most {@code limit} names, closest first (and names that are equally close in
+     * order), which is empty if none are within {@code maxDistance}
+     */
+    public @NotNull List<String> nearest(@NotNull CharSequence query, int maxDistance, int limit){
+        Node current = root;
+        if(current == null || limit <= 0 || maxDistance < 0)
+            return Collections.emptyList();
+        
+        Distance distance = new Distance(query, folding);
+        // the worst match found so far is kept on top, so it can be replaced
+        PriorityQueue<Match> found = new PriorityQueue<>(Math.min(limit, 16) + 1, Collections.reverseOrder());
+        int within = maxDistance;
+        
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(current);
+        while(!pending.isEmpty()){
+            Node node = pending.pop();
+            int d = distance.to(node.name);
+            if(node.live && d <= within){
+                found.add(new Match(node.name, d, folding));
+                if(found.size() > limit)
+                    found.poll();
+                if(found.size() == limit)
+                    within = found.peek().distance;
+            }
+            
+            // only children filed under [d - within, d + within] can be within range
+            int from = lowerBound(node.distances, d - within);
+            for(int i = from; i < node.distances.length && node.distances[i] <= d + within; i++)
+                pending.push(node.children[i]);
+        }
+        
+        Match[] sorted = found.toArray(new Match[0]);
+        Arrays.sort(sorted);
+        List<String> names = new ArrayList<>(sorted.length);
+        for(Match match : sorted)
+            names.add(match.name);
+        return names;
+    }
+    
+    /**
+     * Return the number of names held
+     *
+     * @return The number of names held
+     */
+    public synchronized int size(){
+        return live;
+    }
+    
+    private @NotNull Node insert(@NotNull Node node, @NotNull String name){
+        int d = new Distance(name, folding).to(node.name);
+        if(d == 0){
+            if(node.live && node.name.equals(name))
+                return node;
+            if(!node.live){
+                live++;
+                removed--;
+            }
+            return new Node(name, true, node.distances, node.children);
+        }
+        
+        int index = Arrays.binarySearch(node.distances, d);
+        if(index >= 0)
+            return node.withChild(index, insert(node.children[index], name));
+        live++;
+        return node.withChild(-index - 1, d, new Node(name));
+    }
+    
+    private @NotNull Node mark(@NotNull Node node, @NotNull String name){
+        int d = new Distance(name, folding).to(node.name);
+        if(d == 0)
+            return node.live ? new Node(node.name, false, node.distances, node.children) : node;
+        
+        int index = Arrays.binarySearch(node.distances, d);
+        if(index < 0)
+            return node;
+        Node marked = mark(node.children[index], name);
+        return marked == node.children[index] ? node : node.withChild(index, marked);
+    }
+    
+    private static int lowerBound(int[] sorted, int key){
+        int low = 0;
+        int high = sorted.length;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(sorted[mid] < key)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+    
+    /**
+     * An immutable node of the tree
+     */
+    private static final class Node {
+        
+        final String name;
+        
+        /**
+         * If {@link #name} is still held, rather than only kept to file the children under
+         */
+        final boolean live;
+        
+        /**
+         * The distance each child is filed under, sorted so they can be binary searched
+         */
+        final int[] distances;
+        final Node[] children;
+        
+        Node(@NotNull String name){
+            this(name, true, new int[0], new Node[0]);
+        }
+        
+        Node(@NotNull String name, boolean live, int[] distances, Node[] children){
+            this.name = name;
+            this.live = live;
+            this.distances = distances;
+            this.children = children;
+        }
+        
+        /**
+         * Return a copy of this node whose child at {@code index} is replaced
+         */
+        @NotNull Node withChild(int index, @NotNull Node child){
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(name, live, distances, newChildren);
+        }
+        
+        /**
+         * Return a copy of this node with a child filed under {@code distance} inserted at {@code index}
+         */
+        @NotNull Node withChild(int index, int distance, @NotNull Node child){
+            int[] newDistances = new int[distances.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(distances, 0, newDistances, 0, index);
+            System.arraycopy(distances, index, newDistances, index + 1, distances.length - index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newDistances[index] = distance;
+            newChildren[index] = child;
+            return new Node(name, live, newDistances, newChildren);
+        }
+        
+        void collect(@NotNull List<String> into){
+            if(live)
+                into.add(name);
+            for(Node child : children)
+                child.collect(into);
+        }
+        
+    }
+    
+    /**
+     * Computes Levenshtein distances from a single query, reusing its rows between names
+     */
+    private static final class Distance {
+        
+        private final CharSequence query;
+        private final CaseFolding folding;
+        private int[] previous;
+        private int[] current;
+        
+        Distance(@NotNull CharSequence query, @NotNull CaseFolding folding){
+            this.query = query;
+            this.folding = folding;
+            this.previous = new int[query.length() + 1];
+            this.current = new int[query.length() + 1];
+        }
+        
+        int to(@NotNull String name){
+            int length = query.length();
+            for(int j = 0; j <= length; j++)
+                previous[j] = j;
+            
+            for(int i = 1; i <= name.length(); i++){
+                char c = folding.fold(name.charAt(i - 1));
+                current[0] = i;
+                for(int j = 1; j <= length; j++){
+                    int substitute = previous[j - 1] + (c == folding.fold(query.charAt(j - 1)) ? 0 : 1);
+                    current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[length];
+        }
+        
+    }
+    
+    /**
+     * A name found by a search, ordered by its distance and then the name itself
+     */
+    private static final class Match implements Comparable<Match> {
+        
+        final String name;
+        final int distance;
+        final CaseFolding folding;
+        
+        Match(@NotNull String name, int distance, @NotNull CaseFolding folding){
+            this.name = name;
+            this.distance = distance;
+            this.folding = folding;
+        }
+        
+        @Override
+        public int compareTo(@NotNull Match other){
+            if(distance != other.distance)
+                return Integer.compare(distance, other.distance);
+            return folding == CaseFolding.INSENSITIVE ? String.CASE_INSENSITIVE_ORDER.compare(name, other.name)
+                    : name.compareTo(other.name);
+        }
+        
+    }
+    
+}
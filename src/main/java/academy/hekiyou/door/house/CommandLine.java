@@ -0,0 +1,198 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.Arguments;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A raw command line, split into a command name and its {@link Arguments} in a single pass.
+ * <p>
+ * Tokens are separated by whitespace. Either kind of quote ({@code "} or {@code '}) groups whitespace into a token,
+ * and a backslash escapes the character after it (except within single quotes, where everything is literal). Tokens
+ * are handed out as offset/length views into the original line; only tokens that actually contain quotes or escapes
+ * are unescaped, into a buffer owned by this object.
+ * <p>
+ * A {@link CommandLine} can be reused for any number of lines by calling {@link #tokenize(CharSequence)} again, which
+ * is how {@link House} avoids allocating one per dispatch.
+ *
+ * @implNote Not thread safe. Views handed out are invalidated by the next call to {@link #tokenize(CharSequence)} or
+ * {@link #clear()}.
+ */
+public final class CommandLine implements Arguments {
+    
+    /**
+     * The largest unescaping buffer we are willing to keep around between lines
+     */
+    private static final int MAX_RETAINED_BUFFER = 1024;
+    
+    private CharSequence line = "";
+    private StringBuilder unescaped = new StringBuilder();
+    private final TokenView globView = new TokenView();
+    
+    private int count;
+    private int[] rawStarts = new int[8];
+    private int[] rawEnds = new int[8];
+    private TokenView[] views = new TokenView[8];
+    
+    /**
+     * Tokenizes {@code line}, replacing whatever this object previously held
+     *
+     * @param line The raw command line, i.e {@code "tp 5 2 3"}
+     *
+     * @return This object, for convenience
+     */
+    public @NotNull CommandLine tokenize(@NotNull CharSequence line){
+        clear();
+        this.line = line;
+        
+        int length = line.length();
+        int i = 0;
+        while(true){
+            while(i < length && Character.isWhitespace(line.charAt(i)))
+                i++;
+            if(i >= length)
+                break;
+            
+            int rawStart = i;
+            int bufferStart = unescaped.length();
+            boolean copying = false; // becomes true as soon as the token can no longer be a plain view
+            char quote = 0;
+            for(; i < length; i++){
+                char c = line.charAt(i);
+                if(quote == 0 && Character.isWhitespace(c))
+                    break;
+                
+                boolean escape = c == '\\' && quote != '\'' && i + 1 < length;
+                boolean quoting = (c == '"' || c == '\'') && (quote == 0 || quote == c);
+                if((escape || quoting) && !copying){
+                    unescaped.append(line, rawStart, i);
+                    copying = true;
+                }
+                
+                if(escape)
+                    unescaped.append(line.charAt(++i));
+                else if(quoting)
+                    quote = (quote == 0 ? c : 0);
+                else if(copying)
+                    unescaped.append(c);
+            }
+            
+            if(copying)
+                add(rawStart, i, unescaped, bufferStart, unescaped.length());
+            else
+                add(rawStart, i, line, rawStart, i);
+        }
+        return this;
+    }
+    
+    /**
+     * Tokenizes {@code line} as it is still being typed, so that its last token is always the one the cursor is on.
+     * If {@code line} is blank or ends in whitespace, an empty token is added at its end to stand for the token about
+     * to be typed.
+     *
+     * @param line The partial command line, i.e {@code "tp 5 2 "}
+     *
+     * @return This object, for convenience
+     */
+    public @NotNull CommandLine tokenizePartial(@NotNull CharSequence line){
+        tokenize(line);
+        if(count == 0 || rawEnds[count - 1] < line.length())
+            add(line.length(), line.length(), line, line.length(), line.length());
+        return this;
+    }
+    
+    /**
+     * Releases the line currently held
+     */
+    public void clear(){
+        for(int i = 0; i < count; i++)
+            views[i].set("", 0, 0);
+        globView.set("", 0, 0);
+        count = 0;
+        line = "";
+        
+        if(unescaped.capacity() > MAX_RETAINED_BUFFER)
+            unescaped = new StringBuilder();
+        unescaped.setLength(0);
+    }
+    
+    /**
+     * Return the line that was tokenized
+     *
+     * @return The raw command line
+     */
+    public @NotNull CharSequence getLine(){
+        return line;
+    }
+    
+    /**
+     * Return the first token of the line, which names the command
+     *
+     * @return A view of the command name, or an empty sequence if the line was blank
+     */
+    public @NotNull CharSequence getCommand(){
+        return count == 0 ? "" : views[0];
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(){
+        return Math.max(0, count - 1);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CharSequence get(int index){
+        if(index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        return views[index + 1];
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The glob is the remainder of the line exactly as it was typed, quotes and escapes included.
+     */
+    @Override
+    public @NotNull CharSequence glob(int from){
+        if(from < 0 || from >= size())
+            throw new IndexOutOfBoundsException("index: " + from + ", size: " + size());
+        
+        int start = rawStarts[from + 1];
+        int end = rawEnds[count - 1];
+        while(end > start && Character.isWhitespace(line.charAt(end - 1)))
+            end--;
+        return globView.set(line, start, end);
+    }
+    
+    /**
+     * Records a token
+     *
+     * @param rawStart The index the token starts at in the line, as typed
+     * @param rawEnd   The index the token ends at in the line, as typed
+     * @param source   What the token's content is a view of
+     * @param start    The index the token's content starts at in {@code source}
+     * @param end      The index the token's content ends at in {@code source}
+     */
+    private void add(int rawStart, int rawEnd, @NotNull CharSequence source, int start, int end){
+        if(count == views.length){
+            int grown = count * 2;
+            rawStarts = Arrays.copyOf(rawStarts, grown);
+            rawEnds = Arrays.copyOf(rawEnds, grown);
+            views = Arrays.copyOf(views, grown);
+        }
+        if(views[count] == null)
+            views[count] = new TokenView();
+        
+        rawStarts[count] = rawStart;
+        rawEnds[count] = rawEnd;
+        views[count].set(source, start, end);
+        count++;
+    }
+    
+}
@@ -0,0 +1,234 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A prefix trie over a set of names (i.e commands, aliases or branches), used to complete a name that is still being
+ * typed.
+ * <p>
+ * Finding the names that start with a prefix only walks the prefix itself, after which every name below it is read
+ * out. The list read out is kept on the node the prefix ended at, so hot prefixes (the first few keystrokes of a
+ * command) are answered without walking anything but the prefix again.
+ * <p>
+ * Names are matched according to a {@link CaseFolding}, and completions are listed in the order of their folded
+ * characters, spelled the way they were added.
+ *
+ * @implNote Reads never lock. Nodes are never modified once they can be read; adding or removing a name copies only
+ * the nodes on its path and publishes a new root, so lists cached below any other prefix stay valid.
+ */
+public final class CompletionIndex {
+    
+    private final CaseFolding folding;
+    private volatile Node root = Node.EMPTY;
+    
+    /**
+     * Constructs an empty index
+     *
+     * @param folding How names are matched against prefixes
+     */
+    public CompletionIndex(@NotNull CaseFolding folding){
+        this.folding = folding;
+    }
+    
+    /**
+     * Constructs an index holding the given names
+     *
+     * @param names   The names to hold
+     * @param folding How names are matched against prefixes
+     */
+    public CompletionIndex(@NotNull Collection<String> names, @NotNull CaseFolding folding){
+        this(folding);
+        for(String name : names)
+            add(name);
+    }
+    
+    /**
+     * Adds a name to this index. If a name matching it (according to the {@link CaseFolding}) is already held, it
+     * is respelled as {@code name}.
+     *
+     * @param name The name to add
+     */
+    public synchronized void add(@NotNull String name){
+        root = insert(root, name, 0);
+    }
+    
+    /**
+     * Removes a name from this index
+     *
+     * @param name The name to remove, matched according to the {@link CaseFolding}
+     *
+     * @return {@code true} if the name was held, {@code false} otherwise
+     */
+    public synchronized boolean remove(@NotNull String name){
+        Node removed = delete(root, name, 0);
+        if(removed == root)
+            return false;
+        root = removed == null ? Node.EMPTY : removed;
+        return true;
+    }
+    
+    /**
+     * Return every name held that starts with {@code prefix}
+     *
+     * @param prefix The prefix to complete, matched according to the {@link CaseFolding}
+     *
+     * @return An unmodifiable {@link List} of matching names, which is empty if there are none
+     */
+    public @NotNull List<String> complete(@NotNull CharSequence prefix){
+        Node node = root;
+        for(int i = 0; i < prefix.length() && node != null; i++)
+            node = node.child(folding.fold(prefix.charAt(i)));
+        if(node == null)
+            return Collections.emptyList();
+        
+        List<String> completions = node.completions;
+        if(completions == null){
+            // racing readers compute the same list, so whichever is kept does not matter
+            List<String> collected = new ArrayList<>(node.size);
+            node.collect(collected);
+            node.completions = completions = Collections.unmodifiableList(collected);
+        }
+        return completions;
+    }
+    
+    /**
+     * Return the number of names held
+     *
+     * @return The number of names held
+     */
+    public int size(){
+        return root.size;
+    }
+    
+    private @NotNull Node insert(@NotNull Node node, @NotNull String name, int depth){
+        if(depth == name.length())
+            return name.equals(node.name) ? node : node.with(name);
+        
+        char key = folding.fold(name.charAt(depth));
+        Node child = node.child(key);
+        Node inserted = insert(child == null ? Node.EMPTY : child, name, depth + 1);
+        return inserted == child ? node : node.with(key, inserted);
+    }
+    
+    private @Nullable Node delete(@NotNull Node node, @NotNull String name, int depth){
+        Node removed;
+        if(depth == name.length()){
+            if(node.name == null)
+                return node;
+            removed = node.with(null);
+        } else {
+            char key = folding.fold(name.charAt(depth));
+            Node child = node.child(key);
+            if(child == null)
+                return node;
+            Node deleted = delete(child, name, depth + 1);
+            if(deleted == child)
+                return node;
+            removed = node.with(key, deleted);
+        }
+        // prune nodes that no longer lead to any name
+        return removed.size == 0 ? null : removed;
+    }
+    
+    /**
+     * An immutable node of the trie, other than the list of completions it caches
+     */
+    private static final class Node {
+        
+        static final Node EMPTY = new Node(null, new char[0], new Node[0]);
+        
+        /**
+         * The name ending at this node, if any
+         */
+        final @Nullable String name;
+        
+        /**
+         * The folded characters leading to each child, sorted so they can be binary searched
+         */
+        final char[] keys;
+        final Node[] children;
+        
+        /**
+         * The number of names at or below this node
+         */
+        final int size;
+        
+        volatile @Nullable List<String> completions;
+        
+        Node(@Nullable String name, char[] keys, Node[] children){
+            this.name = name;
+            this.keys = keys;
+            this.children = children;
+            
+            int size = name == null ? 0 : 1;
+            for(Node child : children)
+                size += child.size;
+            this.size = size;
+        }
+        
+        @Nullable Node child(char key){
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+        
+        /**
+         * Return a copy of this node with a different name ending at it
+         */
+        @NotNull Node with(@Nullable String name){
+            return new Node(name, keys, children);
+        }
+        
+        /**
+         * Return a copy of this node whose child at {@code key} is replaced, added or (if {@code child} is
+         * {@code null}) removed
+         */
+        @NotNull Node with(char key, @Nullable Node child){
+            int index = Arrays.binarySearch(keys, key);
+            char[] newKeys;
+            Node[] newChildren;
+            if(index >= 0 && child != null){
+                newKeys = keys;
+                newChildren = children.clone();
+                newChildren[index] = child;
+            } else if(index >= 0){
+                newKeys = new char[keys.length - 1];
+                newChildren = new Node[children.length - 1];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            } else if(child != null){
+                index = -index - 1;
+                newKeys = new char[keys.length + 1];
+                newChildren = new Node[children.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+                newKeys[index] = key;
+                newChildren[index] = child;
+            } else {
+                return this;
+            }
+            return new Node(name, newKeys, newChildren);
+        }
+        
+        void collect(@NotNull List<String> into){
+            List<String> cached = completions;
+            if(cached != null){
+                into.addAll(cached);
+                return;
+            }
+            if(name != null)
+                into.add(name);
+            for(Node child : children)
+                child.collect(into);
+        }
+        
+    }
+    
+}
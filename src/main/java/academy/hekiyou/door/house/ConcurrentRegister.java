@@ -0,0 +1,319 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.interp.NameIndex;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Command;
+import academy.hekiyou.door.model.Register;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Register} that may be used from any number of threads at once, following the same alias and override
+ * rules as {@link SimpleRegister}.
+ * <p>
+ * Registered commands are kept in an immutable snapshot. Lookups simply read the current snapshot and never block or
+ * retry, while {@link #register(Command)} and {@link #unregister(Command)} build a modified copy and publish it
+ * atomically. Modules can therefore be (un)loaded while other threads are dispatching commands, and a lookup will
+ * observe either all or none of a given change.
+ * <p>
+ * Names are matched according to the {@link CaseFolding} the register is constructed with, and looked up in a
+ * {@link NameIndex} that hashes them as they are folded, so a lookup is a single hash lookup that neither copies the
+ * name nor compares it against others in a tree. Like {@link SimpleRegister}, names are also indexed by the class
+ * owning their command, so finding what a module registered never has to scan every command.
+ * <p>
+ * Once the commands are not expected to change, {@link #freeze()} compiles them into a perfect hash table that is used
+ * for every lookup from then on. The register remains writable while frozen; each write compiles a new table along with
+ * the snapshot, so a rare reload keeps the register frozen. Call {@link #thaw()} before (un)loading many modules at
+ * once, and {@link #freeze()} again after.
+ *
+ * @implNote Writes copy the name table, so they are meant to be rare compared to lookups (i.e loading modules).
+ * {@link #unregisterOwnedBy(String)} removes a whole module with a single copy.
+ */
+public class ConcurrentRegister implements Register {
+    
+    private final CaseFolding folding;
+    private final AtomicReference<Table> table;
+    
+    /**
+     * Constructs an empty, case-sensitive register
+     */
+    public ConcurrentRegister(){
+        this(CaseFolding.SENSITIVE);
+    }
+    
+    /**
+     * Constructs an empty register that matches names according to {@code folding}
+     *
+     * @param folding How command names are matched
+     */
+    public ConcurrentRegister(@NotNull CaseFolding folding){
+        this.folding = folding;
+        this.table = new AtomicReference<>(new Table(Collections.unmodifiableMap(folding.newMap()),
+                Collections.emptyMap(), new NameIndex<>(folding), null));
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the command's name is already registered and it does not override
+     */
+    @Override
+    public void register(@NotNull Command command){
+        RegisterCommand meta = command.getMetadata();
+        while(true){
+            Table current = table.get();
+            if(current.byName.containsKey(command.getName()) && !meta.override())
+                throw new IllegalStateException("already registered " + command.getName());
+            
+            Editor next = new Editor(current, folding);
+            next.put(command.getName(), command);
+            
+            for(String alias : meta.alias()){
+                if(!next.byName.containsKey(alias) || meta.override()) // only take aliases that are still free
+                    next.put(alias, command);
+            }
+            
+            if(table.compareAndSet(current, next.build(current.frozen != null)))
+                return;
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregister(@NotNull Command command){
+        while(true){
+            Table current = table.get();
+            Map<String, Command> names = current.byOwner.get(command.getOwningClass());
+            if(names == null || !current.byName.containsKey(command.getName()))
+                return;
+            
+            // only the owning class's names can refer to the command
+            Editor next = new Editor(current, folding);
+            for(Map.Entry<String, Command> entry : names.entrySet()){
+                if(entry.getValue().equals(command))
+                    next.remove(entry.getKey());
+            }
+            
+            if(table.compareAndSet(current, next.build(current.frozen != null)))
+                return;
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<String> unregisterOwnedBy(@NotNull String owningClass){
+        while(true){
+            Table current = table.get();
+            Map<String, Command> names = current.byOwner.get(owningClass);
+            if(names == null)
+                return new ArrayList<>();
+            
+            Editor next = new Editor(current, folding);
+            for(String name : names.keySet())
+                next.remove(name);
+            
+            if(table.compareAndSet(current, next.build(current.frozen != null)))
+                return new ArrayList<>(names.keySet());
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable Command getCommand(@NotNull String commandName){
+        return getCommand((CharSequence) commandName);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec {@code commandName} is never copied.
+     */
+    @Override
+    public @Nullable Command getCommand(@NotNull CharSequence commandName){
+        Table current = table.get();
+        return current.frozen != null ? current.frozen.get(commandName) : current.lookup.get(commandName);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void freeze(){
+        while(true){
+            Table current = table.get();
+            if(current.frozen != null)
+                return;
+            Table frozen = new Table(current.byName, current.byOwner, current.lookup,
+                    FrozenTable.compile(current.byName, folding));
+            if(table.compareAndSet(current, frozen))
+                return;
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void thaw(){
+        while(true){
+            Table current = table.get();
+            if(current.frozen == null)
+                return;
+            if(table.compareAndSet(current, new Table(current.byName, current.byOwner, current.lookup, null)))
+                return;
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen(){
+        return table.get().frozen != null;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CaseFolding getCaseFolding(){
+        return folding;
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The map is built from a single snapshot, so it is consistent even if commands are being
+     * (un)registered concurrently.
+     */
+    @Override
+    public @NotNull Map<String, String> getRegistered(){
+        Map<String, String> map = new HashMap<>();
+        for(Map.Entry<String, Command> entry : table.get().byName.entrySet())
+            map.put(entry.getKey(), entry.getValue().getOwningClass());
+        return map;
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The view is the current snapshot itself, so it is never copied and does not reflect later changes.
+     */
+    @Override
+    public @NotNull Map<String, Command> getCommands(){
+        return table.get().byName;
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The view is part of the current snapshot, so it is never copied and does not reflect later changes.
+     */
+    @Override
+    public @NotNull Map<String, Command> getCommandsOwnedBy(@NotNull String owningClass){
+        return table.get().byOwner.getOrDefault(owningClass, Collections.emptyMap());
+    }
+    
+    /**
+     * An immutable snapshot of every registered name, also indexed by the class owning each name's command, and
+     * compiled into a {@link FrozenTable} if the register is frozen
+     */
+    private static final class Table {
+        
+        final Map<String, Command> byName;
+        final Map<String, Map<String, Command>> byOwner;
+        
+        /**
+         * {@link #byName}, keyed by folded hash for lookups; never modified once the table is built
+         */
+        final NameIndex<Command> lookup;
+        final @Nullable FrozenTable<Command> frozen;
+        
+        Table(@NotNull Map<String, Command> byName, @NotNull Map<String, Map<String, Command>> byOwner,
+              @NotNull NameIndex<Command> lookup, @Nullable FrozenTable<Command> frozen){
+            this.byName = byName;
+            this.byOwner = byOwner;
+            this.lookup = lookup;
+            this.frozen = frozen;
+        }
+        
+    }
+    
+    /**
+     * A mutable copy of a {@link Table}. Owner indices are shared with the original until they are first modified.
+     */
+    private static final class Editor {
+        
+        final Map<String, Command> byName;
+        final Map<String, Map<String, Command>> byOwner;
+        private final CaseFolding folding;
+        private final Set<String> copied = new HashSet<>();
+        
+        Editor(@NotNull Table base, @NotNull CaseFolding folding){
+            this.folding = folding;
+            this.byName = folding.copyOf(base.byName);
+            this.byOwner = new HashMap<>(base.byOwner);
+        }
+        
+        /**
+         * Maps {@code name} to {@code command}, moving the name from whichever class owned it previously
+         */
+        void put(@NotNull String name, @NotNull Command command){
+            // remove first, so that a name differing only by case replaces the old spelling
+            Command previous = byName.remove(name);
+            byName.put(name, command);
+            if(previous != null)
+                names(previous.getOwningClass()).remove(name);
+            names(command.getOwningClass()).put(name, command);
+        }
+        
+        /**
+         * Unmaps {@code name}, removing it from its owning class's index
+         */
+        void remove(@NotNull String name){
+            Command previous = byName.remove(name);
+            if(previous != null)
+                names(previous.getOwningClass()).remove(name);
+        }
+        
+        /**
+         * Return the owner index of {@code owningClass}, copying it first if it is still shared
+         */
+        private @NotNull Map<String, Command> names(@NotNull String owningClass){
+            if(copied.add(owningClass)){
+                Map<String, Command> names = folding.copyOf(byOwner.getOrDefault(owningClass,
+                        Collections.emptyMap()));
+                byOwner.put(owningClass, names);
+                return names;
+            }
+            return byOwner.get(owningClass);
+        }
+        
+        @NotNull Table build(boolean freeze){
+            for(String owningClass : copied){
+                Map<String, Command> names = byOwner.get(owningClass);
+                if(names.isEmpty())
+                    byOwner.remove(owningClass);
+                else
+                    byOwner.put(owningClass, Collections.unmodifiableMap(names));
+            }
+            NameIndex<Command> lookup = new NameIndex<>(folding);
+            for(Map.Entry<String, Command> entry : byName.entrySet())
+                lookup.put(entry.getKey(), entry.getValue());
+            return new Table(Collections.unmodifiableMap(byName), Collections.unmodifiableMap(byOwner), lookup,
+                    freeze ? FrozenTable.compile(byName, folding) : null);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,229 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.annotations.constraint.DecimalRange;
+import academy.hekiyou.door.annotations.constraint.Length;
+import academy.hekiyou.door.annotations.constraint.Matches;
+import academy.hekiyou.door.annotations.constraint.OneOf;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.interp.InterpretResult;
+import academy.hekiyou.door.interp.SortedSuggestions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The constraint annotations of a single parameter (see {@link Range}, {@link DecimalRange}, {@link Length},
+ * {@link Matches} and {@link OneOf}), compiled once when the command is loaded.
+ * <p>
+ * Ranges are checked against the primitive already stored in the {@link ArgumentFrame}, and the other constraints
+ * against the interpreted {@link CharSequence}, so that checking an argument neither boxes nor copies it.
+ *
+ * @implNote Each thread matches with a {@link Matcher} of its own, which is reset rather than created for every
+ * argument.
+ */
+final class Constraint {
+    
+    private final ArgumentFrame.Lane lane;
+    
+    private final long min;
+    private final long max;
+    private final double decimalMin;
+    private final double decimalMax;
+    private final @Nullable String rangeMessage;
+    
+    private final int minLength;
+    private final int maxLength;
+    private final @Nullable String lengthMessage;
+    
+    private final @Nullable ThreadLocal<Matcher> matchers;
+    private final @Nullable String matchMessage;
+    
+    private final @Nullable FrozenTable<Boolean> values;
+    private final @Nullable String valuesMessage;
+    
+    /**
+     * Suggestions for the values of a {@link OneOf}, or {@code null} if there is none
+     */
+    final @Nullable SortedSuggestions suggestions;
+    
+    private Constraint(@NotNull Parameter param, @NotNull ArgumentFrame.Lane lane, @Nullable Range range,
+                       @Nullable DecimalRange decimalRange, @Nullable Length length, @Nullable Matches matches,
+                       @Nullable OneOf oneOf){
+        this.lane = lane;
+        
+        if(range != null){
+            this.min = range.min();
+            this.max = range.max();
+            this.decimalMin = this.decimalMax = 0;
+            this.rangeMessage = describe("%s is", range.min(), range.max(), Long.MIN_VALUE, Long.MAX_VALUE, "");
+        } else if(decimalRange != null){
+            this.min = this.max = 0;
+            this.decimalMin = decimalRange.min();
+            this.decimalMax = decimalRange.max();
+            this.rangeMessage = describe("%s is", decimalRange.min(), decimalRange.max(),
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, "");
+        } else {
+            this.min = this.max = 0;
+            this.decimalMin = this.decimalMax = 0;
+            this.rangeMessage = null;
+        }
+        if(rangeMessage != null && (min > max || decimalMin > decimalMax))
+            throw new IllegalArgumentException("range of " + param + " is empty");
+        
+        if(length != null){
+            if(length.min() < 0 || length.min() > length.max())
+                throw new IllegalArgumentException("length of " + param + " is impossible");
+            this.minLength = length.min();
+            this.maxLength = length.max();
+            this.lengthMessage = describe("%s is", length.min(), length.max(), 0, Integer.MAX_VALUE,
+                    " characters long");
+        } else {
+            this.minLength = 0;
+            this.maxLength = Integer.MAX_VALUE;
+            this.lengthMessage = null;
+        }
+        
+        if(matches != null){
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(matches.value());
+            } catch(PatternSyntaxException exc) {
+                throw new IllegalArgumentException("pattern of " + param + " is invalid: " + exc.getDescription());
+            }
+            this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+            this.matchMessage = "%s does not match " + literal(matches.value());
+        } else {
+            this.matchers = null;
+            this.matchMessage = null;
+        }
+        
+        if(oneOf != null){
+            if(oneOf.value().length == 0)
+                throw new IllegalArgumentException(param + " cannot be one of no values");
+            Map<String, Boolean> allowed = oneOf.caseFolding().newMap();
+            for(String value : oneOf.value())
+                allowed.put(value, Boolean.TRUE);
+            if(allowed.size() != oneOf.value().length)
+                throw new IllegalArgumentException("values of " + param + " collide when matched "
+                        + oneOf.caseFolding());
+            this.values = FrozenTable.compile(allowed, oneOf.caseFolding());
+            this.valuesMessage = "%s is not one of " + literal(String.join(", ", oneOf.value()));
+            this.suggestions = new SortedSuggestions(Arrays.asList(oneOf.value()), oneOf.caseFolding());
+        } else {
+            this.values = null;
+            this.valuesMessage = null;
+            this.suggestions = null;
+        }
+    }
+    
+    /**
+     * Compiles the constraints of a parameter
+     *
+     * @param param The parameter
+     * @param lane  The {@link ArgumentFrame.Lane} the parameter's arguments are stored in
+     *
+     * @return The compiled {@link Constraint}, or {@code null} if the parameter has no constraint annotations
+     *
+     * @throws IllegalArgumentException if a constraint does not apply to the parameter's type, or cannot be met by
+     *                                  any argument
+     */
+    static @Nullable Constraint compile(@NotNull Parameter param, @NotNull ArgumentFrame.Lane lane){
+        Range range = param.getAnnotation(Range.class);
+        DecimalRange decimalRange = param.getAnnotation(DecimalRange.class);
+        Length length = param.getAnnotation(Length.class);
+        Matches matches = param.getAnnotation(Matches.class);
+        OneOf oneOf = param.getAnnotation(OneOf.class);
+        if(range == null && decimalRange == null && length == null && matches == null && oneOf == null)
+            return null;
+        
+        Class<?> type = param.getType();
+        if(range != null && (lane != ArgumentFrame.Lane.LONG || type == boolean.class || type == char.class))
+            throw new IllegalArgumentException("@Range does not apply to " + param
+                    + "; use a byte, short, int or long");
+        if(decimalRange != null && lane != ArgumentFrame.Lane.DOUBLE)
+            throw new IllegalArgumentException("@DecimalRange does not apply to " + param + "; use a float or double");
+        if((length != null || matches != null || oneOf != null) && !CharSequence.class.isAssignableFrom(type))
+            throw new IllegalArgumentException("@Length, @Matches and @OneOf do not apply to " + param
+                    + "; use a String or CharSequence");
+        return new Constraint(param, lane, range, decimalRange, length, matches, oneOf);
+    }
+    
+    /**
+     * Checks if the argument stored at {@code index} of {@code frame} meets every constraint
+     *
+     * @param index  The index of the argument
+     * @param frame  The {@link ArgumentFrame} holding the argument
+     * @param input  The input the argument was interpreted from, for reporting
+     * @param result An {@link InterpretResult} to fail if a constraint is not met
+     *
+     * @return {@code true} if every constraint is met, {@code false} if not (in which case {@code result} holds why)
+     */
+    boolean test(int index, @NotNull ArgumentFrame frame, @NotNull CharSequence input,
+                 @NotNull InterpretResult result){
+        if(rangeMessage != null){
+            boolean within;
+            if(lane == ArgumentFrame.Lane.DOUBLE){
+                double value = frame.doubles[index];
+                within = value >= decimalMin && value <= decimalMax;
+            } else {
+                long value = frame.longs[index];
+                within = value >= min && value <= max;
+            }
+            if(!within)
+                return result.fail(rangeMessage, input, 0, input.length());
+        }
+        
+        if(lane != ArgumentFrame.Lane.OBJECT)
+            return true;
+        Object value = frame.values[index];
+        if(!(value instanceof CharSequence))
+            return true;
+        CharSequence text = (CharSequence) value;
+        
+        if(lengthMessage != null && (text.length() < minLength || text.length() > maxLength))
+            return result.fail(lengthMessage, input, 0, input.length());
+        
+        if(matchers != null){
+            Matcher matcher = matchers.get();
+            boolean matched = matcher.reset(text).matches();
+            // don't keep the argument reachable from the matcher
+            matcher.reset("");
+            if(!matched)
+                return result.fail(matchMessage, input, 0, input.length());
+        }
+        
+        if(values != null && values.get(text) == null)
+            return result.fail(valuesMessage, input, 0, input.length());
+        return true;
+    }
+    
+    /**
+     * Describes a range for a failure message, leaving out whichever bound is unbounded
+     */
+    private static @NotNull String describe(@NotNull String subject, @NotNull Number min, @NotNull Number max,
+                                            @NotNull Number lowest, @NotNull Number highest, @NotNull String unit){
+        boolean bounded = !min.equals(lowest);
+        boolean capped = !max.equals(highest);
+        if(bounded && capped)
+            return subject + " not between " + min + " and " + max + unit;
+        if(bounded)
+            return subject + " less than " + min + unit;
+        if(capped)
+            return subject + " more than " + max + unit;
+        return subject + " out of range";
+    }
+    
+    /**
+     * Escapes {@code text} so that it is taken literally as part of a format
+     */
+    private static @NotNull String literal(@NotNull String text){
+        return text.replace("%", "%%");
+    }
+    
+}
@@ -0,0 +1,312 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.annotations.Flag;
+import academy.hekiyou.door.annotations.Option;
+import academy.hekiyou.door.interp.InterpretResult;
+import academy.hekiyou.door.interp.SortedSuggestions;
+import academy.hekiyou.door.model.Arguments;
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The named parameters of a {@link HouseCommand} (those annotated with {@link Flag} or {@link Option}), compiled into
+ * tables once so that arguments can be told apart from flags without building anything per execution.
+ * <p>
+ * Short names index straight into an array, and long names are looked up through a {@link FrozenTable} with a view
+ * of the argument, so neither copies what was typed.
+ */
+final class FlagTable {
+    
+    private static final int MAX_NAMED = Long.SIZE;
+    
+    /**
+     * Returned by {@link #locate(Arguments, int, ArgumentFrame)} for a positional argument
+     */
+    static final int POSITIONAL = -2;
+    
+    final ParameterSlot[] slots;
+    final String[] longNames;
+    final char[] shortNames;
+    final boolean[] flags;
+    
+    /**
+     * Suggestions for every long name, including the leading {@code --}
+     */
+    final SortedSuggestions completions;
+    
+    /**
+     * The index (plus one) of the named slot of each ASCII short name, or 0 if there is none
+     */
+    private final byte[] byShort = new byte[128];
+    private final FrozenTable<Integer> byLong;
+    
+    /**
+     * Compiles the table of a command's named parameters
+     *
+     * @param slots      The named slots, in the order of their parameters
+     * @param longNames  The long name of each slot
+     * @param shortNames The short name of each slot, or {@code '\0'} for none
+     * @param flags      If each slot is a {@link Flag} (rather than an {@link Option})
+     *
+     * @throws IllegalArgumentException if two slots share a name, a short name is not an ASCII letter, or there are
+     *                                  more than 64 named slots
+     */
+    FlagTable(@NotNull ParameterSlot[] slots, @NotNull String[] longNames, @NotNull char[] shortNames,
+              @NotNull boolean[] flags){
+        if(slots.length > MAX_NAMED)
+            throw new IllegalArgumentException("more than " + MAX_NAMED + " flags and options");
+        
+        this.slots = slots;
+        this.longNames = longNames;
+        this.shortNames = shortNames;
+        this.flags = flags;
+        
+        Map<String, Integer> named = new HashMap<>();
+        List<String> completions = new ArrayList<>();
+        for(int i = 0; i < slots.length; i++){
+            if(named.put(longNames[i], i) != null)
+                throw new IllegalArgumentException("more than one flag or option is named --" + longNames[i]);
+            completions.add("--" + longNames[i]);
+            
+            char c = shortNames[i];
+            if(c == '\0')
+                continue;
+            if(c >= byShort.length || !Character.isLetter(c))
+                throw new IllegalArgumentException("short name -" + c + " of --" + longNames[i] + " is not a letter");
+            if(byShort[c] != 0)
+                throw new IllegalArgumentException("more than one flag or option is named -" + c);
+            byShort[c] = (byte) (i + 1);
+        }
+        
+        this.byLong = FrozenTable.compile(named, CaseFolding.SENSITIVE);
+        this.completions = new SortedSuggestions(completions, CaseFolding.SENSITIVE);
+    }
+    
+    /**
+     * Scans {@code arguments} for flags and options in a single pass. Flags are stored as {@code true} and options are
+     * interpreted into their slots of {@code frame}, and the index of every other (positional) argument is recorded in
+     * {@link ArgumentFrame#positions}.
+     *
+     * @param arguments The arguments given to the command
+     * @param frame     The {@link ArgumentFrame} to fill
+     *
+     * @return {@code true} if every named parameter was given correctly (or could be left out), {@code false} if not
+     * (in which case the reason is held by {@link ArgumentFrame#result}, and the index of the parameter at fault by
+     * {@link ArgumentFrame#failedIndex})
+     */
+    boolean scan(@NotNull Arguments arguments, @NotNull ArgumentFrame frame){
+        int size = arguments.size();
+        InterpretResult result = frame.result;
+        frame.positionCount = 0;
+        frame.given = 0;
+        frame.failedIndex = -1;
+        
+        boolean options = true;
+        for(int k = 0; k < size; k++){
+            CharSequence token = arguments.get(k);
+            int length = token.length();
+            if(!options || length < 2 || token.charAt(0) != '-'){
+                frame.addPosition(k);
+                continue;
+            }
+            
+            if(token.charAt(1) == '-'){
+                // a lone "--" ends the flags
+                if(length == 2){
+                    options = false;
+                    continue;
+                }
+                
+                int equals = 2;
+                while(equals < length && token.charAt(equals) != '=')
+                    equals++;
+                Integer i = byLong.get(frame.name.set(token, 2, equals));
+                if(i == null)
+                    return result.fail("Unknown option: \"%s\"", token, 0, equals);
+                
+                if(flags[i]){
+                    if(equals < length){
+                        frame.failedIndex = slots[i].index;
+                        return result.fail("Flag \"%s\" does not take a value", token, 0, equals);
+                    }
+                    give(i, frame);
+                    continue;
+                }
+                
+                CharSequence value;
+                if(equals < length)
+                    value = frame.value.set(token, equals + 1, length);
+                else if(k + 1 < size)
+                    value = arguments.get(++k);
+                else
+                    return missingValue(i, frame);
+                if(!give(i, value, frame))
+                    return false;
+                continue;
+            }
+            
+            // a short name that isn't known is a positional argument, such as a negative number
+            if(ofShort(token.charAt(1)) < 0){
+                frame.addPosition(k);
+                continue;
+            }
+            
+            // short names may be bundled, and the last of them may be an option with its value attached
+            for(int c = 1; c < length; c++){
+                int i = ofShort(token.charAt(c));
+                if(i < 0)
+                    return result.fail("Unknown flag: \"-%s\"", token, c, c + 1);
+                if(flags[i]){
+                    give(i, frame);
+                    continue;
+                }
+                
+                CharSequence value;
+                if(c + 1 < length)
+                    value = frame.value.set(token, c + 1, length);
+                else if(k + 1 < size)
+                    value = arguments.get(++k);
+                else
+                    return missingValue(i, frame);
+                if(!give(i, value, frame))
+                    return false;
+                break;
+            }
+        }
+        return fillMissing(frame);
+    }
+    
+    /**
+     * Finds what the argument at {@code index} is, as {@link #scan(Arguments, ArgumentFrame)} would see it given only
+     * the arguments up to it. The index of every positional argument up to (and including) {@code index} is recorded
+     * in {@link ArgumentFrame#positions}.
+     *
+     * @param arguments The arguments given to the command
+     * @param index     The index of the argument, which may be only partially typed
+     * @param frame     The {@link ArgumentFrame} to record positions into
+     *
+     * @return {@link #POSITIONAL} if the argument is positional, the index of the parameter of the option it is the
+     * value of, or -1 if it is the name of a flag or option
+     */
+    int locate(@NotNull Arguments arguments, int index, @NotNull ArgumentFrame frame){
+        frame.positionCount = 0;
+        boolean options = true;
+        for(int k = 0; k <= index; k++){
+            CharSequence token = arguments.get(k);
+            int length = token.length();
+            // as when scanning, a short name that isn't known is a positional argument
+            boolean named = options && length >= 2 && token.charAt(0) == '-'
+                    && (token.charAt(1) == '-' || ofShort(token.charAt(1)) >= 0);
+            if(!named){
+                frame.addPosition(k);
+                continue;
+            }
+            
+            int option = -1;
+            if(token.charAt(1) == '-'){
+                if(length == 2){
+                    options = k == index;
+                    continue;
+                }
+                
+                int equals = 2;
+                while(equals < length && token.charAt(equals) != '=')
+                    equals++;
+                Integer i = byLong.get(token.subSequence(2, equals));
+                if(i != null && !flags[i])
+                    option = equals < length ? -1 : i;
+            } else {
+                for(int c = 1; c < length; c++){
+                    int i = ofShort(token.charAt(c));
+                    if(i >= 0 && !flags[i]){
+                        option = c + 1 < length ? -1 : i;
+                        break;
+                    }
+                }
+            }
+            
+            // the option's value is the next argument
+            if(option >= 0 && ++k == index)
+                return slots[option].index;
+        }
+        
+        int count = frame.positionCount;
+        return count > 0 && frame.positions[count - 1] == index ? POSITIONAL : -1;
+    }
+    
+    /**
+     * Return the usage of the named slot at {@code i}, i.e {@code -f|--force}
+     *
+     * @param i The index of the named slot
+     *
+     * @return How the slot is named
+     */
+    @NotNull String names(int i){
+        return shortNames[i] == '\0' ? "--" + longNames[i] : "-" + shortNames[i] + "|--" + longNames[i];
+    }
+    
+    /**
+     * Return the index of the named slot at {@code slotIndex} in the command's plan
+     *
+     * @param slotIndex The index of a slot in the command's plan
+     *
+     * @return The index of the named slot, or -1 if the slot is positional
+     */
+    int indexOf(int slotIndex){
+        for(int i = 0; i < slots.length; i++){
+            if(slots[i].index == slotIndex)
+                return i;
+        }
+        return -1;
+    }
+    
+    private int ofShort(char c){
+        return c < byShort.length ? byShort[c] - 1 : -1;
+    }
+    
+    private void give(int i, @NotNull ArgumentFrame frame){
+        frame.longs[slots[i].index] = 1;
+        frame.given |= 1L << i;
+    }
+    
+    private boolean give(int i, @NotNull CharSequence value, @NotNull ArgumentFrame frame){
+        if(!slots[i].interpret(value, frame)){
+            frame.failedIndex = slots[i].index;
+            return false;
+        }
+        frame.given |= 1L << i;
+        return true;
+    }
+    
+    private boolean missingValue(int i, @NotNull ArgumentFrame frame){
+        frame.failedIndex = slots[i].index;
+        return frame.result.fail("Option \"%s\" needs a value", names(i));
+    }
+    
+    /**
+     * Fills every named slot that was not given; flags are {@code false}, and options take their default
+     */
+    private boolean fillMissing(@NotNull ArgumentFrame frame){
+        for(int i = 0; i < slots.length; i++){
+            if((frame.given & 1L << i) != 0)
+                continue;
+            
+            ParameterSlot slot = slots[i];
+            if(flags[i]){
+                frame.longs[slot.index] = 0;
+            } else if(slot.isOptional()){
+                slot.fillDefault(frame);
+            } else {
+                frame.failedIndex = slot.index;
+                return frame.result.fail("Option \"%s\" is required", names(i));
+            }
+        }
+        return true;
+    }
+    
+}
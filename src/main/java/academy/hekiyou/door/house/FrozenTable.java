@@ -0,0 +1,262 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Command;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable name to value (i.e {@link Command}) table, compiled with a perfect hash function so that every name
+ * has a slot of its own.
+ * <p>
+ * Names are hashed once, to 64 bits, with a seed chosen when the table is compiled. The hash selects a bucket, and
+ * each bucket has a displacement (found at compile time) that sends all of its names to distinct slots. A lookup is
+ * therefore a single hash of the name, two array reads and one comparison against the slot's precomputed hash, which
+ * is enough to reject an unknown name; only a matching hash is confirmed character by character.
+ * <p>
+ * Names may be any {@link CharSequence}, so a command name tokenized out of a line never has to become a
+ * {@link String} to be looked up. Names are folded according to the table's {@link CaseFolding} as they are hashed and
+ * compared, so a case-insensitive table needs no lowercase copy either.
+ *
+ * @param <V> The type of the values names refer to
+ */
+final class FrozenTable<V> {
+    
+    
+    /**
+     * The average number of names per bucket; smaller buckets are quicker to place
+     */
+    private static final int BUCKET_SIZE = 2;
+    
+    /**
+     * How many displacements are tried for a bucket before another seed is chosen
+     */
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+    
+    /**
+     * How many seeds are tried before giving up on compiling a table
+     */
+    private static final int MAX_SEEDS = 1 << 10;
+    
+    private final CaseFolding folding;
+    private final long seed;
+    private final int[] displacements;
+    private final int mask;
+    private final long[] hashes;
+    private final String[] names;
+    private final Object[] values;
+    
+    private FrozenTable(@NotNull CaseFolding folding, long seed, @NotNull int[] displacements, @NotNull long[] hashes,
+                        @NotNull String[] names, @NotNull Object[] values){
+        this.folding = folding;
+        this.seed = seed;
+        this.displacements = displacements;
+        this.mask = hashes.length - 1;
+        this.hashes = hashes;
+        this.names = names;
+        this.values = values;
+    }
+    
+    /**
+     * Compiles a table holding every entry of {@code registered}
+     *
+     * @param registered The names and the value each refers to; no two names may match under {@code folding}
+     * @param folding    How names are matched
+     * @param <V>        The type of the values
+     *
+     * @return A {@link FrozenTable} for {@code registered}
+     *
+     * @throws IllegalArgumentException if two names match under {@code folding}
+     */
+    static <V> @NotNull FrozenTable<V> compile(@NotNull Map<String, V> registered, @NotNull CaseFolding folding){
+        String[] names = new String[registered.size()];
+        Object[] values = new Object[registered.size()];
+        int i = 0;
+        for(Map.Entry<String, V> entry : registered.entrySet()){
+            names[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return compile(names, values, folding);
+    }
+    
+    /**
+     * Fetches the value registered to {@code name}
+     *
+     * @param name The name to look up
+     *
+     * @return The value, or {@code null} if {@code name} is not in this table
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V get(@NotNull CharSequence name){
+        long hash = hash(name, seed, folding);
+        int slot = slot(hash, displacements[bucket(hash, displacements.length)], mask);
+        if(hashes[slot] != hash)
+            return null;
+        
+        String candidate = names[slot];
+        if(candidate == null || !folding.matches(candidate, name))
+            return null;
+        return (V) values[slot];
+    }
+    
+    /**
+     * Return the number of names held
+     *
+     * @return The number of names in this table
+     */
+    int size(){
+        int size = 0;
+        for(String name : names){
+            if(name != null)
+                size++;
+        }
+        return size;
+    }
+    
+    private static <V> @NotNull FrozenTable<V> compile(@NotNull String[] keys, @NotNull Object[] values,
+                                                       @NotNull CaseFolding folding){
+        int slots = Integer.highestOneBit(Math.max(1, keys.length) * 2 - 1) * 2;
+        int bucketCount = Math.max(1, keys.length / BUCKET_SIZE);
+        
+        // names that fold to the same string always hash alike, so no seed could ever place them apart
+        Map<String, Boolean> folded = folding.newMap();
+        for(String key : keys){
+            if(folded.put(key, Boolean.TRUE) != null)
+                throw new IllegalArgumentException("\"" + key + "\" collides with another name when matched "
+                        + folding);
+        }
+        
+        for(long seed = 0; seed < MAX_SEEDS; seed++){
+            long[] keyHashes = new long[keys.length];
+            for(int i = 0; i < keys.length; i++)
+                keyHashes[i] = hash(keys[i], seed, folding);
+            
+            FrozenTable<V> table = place(folding, seed, keys, values, keyHashes, slots, bucketCount);
+            if(table != null)
+                return table;
+        }
+        throw new IllegalArgumentException("no perfect hash found for " + keys.length + " names");
+    }
+    
+    /**
+     * Attempts to place every key with the given hashes, largest bucket first
+     *
+     * @return The compiled table, or {@code null} if some bucket could not be placed (in which case another seed
+     * should be tried)
+     */
+    private static <V> @Nullable FrozenTable<V> place(@NotNull CaseFolding folding, long seed, @NotNull String[] keys,
+                                                      @NotNull Object[] values, @NotNull long[] keyHashes,
+                                                      int slots, int bucketCount){
+        List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+        for(int b = 0; b < bucketCount; b++)
+            buckets.add(new ArrayList<>());
+        for(int i = 0; i < keys.length; i++)
+            buckets.get(bucket(keyHashes[i], bucketCount)).add(i);
+        
+        Integer[] order = new Integer[bucketCount];
+        for(int b = 0; b < bucketCount; b++)
+            order[b] = b;
+        Arrays.sort(order, (left, right) -> buckets.get(right).size() - buckets.get(left).size());
+        
+        int mask = slots - 1;
+        int[] displacements = new int[bucketCount];
+        long[] hashes = new long[slots];
+        String[] names = new String[slots];
+        Object[] placed = new Object[slots];
+        int[] taken = new int[keys.length];
+        
+        for(int b : order){
+            List<Integer> bucket = buckets.get(b);
+            if(bucket.isEmpty())
+                break;
+            
+            int displacement = 0;
+            while(!fits(bucket, keyHashes, displacement, mask, names, taken)){
+                if(++displacement == MAX_DISPLACEMENT)
+                    return null;
+            }
+            
+            displacements[b] = displacement;
+            for(int key : bucket){
+                int slot = slot(keyHashes[key], displacement, mask);
+                hashes[slot] = keyHashes[key];
+                names[slot] = keys[key];
+                placed[slot] = values[key];
+            }
+        }
+        
+        // keep the hash of empty slots from matching any name, so unknown names are rejected by the hash alone
+        long unused = unused(keyHashes);
+        for(int slot = 0; slot < slots; slot++){
+            if(names[slot] == null)
+                hashes[slot] = unused;
+        }
+        return new FrozenTable<>(folding, seed, displacements, hashes, names, placed);
+    }
+    
+    /**
+     * Checks if every key in {@code bucket} lands in a distinct, free slot with the given displacement
+     */
+    private static boolean fits(@NotNull List<Integer> bucket, @NotNull long[] keyHashes, int displacement, int mask,
+                                @NotNull String[] names, @NotNull int[] taken){
+        for(int i = 0; i < bucket.size(); i++){
+            int slot = slot(keyHashes[bucket.get(i)], displacement, mask);
+            if(names[slot] != null)
+                return false;
+            for(int j = 0; j < i; j++){
+                if(taken[j] == slot)
+                    return false;
+            }
+            taken[i] = slot;
+        }
+        return true;
+    }
+    
+    /**
+     * Return a hash that no key has, to mark empty slots with
+     */
+    private static long unused(@NotNull long[] keyHashes){
+        for(long candidate = 0; ; candidate++){
+            boolean used = false;
+            for(long hash : keyHashes){
+                if(hash == candidate){
+                    used = true;
+                    break;
+                }
+            }
+            if(!used)
+                return candidate;
+        }
+    }
+    
+    private static int bucket(long hash, int bucketCount){
+        return (int) ((hash >>> 33) % bucketCount);
+    }
+    
+    private static int slot(long hash, int displacement, int mask){
+        return ((int) hash + displacement * ((int) (hash >>> 17) | 1)) & mask;
+    }
+    
+    /**
+     * Hashes {@code name}, folded, to 64 bits; FNV-1a followed by MurmurHash3's finalizer
+     */
+    private static long hash(@NotNull CharSequence name, long seed, @NotNull CaseFolding folding){
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for(int i = 0; i < name.length(); i++)
+            hash = (hash ^ folding.fold(name.charAt(i))) * 0x100000001b3L;
+        
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+}
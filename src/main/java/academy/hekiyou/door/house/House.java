@@ -1,8 +1,13 @@
 package academy.hekiyou.door.house;
 
+import academy.hekiyou.door.FrontDoor;
+import academy.hekiyou.door.Settings;
 import academy.hekiyou.door.annotations.BranchingCommand;
 import academy.hekiyou.door.annotations.Module;
 import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.interp.InterpreterRegistry;
+import academy.hekiyou.door.interp.Interpreters;
 import academy.hekiyou.door.model.*;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,7 +16,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,11 +30,32 @@ public class House implements ModuleLoader, Executor {
     
     private Register commandRegister;
     
+    /**
+     * The {@link Interpreter}s of this House, layered over the global ones
+     */
+    private final InterpreterRegistry interpreters;
+    
+    /**
+     * Every name in {@link #commandRegister}, kept up to date by {@link #load(Class)} and {@link #unload(Class)}
+     */
+    private final CompletionIndex commandNames;
+    
+    /**
+     * The same names as {@link #commandNames}, indexed for finding those closest to a mistyped name
+     */
+    private final BKTree nearestNames;
+    
+    /**
+     * A {@link CommandLine} per thread that is not currently being dispatched, so raw lines can be tokenized without
+     * allocating. It is taken out while in use, so a nested dispatch will simply get its own.
+     */
+    private final ThreadLocal<CommandLine> spareLines = new ThreadLocal<>();
+    
     /**
      * Constructs a House and uses the default register system.
      */
     public House(){
-        this.commandRegister = new SimpleRegister();
+        this(new ConcurrentRegister());
     }
     
     /**
@@ -34,7 +63,20 @@ public class House implements ModuleLoader, Executor {
      * @param register The command register to use
      */
     public House(Register register){
+        this(register, new InterpreterRegistry(Interpreters.global()));
+    }
+    
+    /**
+     * Constructs a House that uses the provided register system, and interprets arguments with the provided
+     * {@link Interpreter}s
+     * @param register The command register to use
+     * @param interpreters The interpreters to use, which are typically layered over {@link Interpreters#global()}
+     */
+    public House(Register register, InterpreterRegistry interpreters){
         this.commandRegister = register;
+        this.interpreters = interpreters;
+        this.commandNames = new CompletionIndex(register.getCommands().keySet(), register.getCaseFolding());
+        this.nearestNames = new BKTree(register.getCommands().keySet(), register.getCaseFolding());
     }
     
     /**
@@ -54,26 +96,57 @@ public class House implements ModuleLoader, Executor {
             throw new RuntimeException(exc);
         }
         
-        for(Method method : klass.getDeclaredMethods()){
-            if(!Modifier.isPublic(method.getModifiers()) || !method.isAnnotationPresent(RegisterCommand.class))
-                continue;
-            
-            RegisterCommand meta = method.getDeclaredAnnotation(RegisterCommand.class);
-            String commandName = method.getName();
-            
-            checkParameters(method, meta.requiresChannelSupport());
+        // build every command before registering any, so a module that fails to load leaves nothing behind
+        Map<String, Map<String, Method>> branchMethods = collectBranches(klass);
+        List<Command> commands = new ArrayList<>();
+        for(Map.Entry<String, List<Method>> entry : collectCommands(klass).entrySet()){
+            String commandName = entry.getKey();
+            List<Method> methods = entry.getValue();
             
             Command cmd;
-            if(method.isAnnotationPresent(BranchingCommand.class)){
-                Map<String, Command> branches = generateBranches(commandName, inst, klass, meta);
-                cmd = new HouseBranchingCommand(commandName, inst, method, meta, branches);
+            if(methods.size() > 1){
+                List<HouseCommand> overloads = new ArrayList<>();
+                for(Method method : methods){
+                    if(method.isAnnotationPresent(BranchingCommand.class))
+                        throw new IllegalArgumentException("branching command " + commandName + " is overloaded");
+                    
+                    RegisterCommand meta = method.getDeclaredAnnotation(RegisterCommand.class);
+                    checkParameters(method, meta.requiresChannelSupport());
+                    overloads.add(new HouseCommand(commandName, inst, method, meta, interpreters));
+                }
+                cmd = new HouseOverloadedCommand(commandName, overloads);
             } else {
-                cmd = new HouseCommand(commandName, inst, method, meta);
+                Method method = methods.get(0);
+                RegisterCommand meta = method.getDeclaredAnnotation(RegisterCommand.class);
+                checkParameters(method, meta.requiresChannelSupport());
+                
+                if(method.isAnnotationPresent(BranchingCommand.class)){
+                    CaseFolding folding = method.getDeclaredAnnotation(BranchingCommand.class).caseFolding();
+                    Map<String, Method> branches = branchMethods.getOrDefault(commandName, Collections.emptyMap());
+                    cmd = new HouseBranchingCommand(commandName, inst, method, meta,
+                            generateBranches(inst, branches, meta, folding), folding, interpreters);
+                } else {
+                    cmd = new HouseCommand(commandName, inst, method, meta, interpreters);
+                }
             }
             
-            commandRegister.register(cmd);
+            commands.add(cmd);
         }
         
+        List<Command> registered = new ArrayList<>(commands.size());
+        try {
+            for(Command cmd : commands){
+                commandRegister.register(cmd);
+                registered.add(cmd);
+            }
+        } catch(RuntimeException exc) {
+            for(Command cmd : registered)
+                commandRegister.unregister(cmd);
+            throw exc;
+        }
+        for(Command cmd : commands)
+            indexNames(cmd);
+        
         return inst;
     }
     
@@ -90,46 +163,238 @@ public class House implements ModuleLoader, Executor {
         return true;
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec {@code line} is tokenized by {@link CommandLine}, which understands quotes and escapes, and the
+     * command is given views into {@code line} rather than copies.
+     */
+    @Override
+    public boolean findAndExecute(@NotNull CharSequence line, @NotNull Invoker invoker, @NotNull Channel chan){
+        CommandLine tokens = borrowLine();
+        try {
+            tokens.tokenize(line);
+            Command cmd = commandRegister.getCommand(tokens.getCommand());
+            if(cmd == null)
+                return false;
+            cmd.execute(tokens.getCommand(), invoker, chan, tokens);
+            return true;
+        } finally {
+            returnLine(tokens);
+        }
+    }
+    
     /**
      * @inheritDoc
      */
     @Override
     public @NotNull List<String> unload(@NotNull Class<?> klass){
-        List<String> unloadedCommands = new ArrayList<>();
-        for(String key : commandRegister.getRegistered().keySet()){
-            Command command = commandRegister.getCommand(key);
-            if(command == null)
-                continue;
-            if(command.getOwningClass().equals(klass.getName())){
-                unloadedCommands.add(key);
-                commandRegister.unregister(command);
+        List<String> removed = commandRegister.unregisterOwnedBy(klass.getName());
+        for(String name : removed){
+            if(commandRegister.getCommand(name) == null){
+                commandNames.remove(name);
+                nearestNames.remove(name);
             }
         }
-        return unloadedCommands;
+        return removed;
     }
     
     /**
-     * Generates a mapping of all possible branches given a base command
-     * @param base The base command to check for
-     * @param ref A reference to the method for execution
+     * Completes the last token of a command line that is still being typed. The first token is completed to the
+     * names (and aliases) of every registered command; later tokens are completed by the command named by the first
+     * token (see {@link Command#complete(Arguments)}), i.e to the names of its branches.
+     *
+     * @param line The partial command line, i.e {@code "mockBr"} or {@code "mockBranch "}
+     *
+     * @return A {@link List} of possible values for the last token, which is empty if there are none
+     *
+     * @see CommandLine#tokenizePartial(CharSequence)
+     */
+    public @NotNull List<String> complete(@NotNull CharSequence line){
+        CommandLine tokens = borrowLine();
+        try {
+            tokens.tokenizePartial(line);
+            if(tokens.size() == 0)
+                return commandNames.complete(tokens.getCommand());
+            
+            Command cmd = commandRegister.getCommand(tokens.getCommand());
+            if(cmd == null)
+                return Collections.emptyList();
+            return cmd.complete(tokens);
+        } finally {
+            returnLine(tokens);
+        }
+    }
+    
+    /**
+     * Suggests what a command line that named no command (or no branch of a {@link HouseBranchingCommand}) may
+     * have meant, i.e after {@link #findAndExecute(CharSequence, Invoker, Channel)} returned {@code false}. How far
+     * off and how many suggestions may be is taken from {@link FrontDoor#getSettings()}.
+     *
+     * @param line The mistyped command line, i.e {@code "tpp 5 2 3"}
+     *
+     * @return A {@link List} of names closest to the mistyped one, closest first
+     *
+     * @see #suggest(CharSequence, int, int)
+     */
+    public @NotNull List<String> suggest(@NotNull CharSequence line){
+        Settings settings = FrontDoor.getSettings();
+        return suggest(line, settings.getSuggestionDistance(), settings.getSuggestionLimit());
+    }
+    
+    /**
+     * Suggests what a command line that named no command (or no branch of a {@link HouseBranchingCommand}) may
+     * have meant. If the first token names no command, the names (and aliases) of commands closest to it are
+     * suggested; if it names a branching command whose branch was mistyped, the closest branches are suggested.
+     *
+     * @param line        The mistyped command line, i.e {@code "tpp 5 2 3"}
+     * @param maxDistance The largest edit distance a suggestion may be from what was typed
+     * @param limit       The most suggestions to make
+     *
+     * @return A {@link List} of names closest to the mistyped one, closest first, which is empty if there are none
+     * (or nothing was mistyped)
+     *
+     * @see BKTree#nearest(CharSequence, int, int)
+     */
+    public @NotNull List<String> suggest(@NotNull CharSequence line, int maxDistance, int limit){
+        CommandLine tokens = borrowLine();
+        try {
+            tokens.tokenize(line);
+            if(tokens.getCommand().length() == 0)
+                return Collections.emptyList();
+            
+            Command cmd = commandRegister.getCommand(tokens.getCommand());
+            if(cmd == null)
+                return nearestNames.nearest(tokens.getCommand(), maxDistance, limit);
+            
+            if(cmd instanceof HouseBranchingCommand)
+                return ((HouseBranchingCommand) cmd).getNearestBranches(tokens, maxDistance, limit);
+            return Collections.emptyList();
+        } finally {
+            returnLine(tokens);
+        }
+    }
+    
+    /**
+     * Return the {@link Interpreter}s that arguments of this House's commands are interpreted with. Interpreters
+     * registered with it only apply to modules that this House loads afterwards.
+     *
+     * @return The {@link InterpreterRegistry} of this House
+     */
+    public @NotNull InterpreterRegistry getInterpreters(){
+        return interpreters;
+    }
+    
+    /**
+     * Freezes the command register once every module is loaded
+     *
+     * @see Register#freeze()
+     */
+    public void freeze(){
+        commandRegister.freeze();
+    }
+    
+    /**
+     * Thaws the command register, i.e before (un)loading many modules at once
+     *
+     * @see Register#thaw()
+     */
+    public void thaw(){
+        commandRegister.thaw();
+    }
+    
+    /**
+     * Adds every name that the register now resolves to {@code cmd} to {@link #commandNames} and
+     * {@link #nearestNames}
+     *
+     * @param cmd The command that was just registered
+     */
+    private void indexNames(@NotNull Command cmd){
+        List<String> names = new ArrayList<>();
+        names.add(cmd.getName());
+        names.addAll(Arrays.asList(cmd.getMetadata().alias()));
+        for(String name : names){
+            if(commandRegister.getCommand(name) == cmd){
+                commandNames.add(name);
+                nearestNames.add(name);
+            }
+        }
+    }
+    
+    /**
+     * Takes this thread's spare {@link CommandLine}, or creates one if it is already in use
+     *
+     * @return A {@link CommandLine} to tokenize into, which should be given back through {@link #returnLine}
+     */
+    private @NotNull CommandLine borrowLine(){
+        CommandLine tokens = spareLines.get();
+        if(tokens == null)
+            return new CommandLine();
+        spareLines.set(null);
+        return tokens;
+    }
+    
+    /**
+     * Clears {@code tokens} and keeps it as this thread's spare {@link CommandLine}
+     *
+     * @param tokens A {@link CommandLine} from {@link #borrowLine()}
+     */
+    private void returnLine(@NotNull CommandLine tokens){
+        tokens.clear();
+        spareLines.set(tokens);
+    }
+    
+    /**
+     * Collects every public method annotated with {@link RegisterCommand} declared by a class, grouping overloads
      * @param klass The class to check for
-     * @param meta The metadata for the root object
-     * @return A {@link Map} map containing all possible branches, where keys are the branch name and values are
-     *         a {@link HouseCommand} object
+     * @return A {@link Map} from the name of each command to the methods declaring it
      */
-    private @NotNull Map<String, Command> generateBranches(@NotNull String base, @NotNull Object ref,
-                                                           @NotNull Class<?> klass, @NotNull RegisterCommand meta){
-        Map<String, Command> branches = new HashMap<>();
+    private @NotNull Map<String, List<Method>> collectCommands(@NotNull Class<?> klass){
+        Map<String, List<Method>> commands = new LinkedHashMap<>();
         for(Method method : klass.getDeclaredMethods()){
-            if(!Modifier.isPublic(method.getModifiers()) || !method.getName().contains("$"))
-                continue;
-            
-            String[] splitName = method.getName().split("\\$");
-            if(splitName.length < 2)
+            if(Modifier.isPublic(method.getModifiers()) && method.isAnnotationPresent(RegisterCommand.class))
+                commands.computeIfAbsent(method.getName(), key -> new ArrayList<>()).add(method);
+        }
+        return commands;
+    }
+    
+    /**
+     * Collects every public branch method (i.e {@code perm$group$add}) declared by a class in a single pass
+     * @param klass The class to check for
+     * @return A {@link Map} from the name of each base command to its branch methods, keyed by the rest of their name
+     *         (i.e {@code "group$add"})
+     */
+    private @NotNull Map<String, Map<String, Method>> collectBranches(@NotNull Class<?> klass){
+        Map<String, Map<String, Method>> branches = new HashMap<>();
+        for(Method method : klass.getDeclaredMethods()){
+            int separator = method.getName().indexOf('$');
+            if(!Modifier.isPublic(method.getModifiers()) || separator < 0)
                 continue;
             
-            if(base.equals(splitName[0]))
-                branches.put(splitName[1].toLowerCase(), new HouseCommand(method.getName(), ref, method, meta));
+            String base = method.getName().substring(0, separator);
+            String path = method.getName().substring(separator + 1);
+            branches.computeIfAbsent(base, key -> new HashMap<>()).put(path, method);
+        }
+        return branches;
+    }
+    
+    /**
+     * Generates a mapping of all possible branches given a base command
+     * @param ref A reference to the method for execution
+     * @param methods The branch methods of the base command, from {@link #collectBranches(Class)}
+     * @param meta The metadata for the root object
+     * @param folding How branch names are matched; case-insensitive branch names are lowercased
+     * @return A {@link Map} map containing all possible branches, where keys are the branch name (with the names of
+     *         nested branches separated by {@code '$'}) and values are a {@link HouseCommand} object
+     */
+    private @NotNull Map<String, Command> generateBranches(@NotNull Object ref, @NotNull Map<String, Method> methods,
+                                                           @NotNull RegisterCommand meta,
+                                                           @NotNull CaseFolding folding){
+        Map<String, Command> branches = new HashMap<>();
+        for(Map.Entry<String, Method> entry : methods.entrySet()){
+            Method method = entry.getValue();
+            String branch = folding == CaseFolding.INSENSITIVE ? entry.getKey().toLowerCase() : entry.getKey();
+            branches.put(branch, new HouseCommand(method.getName(), ref, method, meta, interpreters));
         }
         return branches;
     }
@@ -2,26 +2,40 @@ package academy.hekiyou.door.house;
 
 import academy.hekiyou.door.FrontDoor;
 import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.interp.InterpreterRegistry;
+import academy.hekiyou.door.interp.Interpreters;
+import academy.hekiyou.door.model.ArgumentSlice;
+import academy.hekiyou.door.model.Arguments;
+import academy.hekiyou.door.model.CaseFolding;
 import academy.hekiyou.door.model.Channel;
 import academy.hekiyou.door.model.Command;
 import academy.hekiyou.door.model.Invoker;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Map;
+import java.util.*;
 
 /**
  * An extension to {@link HouseCommand} that can branch into different sub-commands.
+ * <p>
+ * Branches may be nested to any depth; a branch named {@code "group$add"} is taken by the arguments
+ * {@code group add}. Every level is compiled into its own table up front, so dispatch descends the tree one argument
+ * at a time and only the arguments left after the last branch are handed to it, as a view rather than a copy.
  * @see academy.hekiyou.door.annotations.BranchingCommand
  */
 public class HouseBranchingCommand extends HouseCommand {
     
-    private final Map<String, Command> branches;
-    private String branchesVal = null;
+    private final Branch root;
     
     /**
-     * Constructs a branching command object
+     * Views of the arguments left after the branches taken, kept per thread so dispatch doesn't allocate any. A view
+     * is taken out while in use, so a branch that dispatches this command again gets a view of its own.
+     */
+    private final ThreadLocal<Views> spareViews = new ThreadLocal<>();
+    
+    /**
+     * Constructs a branching command object whose branches are case-insensitive
      * @param name Unused within {@link House}.
      * @param invokeRef The object that {@code method} depends on
      * @param method The method to execute as a base command
@@ -31,8 +45,55 @@ public class HouseBranchingCommand extends HouseCommand {
     public HouseBranchingCommand(@NotNull String name, @NotNull Object invokeRef,
                                  @NotNull Method method, @NotNull RegisterCommand metadata,
                                  @NotNull Map<String, Command> branches){
-        super(name, invokeRef, method, metadata);
-        this.branches = branches;
+        this(name, invokeRef, method, metadata, branches, CaseFolding.INSENSITIVE);
+    }
+    
+    /**
+     * Constructs a branching command object
+     * @param name Unused within {@link House}.
+     * @param invokeRef The object that {@code method} depends on
+     * @param method The method to execute as a base command
+     * @param metadata The metadata of the base command
+     * @param branches All branches the command can take, where the names of nested branches are separated by
+     *                 {@code '$'} (i.e {@code "group$add"})
+     * @param folding How the branch a user typed is matched against {@code branches}
+     * @throws IllegalArgumentException if two branches match each other under {@code folding}
+     */
+    public HouseBranchingCommand(@NotNull String name, @NotNull Object invokeRef,
+                                 @NotNull Method method, @NotNull RegisterCommand metadata,
+                                 @NotNull Map<String, Command> branches, @NotNull CaseFolding folding){
+        this(name, invokeRef, method, metadata, branches, folding, Interpreters.global());
+    }
+    
+    /**
+     * Constructs a branching command object whose base command's parameters are interpreted by the
+     * {@link academy.hekiyou.door.interp.Interpreter}s of {@code interpreters}
+     * @param name Unused within {@link House}.
+     * @param invokeRef The object that {@code method} depends on
+     * @param method The method to execute as a base command
+     * @param metadata The metadata of the base command
+     * @param branches All branches the command can take, where the names of nested branches are separated by
+     *                 {@code '$'} (i.e {@code "group$add"})
+     * @param folding How the branch a user typed is matched against {@code branches}
+     * @param interpreters The {@link InterpreterRegistry} to look up interpreters in
+     * @throws IllegalArgumentException if two branches match each other under {@code folding}
+     */
+    public HouseBranchingCommand(@NotNull String name, @NotNull Object invokeRef,
+                                 @NotNull Method method, @NotNull RegisterCommand metadata,
+                                 @NotNull Map<String, Command> branches, @NotNull CaseFolding folding,
+                                 @NotNull InterpreterRegistry interpreters){
+        super(name, invokeRef, method, metadata, interpreters);
+        
+        this.root = new Branch();
+        for(Map.Entry<String, Command> entry : branches.entrySet()){
+            Branch branch = root;
+            for(String level : entry.getKey().split("\\$"))
+                branch = branch.children.computeIfAbsent(level, key -> new Branch());
+            branch.command = entry.getValue();
+        }
+        
+        // branches never change, so they can be compiled into tables up front
+        root.compile(name, folding);
     }
     
     /**
@@ -40,38 +101,194 @@ public class HouseBranchingCommand extends HouseCommand {
      */
     @Override
     public void execute(@NotNull String commandName, @NotNull Invoker invoker, @NotNull Channel channel, @NotNull String[] arguments){
-        if(!invoker.hasPermission(getMetadata().permission())){
-            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), metadata.permission());
+        if(!invoker.hasPermission(permission)){
+            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), permission);
             return;
         }
         
-        Command branchToExecute;
+        // take as many branches as the arguments name
+        Branch branch = root;
+        int depth = 0;
+        for(Branch next; depth < arguments.length && (next = branch.child(arguments[depth])) != null; depth++)
+            branch = next;
         
         // check if the user input a valid branch
-        if(arguments.length < 1 || (branchToExecute = branches.get(arguments[0].toLowerCase())) == null){
-            invoker.sendMessage(FrontDoor.getSettings().getInvalidSubcommandError(), getBranchesVal());
+        if(branch.command == null){
+            invoker.sendMessage(FrontDoor.getSettings().getInvalidSubcommandError(), branch.listing);
+            return;
+        }
+        
+        if(depth == 0){
+            branch.command.execute(commandName, invoker, channel, arguments);
+            return;
+        }
+        
+        // the branch names aren't needed anymore since they're just the path we took
+        Views views = borrowViews();
+        try {
+            branch.command.execute(commandName, invoker, channel,
+                    views.array.wrap(arguments, depth, arguments.length - depth));
+        } finally {
+            returnViews(views);
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker,
+                        @NotNull Channel channel, @NotNull Arguments arguments){
+        if(!invoker.hasPermission(permission)){
+            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), permission);
+            return;
+        }
+        
+        Branch branch = root;
+        int depth = 0;
+        for(Branch next; depth < arguments.size() && (next = branch.child(arguments.get(depth))) != null; depth++)
+            branch = next;
+        
+        if(branch.command == null){
+            invoker.sendMessage(FrontDoor.getSettings().getInvalidSubcommandError(), branch.listing);
+            return;
+        }
+        
+        if(depth == 0){
+            branch.command.execute(commandName, invoker, channel, arguments);
             return;
         }
         
-        // the first argument isn't needed anymore since it's just the branch we need to take
-        arguments = Arrays.copyOfRange(arguments, 1, arguments.length);
-        branchToExecute.execute(commandName, invoker, channel, arguments);
+        Views views = borrowViews();
+        try {
+            branch.command.execute(commandName, invoker, channel, views.slice.set(arguments, depth));
+        } finally {
+            returnViews(views);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Arguments are completed to the names of branches, until they name a branch that can be executed;
+     * the rest are completed by that branch.
+     */
+    @Override
+    public @NotNull List<String> complete(@NotNull Arguments arguments){
+        int size = arguments.size();
+        Branch branch = root;
+        int depth = 0;
+        for(Branch next; depth < size - 1 && (next = branch.child(arguments.get(depth))) != null; depth++)
+            branch = next;
+        
+        if(depth == size - 1 && !branch.children.isEmpty())
+            return branch.names.complete(arguments.get(depth));
+        if(branch.command == null)
+            return Collections.emptyList();
+        
+        return branch.command.complete(depth == 0 ? arguments : arguments.slice(depth));
     }
     
     /**
-     * Returns a list of branches that the user can take.
+     * Finds the branches whose names are closest to a mistyped one
      *
-     * @return A list of branches in a {@link String}, separated by commas
+     * @param arguments   The arguments given to this command, which name the branch to take
+     * @param maxDistance The largest edit distance a branch name may be from the one mistyped
+     * @param limit       The most branch names to return
      *
-     * @implSpec {@link HouseBranchingCommand#branchesVal} is lazily generated
+     * @return A {@link List} of branch names closest to the first argument that names no branch, closest first,
+     * which is empty if the arguments name a branch that can be executed
+     *
+     * @see BKTree#nearest(CharSequence, int, int)
      */
-    private @NotNull String getBranchesVal(){
-        if(branchesVal == null){
-            StringBuilder sb = new StringBuilder();
-            branches.keySet().forEach(branch -> sb.append(branch).append(", "));
-            branchesVal = sb.substring(0, sb.length() - 2);
+    public @NotNull List<String> getNearestBranches(@NotNull Arguments arguments, int maxDistance, int limit){
+        Branch branch = root;
+        int depth = 0;
+        for(Branch next; depth < arguments.size() && (next = branch.child(arguments.get(depth))) != null; depth++)
+            branch = next;
+        
+        if(branch.command != null || depth == arguments.size())
+            return Collections.emptyList();
+        return branch.nearest.nearest(arguments.get(depth), maxDistance, limit);
+    }
+    
+    /**
+     * Takes this thread's spare {@link Views}, or creates one if it is already in use
+     *
+     * @return A {@link Views} to dispatch with, which must be handed back to {@link #returnViews(Views)}
+     */
+    private @NotNull Views borrowViews(){
+        Views views = spareViews.get();
+        if(views == null)
+            return new Views();
+        spareViews.set(null);
+        return views;
+    }
+    
+    /**
+     * Releases what {@code views} held and keeps it as this thread's spare
+     *
+     * @param views The {@link Views} taken from {@link #borrowViews()}
+     */
+    private void returnViews(@NotNull Views views){
+        views.array.clear();
+        views.slice.clear();
+        spareViews.set(views);
+    }
+    
+    /**
+     * The views a branch is dispatched with, one for each way this command can be executed
+     */
+    private static final class Views {
+        
+        final ArrayArguments array = new ArrayArguments();
+        final ArgumentSlice slice = new ArgumentSlice();
+        
+    }
+    
+    /**
+     * A level of the branch tree, which may have an executable branch of its own, further branches, or both
+     */
+    private static final class Branch {
+        
+        @Nullable Command command;
+        final Map<String, Branch> children = new HashMap<>();
+        
+        FrozenTable<Branch> table;
+        CompletionIndex names;
+        BKTree nearest;
+        
+        /**
+         * The names of every child, separated by commas
+         */
+        String listing;
+        
+        /**
+         * Compiles this level and every level below it
+         *
+         * @param path    The name of this level, for error messages
+         * @param folding How the branch a user typed is matched against the names of children
+         *
+         * @throws IllegalArgumentException if two children match each other under {@code folding}
+         */
+        void compile(@NotNull String path, @NotNull CaseFolding folding){
+            Map<String, Branch> folded = folding.copyOf(children);
+            if(folded.size() != children.size())
+                throw new IllegalArgumentException("branches of " + path + " collide when matched " + folding);
+            
+            table = FrozenTable.compile(folded, folding);
+            names = new CompletionIndex(children.keySet(), folding);
+            nearest = new BKTree(children.keySet(), folding);
+            listing = String.join(", ", children.keySet());
+            
+            for(Map.Entry<String, Branch> child : children.entrySet())
+                child.getValue().compile(path + '$' + child.getKey(), folding);
         }
-        return branchesVal;
+        
+        @Nullable Branch child(@NotNull CharSequence name){
+            return table.get(name);
+        }
+        
     }
     
 }
@@ -2,25 +2,39 @@ package academy.hekiyou.door.house;
 
 import academy.hekiyou.door.FrontDoor;
 import academy.hekiyou.door.Settings;
+import academy.hekiyou.door.annotations.Flag;
 import academy.hekiyou.door.annotations.GlobAll;
+import academy.hekiyou.door.annotations.Option;
 import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.optional.DefaultProvider;
+import academy.hekiyou.door.annotations.optional.DefaultProviders;
 import academy.hekiyou.door.annotations.optional.Optional;
-import academy.hekiyou.door.annotations.optional.OptionalDouble;
-import academy.hekiyou.door.annotations.optional.OptionalLong;
-import academy.hekiyou.door.annotations.optional.*;
-import academy.hekiyou.door.exception.BadInterpretationException;
+import academy.hekiyou.door.annotations.optional.OptionalObject;
+import academy.hekiyou.door.interp.AsyncInterpreter;
+import academy.hekiyou.door.interp.InterpretResult;
 import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.interp.InterpreterRegistry;
 import academy.hekiyou.door.interp.Interpreters;
+import academy.hekiyou.door.interp.Suggester;
+import academy.hekiyou.door.model.Arguments;
 import academy.hekiyou.door.model.Channel;
 import academy.hekiyou.door.model.Command;
 import academy.hekiyou.door.model.Invoker;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,22 +44,39 @@ import java.util.logging.Logger;
 public class HouseCommand implements Command {
     
     private static final Logger logger = FrontDoor.getLogger();
-    private static final Map<Class<?>, Method> DEFAULT_VALUE_METHOD = new HashMap<>();
-    
-    static{
-        initDefaultMap();
-    }
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(void.class,
+            Invoker.class, Channel.class, ArgumentFrame.class);
     
     final RegisterCommand metadata;
+    final String permission;
     
     private final Object invokeRef;
     private final String name;
     private final Method method;
-    private final int minArguments;
+    private final MethodHandle handle;
+    private final ThreadLocal<ArgumentFrame> frames;
+    
+    final ParameterSlot[] plan;
+    
+    /**
+     * The slots given by position, which is every slot of {@link #plan} that is not a flag or option
+     */
+    final ParameterSlot[] positionalPlan;
+    
+    /**
+     * The slots given by name, or {@code null} if the command has no flags or options
+     */
+    final @Nullable FlagTable flags;
+    final int minArguments;
+    
+    /**
+     * The most arguments this command makes use of, or {@link Integer#MAX_VALUE} if it takes every remaining one (or
+     * has flags or options, which may be given any number of times)
+     */
+    final int maxArguments;
     
     private Parameter[] cachedParameters;
     private String[] usage;
-    private Annotation[] optionals;
     
     /**
      * Constructs a {@link HouseCommand} with the given context
@@ -57,9 +88,25 @@ public class HouseCommand implements Command {
      */
     public HouseCommand(@NotNull String name, @NotNull Object invokeRef,
                         @NotNull Method method, @NotNull RegisterCommand metadata){
+        this(name, invokeRef, method, metadata, Interpreters.global());
+    }
+    
+    /**
+     * Constructs a {@link HouseCommand} with the given context, whose parameters are interpreted by the
+     * {@link Interpreter}s of {@code interpreters}
+     *
+     * @param name         The primary name of the command
+     * @param invokeRef    An instance of the class that we execute {@code method} with
+     * @param method       The method for the command (for execution)
+     * @param metadata     The annotation metadata attached to {@code method}
+     * @param interpreters The {@link InterpreterRegistry} to look up interpreters in
+     */
+    public HouseCommand(@NotNull String name, @NotNull Object invokeRef, @NotNull Method method,
+                        @NotNull RegisterCommand metadata, @NotNull InterpreterRegistry interpreters){
         this.name = name;
         this.invokeRef = invokeRef;
         this.metadata = metadata;
+        this.permission = metadata.permission();
         this.method = method;
         
         // figure out if we have just the invoker or invoker and channel; in either case:
@@ -67,8 +114,22 @@ public class HouseCommand implements Command {
         int argOffset = metadata.requiresChannelSupport() ? 2 : 1;
         
         this.cachedParameters = Arrays.copyOfRange(method.getParameters(), argOffset, method.getParameterCount());
-        this.optionals = initOptionals(cachedParameters);
-        this.minArguments = (int) Arrays.stream(optionals).filter(Objects::isNull).count();
+        this.plan = compilePlan(cachedParameters, interpreters);
+        this.flags = compileFlags(plan);
+        this.positionalPlan = flags == null ? plan : Arrays.stream(plan)
+                .filter(slot -> flags.indexOf(slot.index) < 0)
+                .toArray(ParameterSlot[]::new);
+        // a parameter taking every remaining argument as elements may be given none of them
+        this.minArguments = (int) Arrays.stream(positionalPlan)
+                .filter(slot -> !slot.isOptional() && slot.elementType == null)
+                .count();
+        this.maxArguments = flags != null || Arrays.stream(plan).anyMatch(ParameterSlot::takesRest)
+                ? Integer.MAX_VALUE : plan.length;
+        
+        this.handle = bind(invokeRef, method, metadata.requiresChannelSupport(), plan);
+        
+        int arity = plan.length;
+        this.frames = ThreadLocal.withInitial(() -> new ArgumentFrame(arity));
         
         if(this.metadata.usage().length == 0 && this.cachedParameters.length > 0){
             this.usage = buildUsage();
@@ -78,107 +139,222 @@ public class HouseCommand implements Command {
     }
     
     /**
-     * Initializes {@link HouseCommand#DEFAULT_VALUE_METHOD} with some default values. Somewhat ironic, isn't it?
-     * TODO: Allow the ability to use other optional annotations
-     *
-     * @throws ClassCastException if a given class did not have a {@code defaultValue} method
+     * @inheritDoc
      */
-    private static void initDefaultMap(){
-        String methodName = "value";
-        Class<?>[] optionalAnnotations = {
-                OptionalByte.class, OptionalCharacter.class, OptionalDouble.class,
-                OptionalFloat.class, OptionalInteger.class, OptionalLong.class,
-                OptionalShort.class, OptionalBoolean.class, OptionalString.class
-                // we would add OptionalObject here, but we have special logic to handle it
-        };
-        
-        for(Class<?> klass : optionalAnnotations){
-            try {
-                Method method = klass.getDeclaredMethod(methodName);
-                method.setAccessible(true);
-                DEFAULT_VALUE_METHOD.put(klass, method);
-            } catch(NoSuchMethodException exc) {
-                throw new ClassCastException("bad optional class: " + klass.getName());
-            }
-        }
+    @Override
+    public void execute(@NotNull String commandName, @NotNull Invoker invoker,
+                        @NotNull Channel channel, @NotNull String[] arguments){
+        ArgumentFrame frame = frames.get();
+        execute(commandName, invoker, channel, frame.arrayArguments.wrap(arguments), frame, null, null);
     }
     
     /**
      * @inheritDoc
      */
     @Override
-    public void execute(@NotNull String commandName, @NotNull Invoker invoker,
-                        @NotNull Channel channel, @NotNull String[] arguments){
-        if(!invoker.hasPermission(metadata.permission())){
-            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), metadata.permission());
-            return;
-        }
-        
-        if(arguments.length < minArguments){
-            // pass -1 because we don't want to highlight any specific error; just give usage
-            invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
-                    formatError(commandName, -1));
-            return;
-        }
-        
-        Object[] methodArguments = new Object[cachedParameters.length];
-        Class<?> paramType;
-        Interpreter<?> interpreter;
-        BadInterpretationException badArgException = null;
-        for(int i = 0, j = 0; i < methodArguments.length; i++){
-            paramType = cachedParameters[i].getType();
-            interpreter = Interpreters.of(paramType);
-            
-            if(interpreter == null)
-                throw new IllegalStateException(paramType.getName() + " has no interpreter");
-            
-            // got a GlobAll, just glob everything
-            if(cachedParameters[j].isAnnotationPresent(GlobAll.class)){
-                StringBuilder sb = new StringBuilder();
-                for(; j < arguments.length; j++)
-                    sb.append(arguments[j]).append(' ');
-                methodArguments[i] = interpreter.apply(sb.substring(0, sb.length() - 1).trim());
-                break;
+    public void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker,
+                        @NotNull Channel channel, @NotNull Arguments arguments){
+        execute(commandName, invoker, channel, arguments, frames.get(), null, null);
+    }
+    
+    /**
+     * Executes this command with the leading arguments already interpreted, i.e by {@link HouseOverloadedCommand}
+     * while choosing this overload
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     A {@link Invoker} representing who is executing the command
+     * @param channel     A {@link Channel} representing the channel this being
+     * @param arguments   The {@link Arguments} to execute with
+     * @param resolved    The results of the interpretations already done
+     * @param prefix      For each leading parameter (which must be required), the index in {@code resolved} of the
+     *                    result of its argument
+     */
+    void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker, @NotNull Channel channel,
+                 @NotNull Arguments arguments, @NotNull InterpretResult[] resolved, @NotNull int[] prefix){
+        execute(commandName, invoker, channel, arguments, frames.get(), resolved, prefix);
+    }
+    
+    /**
+     * Executes this command, interpreting {@code arguments} into {@code frame}
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     A {@link Invoker} representing who is executing the command
+     * @param channel     A {@link Channel} representing the channel this being
+     * @param arguments   The {@link Arguments} to execute with
+     * @param frame       This thread's {@link ArgumentFrame}
+     * @param resolved    The results of any leading arguments that were already interpreted, or {@code null}
+     * @param prefix      The index in {@code resolved} of each leading argument's result, or {@code null}
+     */
+    private void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker, @NotNull Channel channel,
+                         @NotNull Arguments arguments, @NotNull ArgumentFrame frame,
+                         @Nullable InterpretResult[] resolved, @Nullable int[] prefix){
+        try {
+            if(!invoker.hasPermission(permission)){
+                invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), permission);
+                return;
             }
+            frame.invoker = invoker;
+            frame.channel = channel;
             
-            if(j < arguments.length){
-                try {
-                    methodArguments[i] = interpreter.apply(arguments[j]);
-                    j++; // increment j to indicate we successfully interpreted the arg at j
-                    continue;
-                } catch(BadInterpretationException exc) {
-                    badArgException = exc;
-                    // let it execute to supplying defaults
+            if(flags != null){
+                // pick out the flags and options, leaving a view of only the positional arguments
+                if(!flags.scan(arguments, frame)){
+                    invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix()
+                            + frame.result.getMessage());
+                    invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                            formatError(commandName, frame.failedIndex));
+                    return;
                 }
+                arguments = frame.positional.set(arguments, frame.positions, frame.positionCount);
             }
             
-            Annotation optional = optionals[i];
-            if(optional != null){
-                // if we have an optional object, just set to null
-                // otherwise try to get the default value
-                methodArguments[i] = (optional instanceof OptionalObject ? null : getDefaultVal(optional));
-            } else {
-                if(badArgException != null)
-                    invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix() + badArgException.getMessage());
+            if(arguments.size() < minArguments){
+                // pass -1 because we don't want to highlight any specific error; just give usage
                 invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
-                        formatError(commandName, i));
+                        formatError(commandName, -1));
                 return;
             }
+            
+            int start = 0;
+            if(resolved != null && prefix != null){
+                // leading parameters are required, so each one's argument is at the same index
+                for(; start < prefix.length; start++){
+                    ParameterSlot slot = positionalPlan[start];
+                    slot.store(resolved[prefix[start]], frame);
+                    if(!slot.admits(arguments.get(start), frame)){
+                        invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix()
+                                + frame.result.getMessage());
+                        invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                                formatError(commandName, slot.index));
+                        return;
+                    }
+                }
+            }
+            
+            if(interpret(commandName, invoker, arguments, frame, start)){
+                if(frame.lookupCount == 0)
+                    invoke(invoker, channel, frame);
+                else
+                    await(commandName.toString(), invoker, channel, frame.detach());
+            }
+        } finally {
+            frame.clear();
         }
-        
+    }
+    
+    /**
+     * Invokes the command's method with the arguments held by {@code frame}
+     *
+     * @param invoker A {@link Invoker} representing who is executing the command
+     * @param channel A {@link Channel} representing the channel this being
+     * @param frame   The {@link ArgumentFrame} holding every argument
+     *
+     * @throws RuntimeException wrapping an {@link InvocationTargetException} if the method throws anything
+     */
+    private void invoke(@NotNull Invoker invoker, @NotNull Channel channel, @NotNull ArgumentFrame frame){
         try {
-            // insert invoker and channel (if needed) at the front
-            List<Object> args = front(invoker, methodArguments);
-            if(metadata.requiresChannelSupport())
-                args.add(1, channel);
-            method.invoke(invokeRef, args.toArray(new Object[0]));
-        } catch(IllegalAccessException exc) {
-            throw new IllegalStateException(exc);
-        } catch(InvocationTargetException exc) {
-            throw new RuntimeException(exc);
+            handle.invokeExact(invoker, channel, frame);
+        } catch(Throwable exc) {
+            throw new RuntimeException(new InvocationTargetException(exc));
         }
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The last argument is completed with the suggestions of the parameter it would be passed to (see
+     * {@link #getParameterIndex(Arguments, int)}). Since an optional parameter may be skipped, the parameters after it
+     * are suggested for as well, up to the first one that is required. An argument starting with {@code -} is
+     * completed with the long names of the command's flags and options, if it has any.
+     */
+    @Override
+    public @NotNull List<String> complete(@NotNull Arguments arguments){
+        int size = arguments.size();
+        if(size == 0)
+            return Collections.emptyList();
+        
+        CharSequence partial = arguments.get(size - 1);
+        if(flags != null && partial.length() > 0 && partial.charAt(0) == '-')
+            return flags.completions.suggest(partial);
+        
+        int index = getParameterIndex(arguments, size - 1);
+        if(index < 0)
+            return Collections.emptyList();
+        
+        // the parameter may be named, in which case it is the only one the argument can be passed to
+        int i = 0;
+        while(i < positionalPlan.length && positionalPlan[i].index != index)
+            i++;
+        if(i == positionalPlan.length){
+            Suggester suggester = plan[index].suggester;
+            return suggester == null ? Collections.emptyList() : suggester.suggest(partial);
+        }
+        
+        List<String> single = null;
+        Set<String> merged = null;
+        for(; i < positionalPlan.length; i++){
+            ParameterSlot slot = positionalPlan[i];
+            List<String> suggested = slot.suggester == null ? Collections.emptyList() : slot.suggester.suggest(partial);
+            if(!suggested.isEmpty()){
+                // the common case is a single parameter with suggestions, which can be handed out as is
+                if(single == null){
+                    single = suggested;
+                } else {
+                    if(merged == null)
+                        merged = new LinkedHashSet<>(single);
+                    merged.addAll(suggested);
+                }
+            }
+            if(!slot.isOptional() || slot.takesRest())
+                break;
+        }
+        
+        if(merged != null)
+            return new ArrayList<>(merged);
+        return single == null ? Collections.emptyList() : single;
+    }
+    
+    /**
+     * Determines which parameter the argument at {@code index} would be passed to, given the arguments before it.
+     * <p>
+     * Arguments are matched to parameters the same way they are when executing: an optional parameter whose argument
+     * cannot be interpreted is skipped (leaving the argument for the next parameter), and a {@link GlobAll} parameter
+     * (or one taking an array or {@link List}) takes every argument from its position onwards. Flags and options are
+     * not counted as positional arguments, and the value of an option is passed to the option's parameter.
+     *
+     * @param arguments The arguments typed so far
+     * @param index     The index of the argument to locate, which may be the last one and only partially typed
+     *
+     * @return The index of the parameter in {@link #getParameters()}, or -1 if the argument is past every parameter
+     * (or is the name of a flag or option)
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not the index of an argument
+     */
+    public int getParameterIndex(@NotNull Arguments arguments, int index){
+        if(index < 0 || index >= arguments.size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + arguments.size());
+        
+        ArgumentFrame frame = new ArgumentFrame(plan.length);
+        if(flags != null){
+            int located = flags.locate(arguments, index, frame);
+            if(located != FlagTable.POSITIONAL)
+                return located;
+            arguments = frame.positional.set(arguments, frame.positions, frame.positionCount);
+            index = frame.positionCount - 1;
+        }
+        
+        for(int i = 0, j = 0; i < positionalPlan.length; i++){
+            ParameterSlot slot = positionalPlan[i];
+            if(j == index || slot.takesRest())
+                return slot.index;
+            
+            // a required argument that is wrong still takes its position; it is reported once executed
+            if(slot.accepts(arguments.get(j), frame) || !slot.isOptional())
+                j++;
+        }
+        return -1;
+    }
+    
     /**
      * @inheritDoc
      */
@@ -220,46 +396,253 @@ public class HouseCommand implements Command {
     }
     
     /**
-     * A simple wrapper function that throws runtime exceptions if a reflection-related error happened
+     * Compiles the argument plan for the given parameters, resolving everything that does not change between
+     * executions.
      *
-     * @param defaultAnnotation The annotation whose {@code defaultValue} we should invoke
+     * @param params       an array of {@link Parameter}, typically from {@link Method#getParameters()}
+     * @param interpreters The {@link InterpreterRegistry} to look up interpreters in
      *
-     * @return The return value of the annotation's {@code defaultValue} method
+     * @return An array of {@link ParameterSlot}, one for each parameter
      *
-     * @throws SecurityException     if we catch an {@link IllegalAccessException} while invoking {@code defaultValue}
-     * @throws IllegalStateException if we catch an {@link InvocationTargetException} while invoking {@code defaultValue}
+     * @throws IllegalArgumentException if a parameter's type (or element type) has no registered {@link Interpreter},
+     *                                  its optional annotation has no registered {@link DefaultProvider}, or it
+     *                                  takes an array or {@link List} but is not the last parameter (or its elements
+     *                                  are looked up asynchronously), or its constraints cannot be compiled (see
+     *                                  {@link Constraint})
      */
-    private static @NotNull Object getDefaultVal(@NotNull Annotation defaultAnnotation){
-        try {
-            Method defaultFunc = DEFAULT_VALUE_METHOD.get(defaultAnnotation.annotationType());
-            if(defaultFunc == null)
-                throw new IllegalStateException("don't know how to handle " + defaultAnnotation.annotationType());
-            return defaultFunc.invoke(defaultAnnotation);
-        } catch(IllegalAccessException exc) {
-            throw new SecurityException("bad access?");
-        } catch(InvocationTargetException exc) {
-            throw new IllegalStateException(exc);
+    private @NotNull ParameterSlot[] compilePlan(@NotNull Parameter[] params,
+                                                 @NotNull InterpreterRegistry interpreters){
+        ParameterSlot[] slots = new ParameterSlot[params.length];
+        for(int i = 0; i < params.length; i++){
+            Parameter param = params[i];
+            // an interpreter registered for an array type itself takes precedence over interpreting its elements
+            Class<?> elementType = interpreters.of(param.getType()) == null ? elementType(param) : null;
+            Class<?> interpreted = elementType == null ? param.getType() : elementType;
+            Interpreter<?> interpreter = interpreters.of(interpreted);
+            // boxed elements (i.e of a List<Integer>) are interpreted the same way as their primitives
+            if(interpreter == null && elementType != null)
+                interpreter = interpreters.of(MethodType.methodType(elementType).unwrap().returnType());
+            if(interpreter == null)
+                throw new IllegalArgumentException(interpreted.getName() + " has no interpreter");
+            
+            Annotation optional = null;
+            for(Annotation annotation : param.getAnnotations()){
+                if(annotation.annotationType().isAnnotationPresent(Optional.class)){
+                    optional = annotation;
+                    break;
+                }
+            }
+            
+            // materialize the default value now, rather than every time the argument is omitted
+            Object defaultValue = optional == null ? null : DefaultProviders.provide(optional);
+            
+            boolean glob = param.isAnnotationPresent(GlobAll.class);
+            if(elementType != null && (i != params.length - 1 || glob || optional != null))
+                throw new IllegalArgumentException(param + " takes every remaining argument, so it must be the last "
+                        + "parameter and can be neither globbed nor optional");
+            
+            // constraints apply to a single argument, not to each element of an array or list
+            Constraint constraint = Constraint.compile(param, ArgumentFrame.Lane.of(param.getType()));
+            if(constraint != null && elementType != null)
+                throw new IllegalArgumentException(param + " takes every remaining argument, so it cannot be "
+                        + "constrained");
+            
+            if(interpreter instanceof AsyncInterpreter && elementType != null)
+                throw new IllegalArgumentException(param + " takes every remaining argument, so its elements cannot "
+                        + "be looked up asynchronously");
+            
+            slots[i] = new ParameterSlot(i, param, interpreter, glob, elementType, optional, defaultValue, constraint);
         }
+        return slots;
     }
     
     /**
-     * Initializes the optionals array, used to figure out which parameters are optional
+     * Compiles the table of the parameters in {@code plan} that are given by name
      *
-     * @param params an array of {@link Parameter}, typically from {@link Method#getParameters()}
+     * @param plan The argument plan
      *
-     * @return An array of {@link Annotation}, null positions indicating required
+     * @return The {@link FlagTable}, or {@code null} if no parameter is annotated with {@link Flag} or {@link Option}
+     *
+     * @throws IllegalArgumentException if a parameter is both a flag and an option, a flag is not an unannotated
+     *                                  {@code boolean}, a named parameter takes every remaining argument or is
+     *                                  looked up asynchronously, or the names clash (see {@link FlagTable})
      */
-    private @NotNull Annotation[] initOptionals(@NotNull Parameter[] params){
-        Annotation[] optionals = new Annotation[params.length];
-        for(int i = 0; i < params.length; i++){
-            for(Annotation annotation : params[i].getAnnotations()){
-                if(annotation.annotationType().isAnnotationPresent(Optional.class)){
-                    optionals[i] = annotation;
-                    break;
+    private static @Nullable FlagTable compileFlags(@NotNull ParameterSlot[] plan){
+        List<ParameterSlot> slots = new ArrayList<>();
+        List<String> longNames = new ArrayList<>();
+        StringBuilder shortNames = new StringBuilder();
+        BitSet isFlag = new BitSet();
+        for(ParameterSlot slot : plan){
+            Parameter param = slot.parameter;
+            Flag flag = param.getAnnotation(Flag.class);
+            Option option = param.getAnnotation(Option.class);
+            if(flag == null && option == null)
+                continue;
+            
+            if(flag != null && option != null)
+                throw new IllegalArgumentException(param + " cannot be both a flag and an option");
+            if(slot.takesRest())
+                throw new IllegalArgumentException(param + " takes every remaining argument, so it cannot be named");
+            if(slot.async != null)
+                throw new IllegalArgumentException(param + " is looked up asynchronously, so it cannot be named");
+            if(flag != null && (param.getType() != boolean.class || slot.isOptional()))
+                throw new IllegalArgumentException(param + " is a flag, so it must be a boolean without a default");
+            
+            String longName = flag != null ? flag.value() : option.value();
+            isFlag.set(slots.size(), flag != null);
+            slots.add(slot);
+            longNames.add(longName.isEmpty() ? param.getName() : longName);
+            shortNames.append(flag != null ? flag.shortName() : option.shortName());
+        }
+        
+        if(slots.isEmpty())
+            return null;
+        
+        boolean[] flags = new boolean[slots.size()];
+        for(int i = 0; i < flags.length; i++)
+            flags[i] = isFlag.get(i);
+        return new FlagTable(slots.toArray(new ParameterSlot[0]), longNames.toArray(new String[0]),
+                shortNames.toString().toCharArray(), flags);
+    }
+    
+    /**
+     * Return the type of each element of a parameter that takes every remaining argument as an array or
+     * {@link List}
+     *
+     * @param param The parameter
+     *
+     * @return The element type, or {@code null} if the parameter takes a single argument
+     *
+     * @throws IllegalArgumentException if the parameter is an array of a primitive other than {@code int},
+     *                                  {@code long} or {@code double}, or a {@link List} that does not name the type
+     *                                  of its elements
+     */
+    private static @Nullable Class<?> elementType(@NotNull Parameter param){
+        Class<?> type = param.getType();
+        if(type.isArray()){
+            Class<?> component = type.getComponentType();
+            if(component.isPrimitive() && component != int.class && component != long.class
+                    && component != double.class)
+                throw new IllegalArgumentException(type.getSimpleName() + " is not supported; use int[], long[], "
+                        + "double[] or an array of objects");
+            return component;
+        }
+        
+        if(type == List.class){
+            Type generic = param.getParameterizedType();
+            if(generic instanceof ParameterizedType){
+                Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+                if(element instanceof Class)
+                    return (Class<?>) element;
+            }
+            throw new IllegalArgumentException(param + " does not name the type of its elements");
+        }
+        return null;
+    }
+    
+    /**
+     * Interprets {@code arguments} into {@code frame}, following the argument plan for positional parameters
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     The {@link Invoker} to notify if interpretation fails
+     * @param arguments   The positional {@link Arguments} given to the command
+     * @param frame       The {@link ArgumentFrame} to fill
+     * @param start       The number of leading parameters already filled, each by the argument at the same index
+     *
+     * @return {@code true} if every parameter was filled, {@code false} if the invoker was sent a usage error
+     */
+    private boolean interpret(@NotNull CharSequence commandName, @NotNull Invoker invoker,
+                              @NotNull Arguments arguments, @NotNull ArgumentFrame frame, int start){
+        int size = arguments.size();
+        boolean badArg = false;
+        for(int i = start, j = start; i < positionalPlan.length; i++){
+            ParameterSlot slot = positionalPlan[i];
+            
+            // an array or list takes every argument that remains as an element, even if none remain
+            if(slot.elementType != null){
+                if(slot.interpretAll(arguments, j, frame))
+                    continue;
+                
+                invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix() + frame.result.getMessage());
+                invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                        formatError(commandName, slot.index));
+                return false;
+            }
+            
+            if(j < size && slot.async != null){
+                // only start the lookup here; every lookup is waited on together once all have been started
+                String input = (slot.glob ? arguments.glob(j) : arguments.get(j)).toString();
+                frame.addLookup(slot.index, input, slot.async.applyAsync(input));
+                j = slot.glob ? size : j + 1;
+                continue;
+            }
+            
+            if(j < size){
+                // got a GlobAll, just glob everything that remains
+                if(slot.interpret(slot.glob ? arguments.glob(j) : arguments.get(j), frame)){
+                    // move j past what we successfully interpreted
+                    j = slot.glob ? size : j + 1;
+                    continue;
                 }
+                
+                // remember why, then let it fall through to supplying defaults
+                frame.keepFailure();
+                badArg = true;
+            }
+            
+            if(slot.isOptional()){
+                slot.fillDefault(frame);
+            } else {
+                if(badArg)
+                    invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix() + frame.failure.getMessage());
+                invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                        formatError(commandName, slot.index));
+                return false;
             }
         }
-        return optionals;
+        return true;
+    }
+    
+    /**
+     * Invokes the command once every lookup started for {@code frame} has completed, on whichever thread completes the
+     * last of them. A lookup that failed is reported to the invoker the same way as any other bad argument, unless its
+     * parameter is optional, in which case the default is used instead. Unlike an optional argument that could not be
+     * interpreted, the argument is still consumed, since the parameters after it have already been interpreted.
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     A {@link Invoker} representing who is executing the command
+     * @param channel     A {@link Channel} representing the channel this being
+     * @param frame       A detached {@link ArgumentFrame} (see {@link ArgumentFrame#detach()}), owned by this execution
+     */
+    private void await(@NotNull String commandName, @NotNull Invoker invoker, @NotNull Channel channel,
+                       @NotNull ArgumentFrame frame){
+        CompletableFuture.allOf(frame.lookups).whenComplete((ignored, failed) -> {
+            try {
+                for(int k = 0; k < frame.lookupCount; k++){
+                    ParameterSlot slot = plan[frame.lookupIndices[k]];
+                    if(slot.settle(frame.lookups[k], frame.lookupInputs[k], frame))
+                        continue;
+                    
+                    if(slot.isOptional()){
+                        // fall back to the default, as an optional argument that could not be interpreted does
+                        frame.result.reset();
+                        slot.fillDefault(frame);
+                    } else {
+                        invoker.sendMessage(FrontDoor.getSettings().getBadInterpretationPrefix()
+                                + frame.result.getMessage());
+                        invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                                formatError(commandName, slot.index));
+                        return;
+                    }
+                }
+                handle.invokeExact(invoker, channel, frame);
+            } catch(Throwable exc) {
+                // nothing is left to rethrow to once the lookups complete
+                logger.log(Level.SEVERE, "command " + name + " failed after its arguments were looked up", exc);
+            } finally {
+                frame.clear();
+            }
+        });
     }
     
     /**
@@ -270,7 +653,7 @@ public class HouseCommand implements Command {
      *
      * @return The formatted string, emphasizing a bad parameter
      */
-    private @NotNull String formatError(@NotNull String commandName, int errorIndex){
+    @NotNull String formatError(@NotNull CharSequence commandName, int errorIndex){
         StringBuilder builder = new StringBuilder(commandName);
         Settings settings = FrontDoor.getSettings();
         
@@ -307,19 +690,32 @@ public class HouseCommand implements Command {
         List<String> parameterNames = new ArrayList<>();
         
         try {
-            for(int i = 0; i < cachedParameters.length; i++){
-                Parameter param = cachedParameters[i];
+            for(ParameterSlot slot : plan){
+                Parameter param = slot.parameter;
                 String argName = useTypeNames ? param.getType().getSimpleName() : param.getName();
-        
-                if(param.isAnnotationPresent(GlobAll.class))
+                
+                if(slot.elementType != null){
+                    parameterNames.add("[" + argName + "...]");
+                    continue;
+                }
+                
+                int named = flags == null ? -1 : flags.indexOf(slot.index);
+                if(named >= 0 && flags.flags[named]){
+                    parameterNames.add("[" + flags.names(named) + "]");
+                    continue;
+                }
+                if(named >= 0)
+                    argName = flags.names(named) + " " + argName;
+                
+                if(slot.glob)
                     argName = "... " + argName + " ...";
-        
-                if(optionals[i] != null){
+                
+                if(slot.isOptional()){
                     Object def;
-                    if(optionals[i] instanceof OptionalObject){
-                        def = ((OptionalObject) optionals[i]).value();
+                    if(slot.optional instanceof OptionalObject){
+                        def = ((OptionalObject) slot.optional).value();
                     } else {
-                        def = getDefaultVal(optionals[i]);
+                        def = slot.defaultValue;
                     }
                     argName = "[" + argName + "=" + def + "]";
                 } else {
@@ -334,18 +730,52 @@ public class HouseCommand implements Command {
     }
     
     /**
-     * Creates a new List with the given front element being in the forefront of the new list.
+     * Binds {@code method} to {@code invokeRef} once, producing a {@link MethodHandle} of type
+     * {@code (Invoker, Channel, ArgumentFrame)void}. The channel position is always present (and simply dropped if the
+     * method does not take one), and every other parameter is read straight out of the {@link ArgumentFrame} lane
+     * its slot was assigned, so dispatch never has to rebuild or box the argument list.
      *
-     * @param frontElem The front-most element that should be used
-     * @param arr       The array to base the list off of
-     * @param <T>       The type of elements in the list
+     * @param invokeRef   An instance of the class that we execute {@code method} with
+     * @param method      The method to bind
+     * @param usesChannel If the method takes a {@link Channel} as its second parameter
+     * @param plan        The argument plan for the method
      *
-     * @return A list with frontElem as the 0th item
+     * @return A {@link MethodHandle} that can be invoked with {@link MethodHandle#invokeExact(Object...)}
+     *
+     * @throws IllegalArgumentException if {@code method} could not be accessed
      */
-    private <T> @NotNull List<T> front(@NotNull T frontElem, @NotNull T[] arr){
-        List<T> list = new ArrayList<>(Arrays.asList(arr));
-        list.add(0, frontElem);
-        return list;
+    private static @NotNull MethodHandle bind(@NotNull Object invokeRef, @NotNull Method method,
+                                              boolean usesChannel, @NotNull ParameterSlot[] plan){
+        MethodHandle bound;
+        try {
+            bound = MethodHandles.publicLookup().unreflect(method);
+        } catch(IllegalAccessException exc) {
+            throw new IllegalArgumentException("cannot access " + method, exc);
+        }
+        
+        if(!Modifier.isStatic(method.getModifiers()))
+            bound = bound.bindTo(invokeRef);
+        if(!usesChannel)
+            bound = MethodHandles.dropArguments(bound, 1, Channel.class);
+        
+        // (Invoker, Channel, p0 ... pN) -> (Invoker, Channel, ArgumentFrame0 ... ArgumentFrameN)
+        MethodHandle[] readers = new MethodHandle[plan.length];
+        for(ParameterSlot slot : plan)
+            readers[slot.index] = ArgumentFrame.reader(slot.index, slot.lane, slot.parameter.getType());
+        bound = MethodHandles.filterArguments(bound, 2, readers);
+        
+        // (Invoker, Channel, ArgumentFrame0 ... ArgumentFrameN) -> (Invoker, Channel, ArgumentFrame)
+        if(plan.length == 0){
+            bound = MethodHandles.dropArguments(bound, 2, ArgumentFrame.class);
+        } else {
+            int[] reorder = new int[plan.length + 2];
+            for(int i = 0; i < reorder.length; i++)
+                reorder[i] = Math.min(i, 2);
+            MethodType collapsed = bound.type().dropParameterTypes(3, bound.type().parameterCount());
+            bound = MethodHandles.permuteArguments(bound, collapsed, reorder);
+        }
+        
+        return bound.asType(INVOKE_TYPE);
     }
     
 }
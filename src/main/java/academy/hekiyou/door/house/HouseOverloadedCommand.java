@@ -0,0 +1,456 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.FrontDoor;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.interp.ContextualInterpreter;
+import academy.hekiyou.door.interp.InterpretResult;
+import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.model.Arguments;
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Command;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Parameter;
+import java.util.*;
+
+/**
+ * A {@link Command} made of several {@link HouseCommand}s that share a name (i.e {@code tp(Invoker, String player)}
+ * and {@code tp(Invoker, double x, double y, double z)}), each of which is an overload.
+ * <p>
+ * Which overload is executed is resolved in two steps, both of which are compiled up front. The number of arguments
+ * first picks the overloads that take that many (leaving out those the invoker has no permission for), then the
+ * arguments are tested against the interpreters of those overloads, one position at a time. An argument must also meet
+ * the constraints of the overload's parameter (see {@link Constraint}) to pass. Overloads that interpret the same
+ * position with the same {@link Interpreter}, and without constraints, share a single test, and a test is only run
+ * while an overload that needs it is still in the running, so every argument is interpreted at most once for each
+ * distinct interpreter. The preferred overload still in the running once all of its tests passed is executed, with the
+ * arguments that were tested handed over already interpreted.
+ * <p>
+ * Overloads are preferred in this order: those that do not take every remaining argument, those with fewer optional
+ * parameters, then those with fewer parameters that take any input (i.e a {@link String}).
+ *
+ * @implNote At most 64 overloads may share a name, since those still in the running are kept as the bits of a
+ * {@code long}.
+ */
+public class HouseOverloadedCommand implements Command {
+    
+    private static final int MAX_OVERLOADS = Long.SIZE;
+    
+    /**
+     * Orders overloads from most to least preferred
+     */
+    private static final Comparator<HouseCommand> PREFERENCE = Comparator
+            .<HouseCommand>comparingInt(overload -> overload.maxArguments == Integer.MAX_VALUE ? 1 : 0)
+            .thenComparingInt(overload -> overload.plan.length - overload.minArguments)
+            .thenComparingInt(HouseOverloadedCommand::permissive)
+            .thenComparing(overload -> Arrays.toString(overload.getParameters()));
+    
+    private final String name;
+    private final HouseCommand[] overloads;
+    
+    /**
+     * The resolution for each number of arguments, where the last also stands for any number past it
+     */
+    private final Resolution[] resolutions;
+    private final ThreadLocal<Scratch> scratch;
+    
+    /**
+     * Constructs an overloaded command
+     *
+     * @param name      The primary name of the command
+     * @param overloads Every overload of the command
+     *
+     * @throws IllegalArgumentException if there are no (or too many) overloads, two of them take the same parameter
+     *                                  types, or they do not declare the same aliases
+     */
+    public HouseOverloadedCommand(@NotNull String name, @NotNull Collection<HouseCommand> overloads){
+        if(overloads.isEmpty() || overloads.size() > MAX_OVERLOADS)
+            throw new IllegalArgumentException(name + " has " + overloads.size() + " overloads");
+        
+        this.name = name;
+        this.overloads = overloads.toArray(new HouseCommand[0]);
+        Arrays.sort(this.overloads, PREFERENCE);
+        checkOverloads(name, this.overloads);
+        
+        // every number of arguments past the largest fixed arity resolves the same way
+        int largest = 0;
+        for(HouseCommand overload : this.overloads){
+            if(overload.maxArguments != Integer.MAX_VALUE)
+                largest = Math.max(largest, overload.maxArguments);
+            largest = Math.max(largest, overload.minArguments);
+        }
+        
+        this.resolutions = new Resolution[largest + 2];
+        int tests = 0;
+        for(int size = 0; size < resolutions.length; size++){
+            resolutions[size] = new Resolution(this.overloads, size);
+            tests = Math.max(tests, resolutions[size].positions.length);
+        }
+        
+        int maxTests = tests;
+        int maxArity = Arrays.stream(this.overloads).mapToInt(overload -> overload.plan.length).max().orElse(0);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(maxTests, maxArity));
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void execute(@NotNull String commandName, @NotNull Invoker invoker,
+                        @NotNull Channel channel, @NotNull String[] arguments){
+        ArrayArguments view = scratch.get().arrayArguments;
+        try {
+            execute(commandName, invoker, channel, view.wrap(arguments));
+        } finally {
+            view.clear();
+        }
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker,
+                        @NotNull Channel channel, @NotNull Arguments arguments){
+        Resolution resolution = resolutions[Math.min(arguments.size(), resolutions.length - 1)];
+        if(resolution.candidates.length == 0){
+            sendUsage(commandName, invoker);
+            return;
+        }
+        
+        // an overload the invoker may not use is out of the running before any argument is interpreted for it
+        long permitted = 0;
+        for(int c = 0; c < resolution.candidates.length; c++){
+            if(invoker.hasPermission(resolution.candidates[c].permission))
+                permitted |= 1L << c;
+        }
+        if(permitted == 0){
+            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), resolution.candidates[0].permission);
+            return;
+        }
+        
+        Scratch local = scratch.get();
+        InterpretResult[] results = local.results;
+        try {
+            long running = resolution.all & permitted;
+            int closest = Long.numberOfTrailingZeros(permitted);
+            int closestPosition = -1;
+            for(int t = 0; t < resolution.positions.length && running != 0; t++){
+                // once the preferred overload passed all of its tests, the rest can't change the outcome
+                if(resolution.lastTests[Long.numberOfTrailingZeros(running)] < t)
+                    break;
+                
+                long needing = resolution.masks[t] & running;
+                if(needing == 0)
+                    continue;
+                
+                int position = resolution.positions[t];
+                CharSequence input = arguments.get(position);
+                boolean passed = ContextualInterpreter.tryApply(resolution.interpreters[t], input, invoker, channel,
+                        results[t]);
+                // an argument that breaks a constraint does not fit the overload, which leaves the others to take it
+                ParameterSlot constrained = resolution.constrained[t];
+                if(passed && constrained != null){
+                    constrained.store(results[t], local.frame);
+                    passed = constrained.admits(input, local.frame);
+                }
+                if(!passed){
+                    running &= ~needing;
+                    if(position > closestPosition){
+                        closest = Long.numberOfTrailingZeros(needing);
+                        closestPosition = position;
+                    }
+                }
+            }
+            
+            if(running == 0){
+                // nothing fits; let the overload that got the furthest explain what was wrong
+                resolution.candidates[closest].execute(commandName, invoker, channel, arguments);
+            } else {
+                int chosen = Long.numberOfTrailingZeros(running);
+                resolution.candidates[chosen].execute(commandName, invoker, channel, arguments,
+                        results, resolution.prefixes[chosen]);
+            }
+        } finally {
+            for(InterpretResult result : results)
+                result.reset();
+            local.frame.clear();
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The suggestions of every overload that takes as many arguments are merged, in order of preference.
+     */
+    @Override
+    public @NotNull List<String> complete(@NotNull Arguments arguments){
+        Set<String> merged = new LinkedHashSet<>();
+        for(HouseCommand overload : overloads){
+            if(arguments.size() <= overload.maxArguments)
+                merged.addAll(overload.complete(arguments));
+        }
+        return new ArrayList<>(merged);
+    }
+    
+    /**
+     * Return every overload of this command
+     *
+     * @return An unmodifiable {@link List} of {@link HouseCommand}, in order of preference
+     */
+    public @NotNull List<HouseCommand> getOverloads(){
+        return Collections.unmodifiableList(Arrays.asList(overloads));
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public @NotNull String getName(){
+        return name;
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Return the metadata of the preferred overload.
+     */
+    @Override
+    public @NotNull RegisterCommand getMetadata(){
+        return overloads[0].getMetadata();
+    }
+    
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public @NotNull String getOwningClass(){
+        return overloads[0].getOwningClass();
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Return the parameters of the preferred overload; see {@link #getOverloads()} for the rest.
+     */
+    @Override
+    public @NotNull Parameter[] getParameters(){
+        return overloads[0].getParameters();
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Return the usage of the preferred overload; see {@link #getOverloads()} for the rest.
+     */
+    @Override
+    public @NotNull String[] getUsage(){
+        return overloads[0].getUsage();
+    }
+    
+    /**
+     * Sends the usage of every overload the invoker may execute
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     The {@link Invoker} to send the usage to
+     */
+    private void sendUsage(@NotNull CharSequence commandName, @NotNull Invoker invoker){
+        boolean permitted = false;
+        for(HouseCommand overload : overloads){
+            if(invoker.hasPermission(overload.permission)){
+                invoker.sendMessage(FrontDoor.getSettings().getUsageErrorFormat(),
+                        overload.formatError(commandName, -1));
+                permitted = true;
+            }
+        }
+        if(!permitted)
+            invoker.sendMessage(FrontDoor.getSettings().getPermissionError(), overloads[0].permission);
+    }
+    
+    /**
+     * Verifies that overloads can be told apart, and agree on how they are registered
+     *
+     * @param name      The name of the command
+     * @param overloads The overloads of the command
+     *
+     * @throws IllegalArgumentException if two overloads take the same parameter types, or they do not declare the
+     *                                  same aliases
+     */
+    private static void checkOverloads(@NotNull String name, @NotNull HouseCommand[] overloads){
+        Set<List<Class<?>>> signatures = new HashSet<>();
+        for(HouseCommand overload : overloads){
+            List<Class<?>> types = new ArrayList<>();
+            for(ParameterSlot slot : overload.plan)
+                types.add(slot.parameter.getType());
+            if(!signatures.add(types))
+                throw new IllegalArgumentException("overloads of " + name + " both take " + types);
+            
+            RegisterCommand metadata = overload.getMetadata();
+            RegisterCommand preferred = overloads[0].getMetadata();
+            if(!Arrays.equals(metadata.alias(), preferred.alias()) || metadata.override() != preferred.override())
+                throw new IllegalArgumentException("overloads of " + name + " declare different aliases");
+        }
+    }
+    
+    /**
+     * Return how many leading parameters of {@code overload} are certain to be given the argument at the same index
+     * when it is given {@code size} arguments
+     */
+    private static int definite(@NotNull HouseCommand overload, int size){
+        // flags and options may come before any of the positional arguments
+        if(overload.flags != null)
+            return 0;
+        
+        ParameterSlot[] plan = overload.plan;
+        // an asynchronous argument cannot be tested while resolving, so it is left to the overload to look up
+        int testable = 0;
+        while(testable < plan.length && plan[testable].async == null)
+            testable++;
+        
+        // with an argument for every parameter, none are skipped
+        if(overload.maxArguments != Integer.MAX_VALUE && size >= plan.length)
+            return testable;
+        
+        int i = 0;
+        while(i < testable && i < size && !plan[i].isOptional() && !plan[i].takesRest())
+            i++;
+        return i;
+    }
+    
+    /**
+     * Counts the parameters of {@code overload} that take any input
+     */
+    private static int permissive(@NotNull HouseCommand overload){
+        int count = 0;
+        for(ParameterSlot slot : overload.plan){
+            Class<?> type = slot.parameter.getType();
+            if(type == String.class || type == CharSequence.class || type == Object.class)
+                count++;
+        }
+        return count;
+    }
+    
+    /**
+     * How a given number of arguments is resolved to an overload
+     */
+    private static final class Resolution {
+        
+        /**
+         * The overloads that take this many arguments, in order of preference
+         */
+        final HouseCommand[] candidates;
+        final long all;
+        
+        /**
+         * The tests to run, in order of the position of the argument they test. Test {@code t} interprets the
+         * argument at {@code positions[t]} with {@code interpreters[t]}, and is needed by the candidates whose bits
+         * are set in {@code masks[t]}.
+         */
+        final int[] positions;
+        final Interpreter<?>[] interpreters;
+        final long[] masks;
+        
+        /**
+         * For each test, the slot whose constraints the argument must also meet, or {@code null} if there are none.
+         * A constrained test is never shared, since other overloads may constrain the same position differently.
+         */
+        final ParameterSlot[] constrained;
+        
+        /**
+         * For each candidate, the index of the last test it needs (or -1 if it needs none)
+         */
+        final int[] lastTests;
+        
+        /**
+         * For each candidate, the index of the test of each of its leading parameters
+         */
+        final int[][] prefixes;
+        
+        Resolution(@NotNull HouseCommand[] overloads, int size){
+            List<HouseCommand> fitting = new ArrayList<>();
+            for(HouseCommand overload : overloads){
+                if(overload.minArguments <= size && size <= overload.maxArguments)
+                    fitting.add(overload);
+            }
+            // a command ignores arguments past its last parameter, so fall back to any that takes fewer
+            if(fitting.isEmpty()){
+                for(HouseCommand overload : overloads){
+                    if(overload.minArguments <= size)
+                        fitting.add(overload);
+                }
+            }
+            
+            this.candidates = fitting.toArray(new HouseCommand[0]);
+            this.all = candidates.length == 0 ? 0 : -1L >>> (Long.SIZE - candidates.length);
+            this.lastTests = new int[candidates.length];
+            this.prefixes = new int[candidates.length][];
+            for(int c = 0; c < candidates.length; c++)
+                prefixes[c] = new int[definite(candidates[c], size)];
+            
+            List<Integer> positions = new ArrayList<>();
+            List<Interpreter<?>> interpreters = new ArrayList<>();
+            List<Long> masks = new ArrayList<>();
+            List<ParameterSlot> constrained = new ArrayList<>();
+            Arrays.fill(lastTests, -1);
+            for(int position = 0; position < size; position++){
+                int first = positions.size();
+                for(int c = 0; c < candidates.length; c++){
+                    if(position >= prefixes[c].length)
+                        continue;
+                    
+                    // share the test with any other candidate interpreting this position the same way, unconstrained
+                    ParameterSlot slot = candidates[c].plan[position];
+                    Interpreter<?> interpreter = slot.interpreter;
+                    int t = first;
+                    while(t < positions.size() && (slot.constraint != null || constrained.get(t) != null
+                            || interpreters.get(t) != interpreter))
+                        t++;
+                    if(t == positions.size()){
+                        positions.add(position);
+                        interpreters.add(interpreter);
+                        masks.add(0L);
+                        constrained.add(slot.constraint == null ? null : slot);
+                    }
+                    
+                    masks.set(t, masks.get(t) | 1L << c);
+                    prefixes[c][position] = t;
+                    lastTests[c] = Math.max(lastTests[c], t);
+                }
+            }
+            
+            this.positions = new int[positions.size()];
+            this.interpreters = interpreters.toArray(new Interpreter<?>[0]);
+            this.constrained = constrained.toArray(new ParameterSlot[0]);
+            this.masks = new long[masks.size()];
+            for(int t = 0; t < this.positions.length; t++){
+                this.positions[t] = positions.get(t);
+                this.masks[t] = masks.get(t);
+            }
+        }
+        
+    }
+    
+    /**
+     * What a thread resolves with, reused between executions
+     */
+    private static final class Scratch {
+        
+        final InterpretResult[] results;
+        final ArrayArguments arrayArguments = new ArrayArguments();
+        
+        /**
+         * The frame constrained arguments are stored into, to be checked against their constraints
+         */
+        final ArgumentFrame frame;
+        
+        Scratch(int tests, int arity){
+            this.results = new InterpretResult[tests];
+            this.frame = new ArgumentFrame(arity);
+            for(int t = 0; t < tests; t++)
+                results[t] = new InterpretResult();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,335 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.interp.AsyncInterpreter;
+import academy.hekiyou.door.interp.ContextualInterpreter;
+import academy.hekiyou.door.interp.InterpretResult;
+import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.interp.Suggester;
+import academy.hekiyou.door.model.Arguments;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single, pre-resolved entry in a {@link HouseCommand}'s argument plan.
+ * <p>
+ * Everything here is derived from the {@link Parameter} once, when the command is constructed, so that execution
+ * only has to walk an array of slots rather than re-inspecting annotations and the {@link Interpreter} registry.
+ */
+final class ParameterSlot {
+    
+    final int index;
+    final Parameter parameter;
+    final Interpreter<?> interpreter;
+    
+    /**
+     * {@link #interpreter}, if it needs the invoker and channel of the execution to interpret with
+     */
+    final @Nullable ContextualInterpreter<?> contextual;
+    
+    /**
+     * {@link #interpreter}, if it looks arguments up asynchronously; such an argument always takes its position, as
+     * whether it is wrong is only known once it has been looked up
+     */
+    final @Nullable AsyncInterpreter<?> async;
+    final @Nullable Suggester suggester;
+    final ArgumentFrame.Lane lane;
+    final boolean glob;
+    
+    /**
+     * The type of each element if this slot takes every remaining argument as an array or {@link List} (i.e
+     * {@code int[]}), or {@code null} if it takes a single argument. {@link #interpreter} interprets an element.
+     */
+    final @Nullable Class<?> elementType;
+    final @Nullable Annotation optional;
+    final @Nullable Object defaultValue;
+    
+    /**
+     * The constraints every argument must meet, or {@code null} if there are none
+     */
+    final @Nullable Constraint constraint;
+    
+    private final long longDefault;
+    private final double doubleDefault;
+    
+    /**
+     * Constructs a slot for a single parameter
+     *
+     * @param index        The index of the parameter, excluding the invoker and channel
+     * @param parameter    The {@link Parameter} this slot fills
+     * @param interpreter  The {@link Interpreter} resolved for the parameter's type (or its element type)
+     * @param glob         If the parameter is annotated with {@link academy.hekiyou.door.annotations.GlobAll}
+     * @param elementType  The type of each element if the parameter takes every remaining argument, or {@code null}
+     * @param optional     The optional annotation present on the parameter, or {@code null} if it is required
+     * @param defaultValue The value to use if the parameter is omitted
+     * @param constraint   The constraints every argument must meet, or {@code null} if there are none
+     *
+     * @throws IllegalArgumentException if {@code defaultValue} cannot be passed to the parameter, or does not meet
+     *                                  {@code constraint}
+     */
+    ParameterSlot(int index, @NotNull Parameter parameter, @NotNull Interpreter<?> interpreter, boolean glob,
+                  @Nullable Class<?> elementType, @Nullable Annotation optional, @Nullable Object defaultValue,
+                  @Nullable Constraint constraint){
+        this.index = index;
+        this.parameter = parameter;
+        this.interpreter = interpreter;
+        this.contextual = interpreter instanceof ContextualInterpreter ? (ContextualInterpreter<?>) interpreter : null;
+        this.async = interpreter instanceof AsyncInterpreter ? (AsyncInterpreter<?>) interpreter : null;
+        if(constraint != null && constraint.suggestions != null)
+            this.suggester = constraint.suggestions;
+        else
+            this.suggester = interpreter instanceof Suggester ? (Suggester) interpreter : null;
+        this.lane = ArgumentFrame.Lane.of(parameter.getType());
+        this.constraint = constraint;
+        this.glob = glob;
+        this.elementType = elementType;
+        this.optional = optional;
+        this.defaultValue = defaultValue;
+        
+        // primitive defaults are kept unboxed in the form their lane stores them
+        if(defaultValue instanceof Number){
+            this.longDefault = ((Number) defaultValue).longValue();
+            this.doubleDefault = ((Number) defaultValue).doubleValue();
+        } else if(defaultValue instanceof Character){
+            this.longDefault = (Character) defaultValue;
+            this.doubleDefault = (Character) defaultValue;
+        } else {
+            this.longDefault = Boolean.TRUE.equals(defaultValue) ? 1 : 0;
+            this.doubleDefault = 0;
+        }
+        
+        if(optional != null && !accepts(parameter.getType(), defaultValue))
+            throw new IllegalArgumentException(String.format("default %s of %s cannot be passed to %s",
+                    defaultValue, optional.annotationType().getSimpleName(), parameter));
+        
+        // a default that could never be typed is a mistake in the command, not in its arguments
+        if(optional != null && constraint != null && defaultValue != null){
+            ArgumentFrame frame = new ArgumentFrame(index + 1);
+            fillDefault(frame);
+            if(!constraint.test(index, frame, String.valueOf(defaultValue), frame.result))
+                throw new IllegalArgumentException(String.format("default of %s does not meet its constraints: %s",
+                        parameter, frame.result.getMessage()));
+        }
+    }
+    
+    /**
+     * Checks if {@code value} can be passed to a parameter of the given type
+     *
+     * @param type  The type of the parameter
+     * @param value The value to pass
+     *
+     * @return {@code true} if the value can be passed without a {@link ClassCastException}, {@code false} otherwise
+     */
+    private static boolean accepts(@NotNull Class<?> type, @Nullable Object value){
+        if(type == boolean.class)
+            return value instanceof Boolean;
+        if(type.isPrimitive())
+            return value instanceof Number || value instanceof Character;
+        return value == null || type.isInstance(value);
+    }
+    
+    /**
+     * Return if this slot may be omitted
+     *
+     * @return {@code true} if the parameter is optional, {@code false} otherwise
+     */
+    boolean isOptional(){
+        return optional != null;
+    }
+    
+    /**
+     * Return if this slot takes every remaining argument, either globbed or as elements
+     *
+     * @return {@code true} if no slot can follow this one, {@code false} otherwise
+     */
+    boolean takesRest(){
+        return glob || elementType != null;
+    }
+    
+    /**
+     * Checks if {@code input} could be interpreted for this slot (and meets its constraints), without keeping it. If
+     * the slot needs context to interpret with and {@code scratch} has none, or looks arguments up asynchronously,
+     * the input is assumed to be accepted.
+     *
+     * @param input   The input to interpret
+     * @param scratch An {@link ArgumentFrame} to interpret into, whose result is reset afterwards
+     *
+     * @return {@code true} if the input could be interpreted, {@code false} otherwise
+     */
+    boolean accepts(@NotNull CharSequence input, @NotNull ArgumentFrame scratch){
+        if(async != null || contextual != null && (scratch.invoker == null || scratch.channel == null))
+            return true;
+        boolean accepted = interpret(input, scratch);
+        scratch.result.reset();
+        return accepted;
+    }
+    
+    /**
+     * Interprets {@code input} and stores the result into this slot's position of {@code frame}
+     *
+     * @param input The input to interpret
+     * @param frame The {@link ArgumentFrame} to store into
+     *
+     * @return {@code true} if the input was interpreted and meets this slot's constraints, {@code false} if not (in
+     * which case the reason is held by {@link ArgumentFrame#result})
+     */
+    boolean interpret(@NotNull CharSequence input, @NotNull ArgumentFrame frame){
+        InterpretResult result = frame.result;
+        if(!apply(input, frame, result))
+            return false;
+        
+        store(result, frame);
+        result.reset();
+        return admits(input, frame);
+    }
+    
+    /**
+     * Applies {@link #interpreter} to {@code input}, with the invoker and channel of {@code frame} if it needs them
+     */
+    private boolean apply(@NotNull CharSequence input, @NotNull ArgumentFrame frame, @NotNull InterpretResult result){
+        if(contextual != null && frame.invoker != null && frame.channel != null)
+            return contextual.tryApply(input, frame.invoker, frame.channel, result);
+        return interpreter.tryApply(input, result);
+    }
+    
+    /**
+     * Stores the outcome of a completed lookup of {@link #async} into this slot's position of {@code frame}
+     *
+     * @param lookup The completed lookup
+     * @param input  The input the lookup was started with
+     * @param frame  The {@link ArgumentFrame} to store into
+     *
+     * @return {@code true} if the lookup succeeded and its result meets this slot's constraints, {@code false} if not
+     * (in which case the reason is held by {@link ArgumentFrame#result})
+     */
+    boolean settle(@NotNull CompletableFuture<?> lookup, @NotNull String input, @NotNull ArgumentFrame frame){
+        InterpretResult result = frame.result;
+        if(!AsyncInterpreter.tryGet(lookup, input, result))
+            return false;
+        
+        store(result, frame);
+        result.reset();
+        return admits(input, frame);
+    }
+    
+    /**
+     * Checks if the argument already stored into this slot's position of {@code frame} meets its constraints
+     *
+     * @param input The input the argument was interpreted from
+     * @param frame The {@link ArgumentFrame} holding the argument
+     *
+     * @return {@code true} if the argument meets every constraint (or there are none), {@code false} if not (in which
+     * case the reason is held by {@link ArgumentFrame#result})
+     */
+    boolean admits(@NotNull CharSequence input, @NotNull ArgumentFrame frame){
+        return constraint == null || constraint.test(index, frame, input, frame.result);
+    }
+    
+    /**
+     * Interprets every argument from {@code from} onwards as an element, and stores them into this slot's position of
+     * {@code frame}. Primitive elements are stored straight into a primitive array, without being boxed.
+     *
+     * @param arguments The arguments given to the command
+     * @param from      The index of the first element, which may be {@code arguments.size()} for no elements
+     * @param frame     The {@link ArgumentFrame} to store into
+     *
+     * @return {@code true} if every element was interpreted, {@code false} if one could not be (in which case the
+     * reason is held by {@link ArgumentFrame#result})
+     */
+    boolean interpretAll(@NotNull Arguments arguments, int from, @NotNull ArgumentFrame frame){
+        InterpretResult result = frame.result;
+        int count = arguments.size() - from;
+        Object elements;
+        if(elementType == int.class){
+            int[] ints = new int[count];
+            for(int k = 0; k < count; k++){
+                if(!apply(arguments.get(from + k), frame, result))
+                    return false;
+                ints[k] = (int) result.getAsLong();
+            }
+            elements = ints;
+        } else if(elementType == long.class){
+            long[] longs = new long[count];
+            for(int k = 0; k < count; k++){
+                if(!apply(arguments.get(from + k), frame, result))
+                    return false;
+                longs[k] = result.getAsLong();
+            }
+            elements = longs;
+        } else if(elementType == double.class){
+            double[] doubles = new double[count];
+            for(int k = 0; k < count; k++){
+                if(!apply(arguments.get(from + k), frame, result))
+                    return false;
+                doubles[k] = result.getAsDouble();
+            }
+            elements = doubles;
+        } else if(parameter.getType().isArray()){
+            Object[] objects = (Object[]) Array.newInstance(elementType, count);
+            for(int k = 0; k < count; k++){
+                if(!apply(arguments.get(from + k), frame, result))
+                    return false;
+                objects[k] = result.get();
+            }
+            elements = objects;
+        } else {
+            List<Object> list = new ArrayList<>(count);
+            for(int k = 0; k < count; k++){
+                if(!apply(arguments.get(from + k), frame, result))
+                    return false;
+                list.add(result.get());
+            }
+            elements = list;
+        }
+        
+        frame.values[index] = elements;
+        result.reset();
+        return true;
+    }
+    
+    /**
+     * Stores a value this slot's {@link #interpreter} already interpreted into its position of {@code frame}
+     *
+     * @param result The successful result of {@link #interpreter}
+     * @param frame  The {@link ArgumentFrame} to store into
+     */
+    void store(@NotNull InterpretResult result, @NotNull ArgumentFrame frame){
+        switch(lane){
+            case LONG:
+                frame.longs[index] = result.getAsLong();
+                break;
+            case DOUBLE:
+                frame.doubles[index] = result.getAsDouble();
+                break;
+            default:
+                frame.values[index] = result.get();
+                break;
+        }
+    }
+    
+    /**
+     * Stores this slot's default value into its position of {@code frame}
+     *
+     * @param frame The {@link ArgumentFrame} to store into
+     */
+    void fillDefault(@NotNull ArgumentFrame frame){
+        switch(lane){
+            case OBJECT:
+                frame.values[index] = defaultValue;
+                break;
+            case DOUBLE:
+                frame.doubles[index] = doubleDefault;
+                break;
+            default:
+                frame.longs[index] = longDefault;
+                break;
+        }
+    }
+    
+}
@@ -0,0 +1,94 @@
+package academy.hekiyou.door.house;
+
+import academy.hekiyou.door.model.Arguments;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reusable {@link Arguments} view of only some arguments of another, used to hand the positional arguments of a
+ * command with flags or options (see {@link FlagTable}) to the rest of its plan.
+ */
+final class PositionalArguments implements Arguments {
+    
+    /**
+     * The largest glob buffer we are willing to keep around between executions
+     */
+    private static final int MAX_RETAINED_GLOB = 1024;
+    private static final int[] NONE = new int[0];
+    private static final Arguments EMPTY = new ArrayArguments();
+    
+    private Arguments backing = EMPTY;
+    private int[] indices = NONE;
+    private int count;
+    private StringBuilder globBuffer = new StringBuilder();
+    
+    /**
+     * Points this view at the arguments of {@code backing} at the given indices
+     *
+     * @param backing The arguments to view
+     * @param indices The index of each argument to view, in ascending order
+     * @param count   The number of indices to use
+     *
+     * @return This object, for convenience
+     */
+    @NotNull PositionalArguments set(@NotNull Arguments backing, @NotNull int[] indices, int count){
+        this.backing = backing;
+        this.indices = indices;
+        this.count = count;
+        return this;
+    }
+    
+    /**
+     * Releases the arguments currently viewed
+     */
+    void clear(){
+        backing = EMPTY;
+        indices = NONE;
+        count = 0;
+        if(globBuffer.capacity() > MAX_RETAINED_GLOB)
+            globBuffer = new StringBuilder();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(){
+        return count;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CharSequence get(int index){
+        if(index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + count);
+        return backing.get(indices[index]);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec If the arguments from {@code from} onwards are the last arguments of the backing arguments, with no
+     * flags between them, they are globbed by the backing arguments; otherwise they are joined by a single space into
+     * a buffer owned by this object.
+     */
+    @Override
+    public @NotNull CharSequence glob(int from){
+        if(from < 0 || from >= count)
+            throw new IndexOutOfBoundsException("index: " + from + ", size: " + count);
+        
+        if(indices[count - 1] - indices[from] == count - 1 - from && indices[count - 1] == backing.size() - 1)
+            return backing.glob(indices[from]);
+        
+        StringBuilder sb = globBuffer;
+        sb.setLength(0);
+        for(int i = from; i < count; i++){
+            if(i > from)
+                sb.append(' ');
+            sb.append(backing.get(indices[i]));
+        }
+        return sb;
+    }
+    
+}
@@ -1,18 +1,45 @@
 package academy.hekiyou.door.house;
 
 import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.CaseFolding;
 import academy.hekiyou.door.model.Command;
 import academy.hekiyou.door.model.Register;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * A {@link Register} backed by a plain {@link Map}, matching names according to its {@link CaseFolding}.
+ * <p>
+ * Alongside the name to {@link Command} mapping, every name is indexed by the class owning its command, so
+ * unregistering a command (or a whole module) only has to visit that class's names.
+ *
+ * @implNote Not thread safe! Use {@link ConcurrentRegister} if commands may be (un)registered while others are
+ * being dispatched.
+ */
 public class SimpleRegister implements Register {
 
-    private final Map<String, Command> registered = new HashMap<>();
+    private final CaseFolding folding;
+    private final Map<String, Command> registered;
+    private final Map<String, Map<String, Command>> owned = new HashMap<>();
+    
+    /**
+     * Constructs an empty, case-sensitive register
+     */
+    public SimpleRegister(){
+        this(CaseFolding.SENSITIVE);
+    }
+    
+    /**
+     * Constructs an empty register that matches names according to {@code folding}
+     *
+     * @param folding How command names are matched
+     */
+    public SimpleRegister(@NotNull CaseFolding folding){
+        this.folding = folding;
+        this.registered = folding.newMap();
+    }
     
     /**
      * {@inheritDoc}
@@ -23,11 +50,11 @@ public class SimpleRegister implements Register {
         if(isRegistered(command.getName()) && !meta.override())
             throw new IllegalStateException("already registered " + command.getName());
         
-        registered.put(command.getName(), command);
+        put(command.getName(), command);
         
         for(String alias : meta.alias()){
             if(!isRegistered(alias) || meta.override()) // only register aliases that haven't actually been taken already
-                registered.put(alias, command);
+                put(alias, command);
         }
     }
     
@@ -39,8 +66,35 @@ public class SimpleRegister implements Register {
         if(!isRegistered(command.getName()))
             return;
         
-        Collection<Command> values = registered.values();
-        while(values.remove(command));
+        Map<String, Command> names = owned.get(command.getOwningClass());
+        if(names == null)
+            return;
+        
+        // only the owning class's names can refer to the command
+        Iterator<Map.Entry<String, Command>> entries = names.entrySet().iterator();
+        while(entries.hasNext()){
+            Map.Entry<String, Command> entry = entries.next();
+            if(entry.getValue().equals(command)){
+                registered.remove(entry.getKey());
+                entries.remove();
+            }
+        }
+        if(names.isEmpty())
+            owned.remove(command.getOwningClass());
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<String> unregisterOwnedBy(@NotNull String owningClass){
+        Map<String, Command> names = owned.remove(owningClass);
+        if(names == null)
+            return new ArrayList<>();
+        
+        for(String name : names.keySet())
+            registered.remove(name);
+        return new ArrayList<>(names.keySet());
     }
     
     /**
@@ -62,4 +116,54 @@ public class SimpleRegister implements Register {
         return map;
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The view is live, and reflects later changes.
+     */
+    @Override
+    public @NotNull Map<String, Command> getCommands(){
+        return Collections.unmodifiableMap(registered);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The view is a copy, and does not reflect later changes.
+     */
+    @Override
+    public @NotNull Map<String, Command> getCommandsOwnedBy(@NotNull String owningClass){
+        Map<String, Command> names = owned.get(owningClass);
+        if(names == null)
+            return Collections.emptyMap();
+        return Collections.unmodifiableMap(folding.copyOf(names));
+    }
+    
+    /**
+     * Maps {@code name} to {@code command}, moving the name from whichever class owned it previously
+     *
+     * @param name    The name (or alias) to map
+     * @param command The {@link Command} to map it to
+     */
+    private void put(@NotNull String name, @NotNull Command command){
+        // remove first, so that a name differing only by case replaces the old spelling
+        Command previous = registered.remove(name);
+        registered.put(name, command);
+        if(previous != null){
+            Map<String, Command> previousNames = owned.get(previous.getOwningClass());
+            previousNames.remove(name);
+            if(previousNames.isEmpty())
+                owned.remove(previous.getOwningClass());
+        }
+        owned.computeIfAbsent(command.getOwningClass(), owner -> folding.newMap()).put(name, command);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CaseFolding getCaseFolding(){
+        return folding;
+    }
+    
 }
@@ -0,0 +1,50 @@
+package academy.hekiyou.door.house;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reusable offset/length view into another {@link CharSequence}, so that part of an argument can be handed out
+ * without copying it.
+ *
+ * @implNote Not thread safe.
+ */
+final class TokenView implements CharSequence {
+    
+    private CharSequence source = "";
+    private int start;
+    private int end;
+    
+    @NotNull TokenView set(@NotNull CharSequence source, int start, int end){
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+    
+    @Override
+    public int length(){
+        return end - start;
+    }
+    
+    @Override
+    public char charAt(int index){
+        if(index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+        return source.charAt(start + index);
+    }
+    
+    @Override
+    public @NotNull CharSequence subSequence(int from, int to){
+        if(from < 0 || to > length() || from > to)
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + length());
+        return new TokenView().set(source, start + from, start + to);
+    }
+    
+    @Override
+    public @NotNull String toString(){
+        if(source instanceof String)
+            return ((String) source).substring(start, end);
+        return source.subSequence(start, end).toString();
+    }
+    
+}
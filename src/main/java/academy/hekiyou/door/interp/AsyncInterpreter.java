@@ -0,0 +1,85 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An {@link Interpreter} that looks its input up in a backing store (i.e an account by its id), and so answers with a
+ * {@link CompletableFuture} rather than blocking the thread commands are dispatched on.
+ * <p>
+ * A command starts the lookup of every asynchronous argument before waiting on any of them, and its method is invoked
+ * on whichever thread completes the last one. A lookup fails by completing exceptionally; with a
+ * {@link BadInterpretationException}, its message is sent to the invoker as is.
+ *
+ * @param <T> the type to convert a {@link String} into
+ * @see BatchingInterpreter
+ */
+@FunctionalInterface
+public interface AsyncInterpreter<T> extends Interpreter<T> {
+    
+    /**
+     * Starts looking up the given input
+     *
+     * @param input the input to interpret, which is kept until the lookup completes
+     *
+     * @return A {@link CompletableFuture} completed with the interpreted object, or exceptionally if the input could
+     * not be interpreted
+     */
+    @NotNull CompletableFuture<? extends T> applyAsync(@NotNull String input);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Blocks until the lookup of {@link #applyAsync(String)} completes.
+     * @throws BadInterpretationException if the lookup failed
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    default @NotNull T apply(@NotNull String input){
+        InterpretResult result = new InterpretResult();
+        if(!tryGet(applyAsync(input), input, result))
+            throw new BadInterpretationException(result.getMessage());
+        return (T) result.get();
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Blocks until the lookup of {@link #applyAsync(String)} completes.
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryGet(applyAsync(input.toString()), input, result);
+    }
+    
+    /**
+     * Stores the outcome of a lookup into {@code result}, waiting for it to complete if it has not already
+     *
+     * @param lookup The lookup, as returned by {@link #applyAsync(String)}
+     * @param input  The input the lookup was started with, for reporting
+     * @param result The {@link InterpretResult} to store the looked up object (or reason for failure) in
+     *
+     * @return {@code true} if the lookup succeeded, {@code false} otherwise
+     */
+    static boolean tryGet(@NotNull CompletableFuture<?> lookup, @NotNull CharSequence input,
+                          @NotNull InterpretResult result){
+        Object value;
+        try {
+            value = lookup.join();
+        } catch(CompletionException exc) {
+            if(exc.getCause() instanceof BadInterpretationException)
+                return result.fail(String.valueOf(exc.getCause().getMessage()));
+            return result.fail("Could not look up \"%s\"", input, 0, input.length());
+        } catch(CancellationException exc) {
+            return result.fail("Could not look up \"%s\"", input, 0, input.length());
+        }
+        if(value == null)
+            return result.fail("Could not look up \"%s\"", input, 0, input.length());
+        return result.succeed(value);
+    }
+    
+}
@@ -0,0 +1,28 @@
+package academy.hekiyou.door.interp;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fetches many entities from a backing store at once, i.e with a single {@code SELECT ... WHERE id IN (...)}.
+ *
+ * @param <T> the type of the entities
+ * @see BatchingInterpreter
+ */
+@FunctionalInterface
+public interface BatchFetcher<T> {
+    
+    /**
+     * Fetches the entity of every name in {@code names}
+     *
+     * @param names the names to fetch, without duplicates
+     *
+     * @return A {@link CompletableFuture} completed with the entity of each name that has one (names without one
+     * are left out), or exceptionally if the store could not be reached
+     */
+    @NotNull CompletableFuture<Map<String, T>> fetch(@NotNull Set<String> names);
+    
+}
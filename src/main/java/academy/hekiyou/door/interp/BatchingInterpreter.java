@@ -0,0 +1,109 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * An {@link AsyncInterpreter} that coalesces lookups into batches, each fetched with a single call to a
+ * {@link BatchFetcher}.
+ * <p>
+ * The first lookup into an empty batch schedules it to be fetched on an {@link Executor}; every lookup started before
+ * then (i.e the other arguments of the same command, or the arguments of commands dispatched concurrently) joins that
+ * batch, and a name looked up more than once shares a single future. Lookups started while a batch is being fetched
+ * form the next batch.
+ *
+ * @param <T> the type of the entities
+ */
+public final class BatchingInterpreter<T> implements AsyncInterpreter<T> {
+    
+    private final BatchFetcher<T> fetcher;
+    private final Executor executor;
+    private final String unknownPrefix;
+    
+    private final Object lock = new Object();
+    private @Nullable Map<String, CompletableFuture<T>> batch;
+    
+    /**
+     * Constructs an interpreter fetching batches with {@code fetcher}
+     *
+     * @param fetcher  The {@link BatchFetcher} to fetch each batch with
+     * @param executor The {@link Executor} to fetch batches on
+     * @param noun     What the entities are called in the message sent for an unknown name, i.e {@code "account"}
+     */
+    public BatchingInterpreter(@NotNull BatchFetcher<T> fetcher, @NotNull Executor executor, @NotNull String noun){
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.unknownPrefix = "Unknown " + noun + ": \"";
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The returned future is shared by every lookup of {@code input} in the same batch, and so must not be
+     * completed or cancelled by the caller.
+     */
+    @Override
+    public @NotNull CompletableFuture<T> applyAsync(@NotNull String input){
+        CompletableFuture<T> lookup;
+        boolean first;
+        synchronized(lock){
+            first = batch == null;
+            if(first)
+                batch = new HashMap<>();
+            lookup = batch.computeIfAbsent(input, name -> new CompletableFuture<>());
+        }
+        
+        if(first){
+            try {
+                executor.execute(this::flush);
+            } catch(RejectedExecutionException exc) {
+                // fetch on this thread rather than leave the batch waiting forever
+                flush();
+            }
+        }
+        return lookup;
+    }
+    
+    /**
+     * Fetches the current batch, leaving an empty one for the lookups started from now on
+     */
+    private void flush(){
+        Map<String, CompletableFuture<T>> flushed;
+        synchronized(lock){
+            flushed = batch;
+            batch = null;
+        }
+        if(flushed == null)
+            return;
+        
+        CompletableFuture<Map<String, T>> fetched;
+        try {
+            fetched = fetcher.fetch(Collections.unmodifiableSet(flushed.keySet()));
+        } catch(RuntimeException exc) {
+            fetched = new CompletableFuture<>();
+            fetched.completeExceptionally(exc);
+        }
+        
+        fetched.whenComplete((found, exc) -> {
+            for(Map.Entry<String, CompletableFuture<T>> entry : flushed.entrySet()){
+                T value = found == null ? null : found.get(entry.getKey());
+                if(exc != null)
+                    entry.getValue().completeExceptionally(exc);
+                else if(value == null)
+                    entry.getValue().completeExceptionally(
+                            new BadInterpretationException(unknownPrefix + entry.getKey() + "\""));
+                else
+                    entry.getValue().complete(value);
+            }
+        });
+    }
+    
+}
@@ -0,0 +1,45 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A primitive specialization of {@link Interpreter} that interprets input as a {@code boolean} without boxing it.
+ */
+@FunctionalInterface
+public interface BooleanInterpreter extends Interpreter<Boolean> {
+    
+    /**
+     * Applies the interpreter to the given input.
+     *
+     * @param input the input to attempt to interpret
+     *
+     * @return The interpreted value, if possible.
+     */
+    boolean applyAsBoolean(@NotNull String input);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Boxes the result of {@link #applyAsBoolean(String)}
+     */
+    @Override
+    default @NotNull Boolean apply(@NotNull String input){
+        return applyAsBoolean(input);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Stores the result of {@link #applyAsBoolean(String)} without boxing it
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        try {
+            return result.succeedAsBoolean(applyAsBoolean(input.toString()));
+        } catch(BadInterpretationException exc) {
+            return result.fail(String.valueOf(exc.getMessage()));
+        }
+    }
+    
+}
@@ -0,0 +1,74 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link Interpreter} whose result depends on who executed the command and where, i.e one resolving the name of
+ * another member of the {@link Channel}.
+ * <p>
+ * Commands pass the {@link Invoker} and {@link Channel} they were executed with to
+ * {@link #tryApply(CharSequence, Invoker, Channel, InterpretResult)}; without them, input cannot be interpreted.
+ *
+ * @param <T> the type to convert a {@link String} into
+ */
+@FunctionalInterface
+public interface ContextualInterpreter<T> extends Interpreter<T> {
+    
+    /**
+     * Attempts to apply the interpreter to the given input, in the context of a command's execution, without throwing
+     * if the input cannot be interpreted.
+     *
+     * @param input   the input to attempt to interpret
+     * @param invoker the {@link Invoker} executing the command
+     * @param channel the {@link Channel} the command is executed in
+     * @param result  the {@link InterpretResult} to store the interpreted object (or reason for failure) in
+     *
+     * @return {@code true} if the input was interpreted, {@code false} otherwise
+     */
+    boolean tryApply(@NotNull CharSequence input, @NotNull Invoker invoker, @NotNull Channel channel,
+                     @NotNull InterpretResult result);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Always throws, as there is no context to interpret with.
+     * @throws BadInterpretationException always
+     */
+    @Override
+    default @NotNull T apply(@NotNull String input){
+        throw new BadInterpretationException("\"" + input + "\" cannot be interpreted outside of a command");
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Always fails, as there is no context to interpret with.
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return result.fail("\"%s\" cannot be interpreted outside of a command", input, 0, input.length());
+    }
+    
+    /**
+     * Applies any {@link Interpreter} to the given input, passing it the context if it is a
+     * {@link ContextualInterpreter}
+     *
+     * @param interpreter the interpreter to apply
+     * @param input       the input to attempt to interpret
+     * @param invoker     the {@link Invoker} executing the command
+     * @param channel     the {@link Channel} the command is executed in
+     * @param result      the {@link InterpretResult} to store the interpreted object (or reason for failure) in
+     *
+     * @return {@code true} if the input was interpreted, {@code false} otherwise
+     */
+    static boolean tryApply(@NotNull Interpreter<?> interpreter, @NotNull CharSequence input,
+                            @NotNull Invoker invoker, @NotNull Channel channel, @NotNull InterpretResult result){
+        if(interpreter instanceof ContextualInterpreter)
+            return ((ContextualInterpreter<?>) interpreter).tryApply(input, invoker, channel, result);
+        return interpreter.tryApply(input, result);
+    }
+    
+}
@@ -0,0 +1,45 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A primitive specialization of {@link Interpreter} that interprets input as a {@code double} without boxing it.
+ */
+@FunctionalInterface
+public interface DoubleInterpreter extends Interpreter<Double> {
+    
+    /**
+     * Applies the interpreter to the given input.
+     *
+     * @param input the input to attempt to interpret
+     *
+     * @return The interpreted value, if possible.
+     */
+    double applyAsDouble(@NotNull String input);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Boxes the result of {@link #applyAsDouble(String)}
+     */
+    @Override
+    default @NotNull Double apply(@NotNull String input){
+        return applyAsDouble(input);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Stores the result of {@link #applyAsDouble(String)} without boxing it
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        try {
+            return result.succeedAsDouble(applyAsDouble(input.toString()));
+        } catch(BadInterpretationException exc) {
+            return result.fail(String.valueOf(exc.getMessage()));
+        }
+    }
+    
+}
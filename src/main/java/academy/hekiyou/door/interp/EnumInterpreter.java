@@ -0,0 +1,156 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.annotations.Alias;
+import academy.hekiyou.door.exception.BadInterpretationException;
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An {@link Interpreter} for the constants of an enum, which {@link Interpreters#of(Class)} creates for any enum that
+ * has no interpreter registered.
+ * <p>
+ * Constants are matched by name regardless of case, as are the names given by {@link Alias}. Every name is sorted into
+ * a table once, so interpreting an argument is a binary search over it with no copy (or uppercase copy) of the input,
+ * and an argument that names no constant fails without throwing. The constants' names (but not their aliases) are
+ * also suggested while typing.
+ *
+ * @param <E> The type of the enum
+ */
+public final class EnumInterpreter<E extends Enum<E>> implements Interpreter<E>, Suggester {
+    
+    private static final CaseFolding FOLDING = CaseFolding.INSENSITIVE;
+    
+    private final String[] names;
+    private final E[] constants;
+    private final String unknownMessage;
+    private final SortedSuggestions suggestions;
+    
+    /**
+     * Constructs an interpreter for the constants of {@code type}
+     *
+     * @param type The enum's class
+     *
+     * @throws IllegalArgumentException if two constants (or aliases) have the same name regardless of case
+     */
+    public EnumInterpreter(@NotNull Class<E> type){
+        E[] values = type.getEnumConstants();
+        List<String> names = new ArrayList<>();
+        List<E> constants = new ArrayList<>();
+        List<String> suggested = new ArrayList<>();
+        for(E constant : values){
+            names.add(constant.name());
+            constants.add(constant);
+            suggested.add(constant.name());
+            
+            Alias alias;
+            try {
+                alias = type.getField(constant.name()).getAnnotation(Alias.class);
+            } catch(NoSuchFieldException exc) {
+                throw new IllegalStateException(exc);
+            }
+            if(alias == null)
+                continue;
+            for(String name : alias.value()){
+                names.add(name);
+                constants.add(constant);
+            }
+        }
+        
+        Integer[] order = new Integer[names.size()];
+        for(int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(names.get(a), names.get(b)));
+        
+        this.names = new String[order.length];
+        this.constants = Arrays.copyOf(values, order.length);
+        for(int i = 0; i < order.length; i++){
+            this.names[i] = names.get(order[i]);
+            this.constants[i] = constants.get(order[i]);
+            if(i > 0 && FOLDING.matches(this.names[i - 1], this.names[i]))
+                throw new IllegalArgumentException(String.format("%s and %s of %s have the same name",
+                        this.constants[i - 1], this.constants[i], type.getName()));
+        }
+        
+        this.unknownMessage = "Unknown " + type.getSimpleName() + ": \"%s\"";
+        this.suggestions = new SortedSuggestions(suggested, FOLDING);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @throws BadInterpretationException if {@code input} names no constant
+     */
+    @Override
+    public @NotNull E apply(@NotNull String input){
+        int i = find(input);
+        if(i < 0)
+            throw new BadInterpretationException(String.format(unknownMessage, input));
+        return constants[i];
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Never throws; an input that names no constant fails {@code result}.
+     */
+    @Override
+    public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        int i = find(input);
+        if(i < 0)
+            return result.fail(unknownMessage, input, 0, input.length());
+        return result.succeed(constants[i]);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<String> suggest(@NotNull CharSequence partial){
+        return suggestions.suggest(partial);
+    }
+    
+    /**
+     * Finds the index of the name matching {@code input}
+     *
+     * @return The index in {@link #names}, or -1 if there is none
+     */
+    private int find(@NotNull CharSequence input){
+        int low = 0;
+        int high = names.length - 1;
+        while(low <= high){
+            int mid = (low + high) >>> 1;
+            int cmp = compare(names[mid], input);
+            if(cmp < 0)
+                low = mid + 1;
+            else if(cmp > 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+    
+    /**
+     * Compares {@code name} to {@code input} the way {@link String#CASE_INSENSITIVE_ORDER} would, without copying the
+     * input
+     */
+    private static int compare(@NotNull String name, @NotNull CharSequence input){
+        int length = Math.min(name.length(), input.length());
+        for(int i = 0; i < length; i++){
+            char a = name.charAt(i);
+            char b = input.charAt(i);
+            if(a == b)
+                continue;
+            a = FOLDING.fold(a);
+            b = FOLDING.fold(b);
+            if(a != b)
+                return a - b;
+        }
+        return name.length() - input.length();
+    }
+    
+}
@@ -0,0 +1,45 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A primitive specialization of {@link Interpreter} that interprets input as an {@code int} without boxing it.
+ */
+@FunctionalInterface
+public interface IntInterpreter extends Interpreter<Integer> {
+    
+    /**
+     * Applies the interpreter to the given input.
+     *
+     * @param input the input to attempt to interpret
+     *
+     * @return The interpreted value, if possible.
+     */
+    int applyAsInt(@NotNull String input);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Boxes the result of {@link #applyAsInt(String)}
+     */
+    @Override
+    default @NotNull Integer apply(@NotNull String input){
+        return applyAsInt(input);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Stores the result of {@link #applyAsInt(String)} without boxing it
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        try {
+            return result.succeedAsInt(applyAsInt(input.toString()));
+        } catch(BadInterpretationException exc) {
+            return result.fail(String.valueOf(exc.getMessage()));
+        }
+    }
+    
+}
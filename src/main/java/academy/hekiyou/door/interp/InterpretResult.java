@@ -0,0 +1,319 @@
+package academy.hekiyou.door.interp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A mutable, reusable holder for the outcome of {@link Interpreter#tryApply(CharSequence, InterpretResult)}.
+ * <p>
+ * A result either holds an interpreted value or the reason interpretation failed. Primitive values are stored without
+ * boxing (see {@link #succeedAsInt(int)} and friends), and failure messages are only formatted once something asks
+ * for them through {@link #getMessage()}, so neither outcome needs to allocate.
+ *
+ * @implNote Not thread safe; a result is meant to be owned by whoever is interpreting and reused between calls.
+ */
+public final class InterpretResult {
+    
+    private boolean success;
+    
+    private @Nullable Class<?> primitive;
+    private @Nullable Object value;
+    private long longValue;
+    private double doubleValue;
+    
+    private @Nullable String format;
+    private @Nullable Object detail;
+    private int detailStart;
+    private int detailEnd = -1;
+    private @Nullable String message;
+    
+    /**
+     * Clears this result so it can be reused for another interpretation
+     */
+    public void reset(){
+        success = false;
+        primitive = null;
+        value = null;
+        format = null;
+        detail = null;
+        detailEnd = -1;
+        message = null;
+    }
+    
+    /**
+     * Marks this result as successful with the given value
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeed(@Nullable Object value){
+        reset();
+        this.success = true;
+        this.value = value;
+        return true;
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code byte}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsByte(byte value){
+        return succeedIntegral(byte.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code short}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsShort(short value){
+        return succeedIntegral(short.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code char}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsChar(char value){
+        return succeedIntegral(char.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code int}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsInt(int value){
+        return succeedIntegral(int.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code long}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsLong(long value){
+        return succeedIntegral(long.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code boolean}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsBoolean(boolean value){
+        return succeedIntegral(boolean.class, value ? 1 : 0);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code float}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsFloat(float value){
+        return succeedFloating(float.class, value);
+    }
+    
+    /**
+     * Marks this result as successful with the given {@code double}, without boxing it
+     *
+     * @param value The interpreted value
+     *
+     * @return {@code true}, for convenience
+     */
+    public boolean succeedAsDouble(double value){
+        return succeedFloating(double.class, value);
+    }
+    
+    /**
+     * Marks this result as failed with the given message
+     *
+     * @param message The reason interpretation failed
+     *
+     * @return {@code false}, for convenience
+     */
+    public boolean fail(@NotNull String message){
+        reset();
+        this.message = message;
+        return false;
+    }
+    
+    /**
+     * Marks this result as failed. The message is not formatted until {@link #getMessage()} is called.
+     *
+     * @param format The format of the reason interpretation failed
+     * @param detail The argument to format {@code format} with (typically the bad input)
+     *
+     * @return {@code false}, for convenience
+     */
+    public boolean fail(@NotNull String format, @Nullable Object detail){
+        reset();
+        this.format = format;
+        this.detail = detail;
+        return false;
+    }
+    
+    /**
+     * Marks this result as failed because of {@code input[start, end)}. Neither the message nor the offending range
+     * are copied until {@link #getMessage()} is called.
+     *
+     * @param format The format of the reason interpretation failed
+     * @param input  The input containing the bad range
+     * @param start  The index the bad range starts at, inclusive
+     * @param end    The index the bad range ends at, exclusive
+     *
+     * @return {@code false}, for convenience
+     */
+    public boolean fail(@NotNull String format, @NotNull CharSequence input, int start, int end){
+        fail(format, input);
+        this.detailStart = start;
+        this.detailEnd = end;
+        return false;
+    }
+    
+    /**
+     * Return if the last interpretation succeeded
+     *
+     * @return {@code true} if a value is held, {@code false} otherwise
+     */
+    public boolean isSuccess(){
+        return success;
+    }
+    
+    /**
+     * Return the interpreted value, boxing it if it was stored as a primitive
+     *
+     * @return The interpreted value
+     */
+    public @Nullable Object get(){
+        if(primitive == null)
+            return value;
+        if(primitive == int.class)
+            return (int) longValue;
+        if(primitive == long.class)
+            return longValue;
+        if(primitive == boolean.class)
+            return longValue != 0;
+        if(primitive == double.class)
+            return doubleValue;
+        if(primitive == float.class)
+            return (float) doubleValue;
+        if(primitive == byte.class)
+            return (byte) longValue;
+        if(primitive == short.class)
+            return (short) longValue;
+        return (char) longValue;
+    }
+    
+    /**
+     * Return the interpreted value as a {@code long}, unboxing it if needed
+     *
+     * @return The interpreted value, with {@code boolean}s being 1 or 0
+     *
+     * @throws IllegalStateException if the value held is not integral
+     */
+    public long getAsLong(){
+        if(primitive != null && primitive != float.class && primitive != double.class)
+            return longValue;
+        if(value instanceof Number)
+            return ((Number) value).longValue();
+        if(value instanceof Boolean)
+            return (Boolean) value ? 1 : 0;
+        if(value instanceof Character)
+            return (Character) value;
+        throw new IllegalStateException("not an integral value: " + get());
+    }
+    
+    /**
+     * Return the interpreted value as an {@code int}, unboxing it if needed
+     *
+     * @return The interpreted value
+     *
+     * @throws IllegalStateException if the value held is not integral
+     */
+    public int getAsInt(){
+        return (int) getAsLong();
+    }
+    
+    /**
+     * Return the interpreted value as a {@code boolean}, unboxing it if needed
+     *
+     * @return The interpreted value
+     *
+     * @throws IllegalStateException if the value held is not integral
+     */
+    public boolean getAsBoolean(){
+        return getAsLong() != 0;
+    }
+    
+    /**
+     * Return the interpreted value as a {@code double}, unboxing it if needed
+     *
+     * @return The interpreted value
+     *
+     * @throws IllegalStateException if the value held is not numeric
+     */
+    public double getAsDouble(){
+        if(primitive == float.class || primitive == double.class)
+            return doubleValue;
+        if(primitive != null)
+            return longValue;
+        if(value instanceof Number)
+            return ((Number) value).doubleValue();
+        throw new IllegalStateException("not a numeric value: " + value);
+    }
+    
+    /**
+     * Return the reason the last interpretation failed, formatting it if it has not been already
+     *
+     * @return The failure message, or {@code null} if interpretation did not fail
+     *
+     * @implNote A range given to {@link #fail(String, CharSequence, int, int)} is read at this point, so the input
+     * should not have changed since.
+     */
+    public @Nullable String getMessage(){
+        if(success)
+            return null;
+        if(message == null && format != null){
+            Object argument = detail;
+            if(detailEnd >= 0)
+                argument = ((CharSequence) detail).subSequence(detailStart, detailEnd);
+            message = String.format(format, argument);
+        }
+        return message;
+    }
+    
+    private boolean succeedIntegral(@NotNull Class<?> primitive, long value){
+        reset();
+        this.success = true;
+        this.primitive = primitive;
+        this.longValue = value;
+        return true;
+    }
+    
+    private boolean succeedFloating(@NotNull Class<?> primitive, double value){
+        reset();
+        this.success = true;
+        this.primitive = primitive;
+        this.doubleValue = value;
+        return true;
+    }
+    
+}
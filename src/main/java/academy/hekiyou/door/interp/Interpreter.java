@@ -1,5 +1,6 @@
 package academy.hekiyou.door.interp;
 
+import academy.hekiyou.door.exception.BadInterpretationException;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -20,4 +21,23 @@ public interface Interpreter<T> {
      */
     @NotNull T apply(@NotNull String input);
     
+    /**
+     * Attempts to apply the interpreter to the given input without throwing if the input cannot be interpreted.
+     *
+     * @param input  the input to attempt to interpret
+     * @param result the {@link InterpretResult} to store the interpreted object (or reason for failure) in
+     *
+     * @return {@code true} if the input was interpreted, {@code false} otherwise
+     *
+     * @implSpec The default implementation calls {@link #apply(String)} and catches any
+     * {@link BadInterpretationException}; interpreters that are expected to see bad input often should override it.
+     */
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        try {
+            return result.succeed(apply(input.toString()));
+        } catch(BadInterpretationException exc) {
+            return result.fail(String.valueOf(exc.getMessage()));
+        }
+    }
+    
 }
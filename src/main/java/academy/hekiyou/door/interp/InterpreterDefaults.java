@@ -1,14 +1,153 @@
 package academy.hekiyou.door.interp;
 
 import academy.hekiyou.door.exception.BadInterpretationException;
+import academy.hekiyou.door.model.Invoker;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
+/**
+ * The built-in {@link Interpreter}s for {@link String} and every primitive type, along with the opt-in one for
+ * {@link Invoker}.
+ * <p>
+ * Every built-in is backed by a hand-rolled parser that never throws on bad input; the throwing {@code toX} variants
+ * only exist for {@link Interpreter#apply(String)}. The parsers read directly from a range of a {@link CharSequence},
+ * so tokenized input never has to be copied into a {@link String} just to be parsed.
+ */
 public class InterpreterDefaults {
     
     private static final String NON_NUMERIC_INPUT_MESSAGE = "Non-numeric input: \"%s\"";
     private static final String NON_SINGLE_CHAR_INPUT_MESSAGE = "Non-single-character input: \"%s\"";
     private static final String NON_BOOLEAN_INPUT_MESSAGE = "Non-boolean input: \"%s\"";
     
+    /**
+     * The most significant digits a decimal may have before it is no longer considered for the fast path; any more
+     * and the mantissa could overflow a {@code long}
+     */
+    private static final int MAX_FAST_DIGITS = 18;
+    
+    /**
+     * The largest mantissas that a {@code double}/{@code float} can represent exactly
+     */
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    
+    /**
+     * Every power of ten that a {@code double}/{@code float} can represent exactly
+     */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    
+    static final Interpreter<String> STRING = new Interpreter<String>() {
+        @Override
+        public @NotNull String apply(@NotNull String input){
+            return InterpreterDefaults.toString(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return result.succeed(input.toString());
+        }
+    };
+    
+    static final Interpreter<Byte> BYTE = new Interpreter<Byte>() {
+        @Override
+        public @NotNull Byte apply(@NotNull String input){
+            return toByte(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryByte(input, result);
+        }
+    };
+    
+    static final Interpreter<Short> SHORT = new Interpreter<Short>() {
+        @Override
+        public @NotNull Short apply(@NotNull String input){
+            return toShort(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryShort(input, result);
+        }
+    };
+    
+    static final Interpreter<Character> CHAR = new Interpreter<Character>() {
+        @Override
+        public @NotNull Character apply(@NotNull String input){
+            return toChar(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryChar(input, result);
+        }
+    };
+    
+    static final IntInterpreter INT = new IntInterpreter() {
+        @Override
+        public int applyAsInt(@NotNull String input){
+            return toInt(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryInt(input, result);
+        }
+    };
+    
+    static final Interpreter<Float> FLOAT = new Interpreter<Float>() {
+        @Override
+        public @NotNull Float apply(@NotNull String input){
+            return toFloat(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryFloat(input, result);
+        }
+    };
+    
+    static final LongInterpreter LONG = new LongInterpreter() {
+        @Override
+        public long applyAsLong(@NotNull String input){
+            return toLong(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryLong(input, result);
+        }
+    };
+    
+    static final DoubleInterpreter DOUBLE = new DoubleInterpreter() {
+        @Override
+        public double applyAsDouble(@NotNull String input){
+            return toDouble(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryDouble(input, result);
+        }
+    };
+    
+    static final BooleanInterpreter BOOLEAN = new DefaultBooleanInterpreter();
+    
+    /**
+     * Resolves the name of a member of the channel the command is executed in (see
+     * {@link academy.hekiyou.door.model.Channel#getMember(CharSequence)})
+     */
+    static final ContextualInterpreter<Invoker> MEMBER = new ResolvingInterpreter<>(
+            (name, invoker, channel) -> channel.getMember(name), "member");
+    
     /**
      * Identity function for interpreting strings
      *
@@ -30,11 +169,9 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a byte
      */
     static byte toByte(@NotNull String strByte){
-        try {
-            return Byte.parseByte(strByte);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strByte), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        tryByte(strByte, result);
+        return (byte) orThrow(result);
     }
     
     /**
@@ -47,11 +184,9 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a short
      */
     static short toShort(@NotNull String strShort){
-        try {
-            return Short.parseShort(strShort);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strShort), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        tryShort(strShort, result);
+        return (short) orThrow(result);
     }
     
     /**
@@ -64,10 +199,9 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a char
      */
     static char toChar(@NotNull String strChar){
-        if(strChar.length() != 1){
-            throw new BadInterpretationException(String.format(NON_SINGLE_CHAR_INPUT_MESSAGE, strChar));
-        }
-        return strChar.charAt(0);
+        InterpretResult result = new InterpretResult();
+        tryChar(strChar, result);
+        return (char) orThrow(result);
     }
     
     /**
@@ -80,11 +214,9 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a int
      */
     static int toInt(@NotNull String strInt){
-        try {
-            return Integer.parseInt(strInt);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strInt), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        tryInt(strInt, result);
+        return (int) orThrow(result);
     }
     
     /**
@@ -97,11 +229,10 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a float
      */
     static float toFloat(@NotNull String strFloat){
-        try {
-            return Float.parseFloat(strFloat);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strFloat), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        if(!tryFloat(strFloat, result))
+            throw new BadInterpretationException(result.getMessage());
+        return (float) result.getAsDouble();
     }
     
     /**
@@ -114,11 +245,9 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a long
      */
     static long toLong(@NotNull String strLong){
-        try {
-            return Long.parseLong(strLong);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strLong), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        tryLong(strLong, result);
+        return orThrow(result);
     }
     
     /**
@@ -131,11 +260,10 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a double
      */
     static double toDouble(@NotNull String strDouble){
-        try {
-            return Double.parseDouble(strDouble);
-        } catch(NumberFormatException exc) {
-            throw new BadInterpretationException(String.format(NON_NUMERIC_INPUT_MESSAGE, strDouble), exc);
-        }
+        InterpretResult result = new InterpretResult();
+        if(!tryDouble(strDouble, result))
+            throw new BadInterpretationException(result.getMessage());
+        return result.getAsDouble();
     }
     
     /**
@@ -148,13 +276,465 @@ public class InterpreterDefaults {
      * @throws BadInterpretationException If the input could not be interpreted as a boolean
      */
     static boolean toBoolean(@NotNull String strBoolean){
-        if(strBoolean.equals("true")){
+        InterpretResult result = new InterpretResult();
+        tryBoolean(strBoolean, result);
+        return orThrow(result) != 0;
+    }
+    
+    /**
+     * Attempts to interpret the input as a byte
+     *
+     * @param input  The input representing a byte
+     * @param result The {@link InterpretResult} to store the byte in
+     *
+     * @return {@code true} if the input was a byte, {@code false} otherwise
+     */
+    static boolean tryByte(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryByte(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a byte
+     *
+     * @param input  The input containing a byte
+     * @param start  The index the byte starts at, inclusive
+     * @param end    The index the byte ends at, exclusive
+     * @param result The {@link InterpretResult} to store the byte in
+     *
+     * @return {@code true} if the range was a byte, {@code false} otherwise
+     */
+    public static boolean tryByte(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        return tryIntegral(input, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE, result)
+                && result.succeedAsByte((byte) result.getAsLong());
+    }
+    
+    /**
+     * Attempts to interpret the input as a short
+     *
+     * @param input  The input representing a short
+     * @param result The {@link InterpretResult} to store the short in
+     *
+     * @return {@code true} if the input was a short, {@code false} otherwise
+     */
+    static boolean tryShort(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryShort(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a short
+     *
+     * @param input  The input containing a short
+     * @param start  The index the short starts at, inclusive
+     * @param end    The index the short ends at, exclusive
+     * @param result The {@link InterpretResult} to store the short in
+     *
+     * @return {@code true} if the range was a short, {@code false} otherwise
+     */
+    public static boolean tryShort(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        return tryIntegral(input, start, end, Short.MIN_VALUE, Short.MAX_VALUE, result)
+                && result.succeedAsShort((short) result.getAsLong());
+    }
+    
+    /**
+     * Attempts to interpret the input as a char
+     *
+     * @param input  The input representing a char
+     * @param result The {@link InterpretResult} to store the char in
+     *
+     * @return {@code true} if the input was a single char, {@code false} otherwise
+     */
+    static boolean tryChar(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryChar(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a char
+     *
+     * @param input  The input containing a char
+     * @param start  The index the char starts at, inclusive
+     * @param end    The index the char ends at, exclusive
+     * @param result The {@link InterpretResult} to store the char in
+     *
+     * @return {@code true} if the range was a single char, {@code false} otherwise
+     */
+    public static boolean tryChar(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        if(end - start != 1)
+            return result.fail(NON_SINGLE_CHAR_INPUT_MESSAGE, input, start, end);
+        return result.succeedAsChar(input.charAt(start));
+    }
+    
+    /**
+     * Attempts to interpret the input as an int
+     *
+     * @param input  The input representing an int
+     * @param result The {@link InterpretResult} to store the int in
+     *
+     * @return {@code true} if the input was an int, {@code false} otherwise
+     */
+    static boolean tryInt(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryInt(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as an int
+     *
+     * @param input  The input containing an int
+     * @param start  The index the int starts at, inclusive
+     * @param end    The index the int ends at, exclusive
+     * @param result The {@link InterpretResult} to store the int in
+     *
+     * @return {@code true} if the range was an int, {@code false} otherwise
+     */
+    public static boolean tryInt(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        return tryIntegral(input, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, result)
+                && result.succeedAsInt((int) result.getAsLong());
+    }
+    
+    /**
+     * Attempts to interpret the input as a long
+     *
+     * @param input  The input representing a long
+     * @param result The {@link InterpretResult} to store the long in
+     *
+     * @return {@code true} if the input was a long, {@code false} otherwise
+     */
+    static boolean tryLong(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryLong(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a long
+     *
+     * @param input  The input containing a long
+     * @param start  The index the long starts at, inclusive
+     * @param end    The index the long ends at, exclusive
+     * @param result The {@link InterpretResult} to store the long in
+     *
+     * @return {@code true} if the range was a long, {@code false} otherwise
+     */
+    public static boolean tryLong(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        return tryIntegral(input, start, end, Long.MIN_VALUE, Long.MAX_VALUE, result);
+    }
+    
+    /**
+     * Attempts to interpret the input as a float
+     *
+     * @param input  The input representing a float
+     * @param result The {@link InterpretResult} to store the float in
+     *
+     * @return {@code true} if the input was a float, {@code false} otherwise
+     */
+    static boolean tryFloat(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryFloat(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a float
+     *
+     * @param input  The input containing a float
+     * @param start  The index the float starts at, inclusive
+     * @param end    The index the float ends at, exclusive
+     * @param result The {@link InterpretResult} to store the float in
+     *
+     * @return {@code true} if the range was a float, {@code false} otherwise
+     *
+     * @implNote Only decimals that fall outside of {@link #exactDecimal} are copied and given to
+     * {@link Float#parseFloat(String)}.
+     */
+    public static boolean tryFloat(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        if(!isDecimal(input, start, end))
+            return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+        double value = exactDecimal(input, start, end, true);
+        if(Double.isNaN(value))
+            return result.succeedAsFloat(Float.parseFloat(input.subSequence(start, end).toString()));
+        return result.succeedAsFloat((float) value);
+    }
+    
+    /**
+     * Attempts to interpret the input as a double
+     *
+     * @param input  The input representing a double
+     * @param result The {@link InterpretResult} to store the double in
+     *
+     * @return {@code true} if the input was a double, {@code false} otherwise
+     */
+    static boolean tryDouble(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryDouble(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a double
+     *
+     * @param input  The input containing a double
+     * @param start  The index the double starts at, inclusive
+     * @param end    The index the double ends at, exclusive
+     * @param result The {@link InterpretResult} to store the double in
+     *
+     * @return {@code true} if the range was a double, {@code false} otherwise
+     *
+     * @implNote Only decimals that fall outside of {@link #exactDecimal} are copied and given to
+     * {@link Double#parseDouble(String)}.
+     */
+    public static boolean tryDouble(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        if(!isDecimal(input, start, end))
+            return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+        double value = exactDecimal(input, start, end, false);
+        if(Double.isNaN(value))
+            return result.succeedAsDouble(Double.parseDouble(input.subSequence(start, end).toString()));
+        return result.succeedAsDouble(value);
+    }
+    
+    /**
+     * Attempts to interpret the input as a boolean; only exactly "true" and "false" are accepted
+     *
+     * @param input  The input representing a boolean
+     * @param result The {@link InterpretResult} to store the boolean in
+     *
+     * @return {@code true} if the input was a boolean, {@code false} otherwise
+     */
+    static boolean tryBoolean(@NotNull CharSequence input, @NotNull InterpretResult result){
+        return tryBoolean(input, 0, input.length(), result);
+    }
+    
+    /**
+     * Attempts to interpret {@code input[start, end)} as a boolean; only exactly "true" and "false" are accepted
+     *
+     * @param input  The input containing a boolean
+     * @param start  The index the boolean starts at, inclusive
+     * @param end    The index the boolean ends at, exclusive
+     * @param result The {@link InterpretResult} to store the boolean in
+     *
+     * @return {@code true} if the range was a boolean, {@code false} otherwise
+     */
+    public static boolean tryBoolean(@NotNull CharSequence input, int start, int end, @NotNull InterpretResult result){
+        if(regionEquals(input, start, end, "true"))
+            return result.succeedAsBoolean(true);
+        if(regionEquals(input, start, end, "false"))
+            return result.succeedAsBoolean(false);
+        return result.fail(NON_BOOLEAN_INPUT_MESSAGE, input, start, end);
+    }
+    
+    /**
+     * Parses a base-10 integer, accepting the same input as {@link Long#parseLong(String)} but bounded by
+     * {@code min} and {@code max}. The value is accumulated negatively so that {@code min} can be represented.
+     *
+     * @param input  The input containing an integer
+     * @param start  The index the integer starts at, inclusive
+     * @param end    The index the integer ends at, exclusive
+     * @param min    The smallest value accepted
+     * @param max    The largest value accepted
+     * @param result The {@link InterpretResult} to store the value in, as a long
+     *
+     * @return {@code true} if the range was an integer between {@code min} and {@code max}, {@code false} otherwise
+     */
+    private static boolean tryIntegral(@NotNull CharSequence input, int start, int end, long min, long max,
+                                       @NotNull InterpretResult result){
+        if(start >= end)
+            return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+        
+        int i = start;
+        boolean negative = false;
+        char first = input.charAt(i);
+        if(first == '-' || first == '+'){
+            negative = first == '-';
+            if(++i == end)
+                return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+        }
+        
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long value = 0;
+        for(; i < end; i++){
+            int digit = Character.digit(input.charAt(i), 10);
+            if(digit < 0 || value < multiplyLimit)
+                return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+            value *= 10;
+            if(value < limit + digit)
+                return result.fail(NON_NUMERIC_INPUT_MESSAGE, input, start, end);
+            value -= digit;
+        }
+        return result.succeedAsLong(negative ? value : -value);
+    }
+    
+    /**
+     * Checks if the range is a decimal floating point number that {@link Double#parseDouble(String)} will accept.
+     * Hexadecimal notation and surrounding whitespace are not accepted.
+     *
+     * @param input The input containing the number
+     * @param start The index the number starts at, inclusive
+     * @param end   The index the number ends at, exclusive
+     *
+     * @return {@code true} if the range can be parsed as a double without error, {@code false} otherwise
+     */
+    private static boolean isDecimal(@NotNull CharSequence input, int start, int end){
+        int i = start;
+        if(i < end && (input.charAt(i) == '-' || input.charAt(i) == '+'))
+            i++;
+        if(regionEquals(input, i, end, "NaN") || regionEquals(input, i, end, "Infinity"))
             return true;
-        } else if(strBoolean.equals("false")){
+        
+        int digits = 0;
+        for(; i < end && isDigit(input.charAt(i)); i++)
+            digits++;
+        if(i < end && input.charAt(i) == '.'){
+            for(i++; i < end && isDigit(input.charAt(i)); i++)
+                digits++;
+        }
+        if(digits == 0)
             return false;
+        
+        if(i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')){
+            i++;
+            if(i < end && (input.charAt(i) == '-' || input.charAt(i) == '+'))
+                i++;
+            int exponentDigits = 0;
+            for(; i < end && isDigit(input.charAt(i)); i++)
+                exponentDigits++;
+            if(exponentDigits == 0)
+                return false;
+        }
+        
+        char last = i < end ? input.charAt(i) : 0;
+        if(last == 'f' || last == 'F' || last == 'd' || last == 'D')
+            i++;
+        return i == end;
+    }
+    
+    /**
+     * Computes the value of a range already validated by {@link #isDecimal}, if it can be done exactly.
+     * <p>
+     * When both the significant digits and the power of ten are exactly representable, a single multiplication or
+     * division is correctly rounded, which gives the same answer as {@link Double#parseDouble(String)} (or
+     * {@link Float#parseFloat(String)} if {@code single} is set) without materializing the input. This covers the
+     * decimals people actually type, such as {@code 1.5}, {@code -0.25} or {@code 3e4}.
+     *
+     * @param input  The input containing the number
+     * @param start  The index the number starts at, inclusive
+     * @param end    The index the number ends at, exclusive
+     * @param single If the value is to be computed in {@code float} precision
+     *
+     * @return The value of the range, or {@link Double#NaN} if it could not be computed exactly
+     */
+    private static double exactDecimal(@NotNull CharSequence input, int start, int end, boolean single){
+        int i = start;
+        boolean negative = false;
+        char first = input.charAt(i);
+        if(first == '-' || first == '+'){
+            negative = first == '-';
+            i++;
+        }
+        if(input.charAt(i) == 'N')
+            return Double.NaN;
+        if(input.charAt(i) == 'I')
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        for(; i < end; i++){
+            char c = input.charAt(i);
+            if(c == '.'){
+                fraction = true;
+                continue;
+            }
+            if(!isDigit(c))
+                break;
+            
+            // leading zeros don't take up any precision
+            if(mantissa != 0 || c != '0'){
+                if(++digits > MAX_FAST_DIGITS)
+                    return Double.NaN;
+                mantissa = mantissa * 10 + (c - '0');
+            }
+            if(fraction)
+                exponent--;
+        }
+        
+        if(i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')){
+            boolean negativeExponent = input.charAt(++i) == '-';
+            if(input.charAt(i) == '-' || input.charAt(i) == '+')
+                i++;
+            int explicit = 0;
+            for(; i < end && isDigit(input.charAt(i)); i++){
+                explicit = explicit * 10 + (input.charAt(i) - '0');
+                if(explicit > DOUBLE_POWERS_OF_TEN.length + MAX_FAST_DIGITS)
+                    return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        
+        double value;
+        if(mantissa == 0){
+            value = 0;
+        } else if(single){
+            if(mantissa > MAX_EXACT_FLOAT_MANTISSA || Math.abs(exponent) >= FLOAT_POWERS_OF_TEN.length)
+                return Double.NaN;
+            value = exponent < 0 ? (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent]
+                    : (float) mantissa * FLOAT_POWERS_OF_TEN[exponent];
         } else {
-            throw new BadInterpretationException(String.format(NON_BOOLEAN_INPUT_MESSAGE, strBoolean));
+            if(mantissa > MAX_EXACT_DOUBLE_MANTISSA || Math.abs(exponent) >= DOUBLE_POWERS_OF_TEN.length)
+                return Double.NaN;
+            value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent]
+                    : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+        }
+        return negative ? -value : value;
+    }
+    
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+    
+    /**
+     * Checks if {@code input[start, end)} is exactly {@code word}
+     */
+    private static boolean regionEquals(@NotNull CharSequence input, int start, int end, @NotNull String word){
+        if(end - start != word.length())
+            return false;
+        for(int i = 0; i < word.length(); i++){
+            if(input.charAt(start + i) != word.charAt(i))
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Unwraps the integral value of a successful interpretation
+     *
+     * @param result The {@link InterpretResult} of the interpretation
+     *
+     * @return The integral value held by {@code result}
+     *
+     * @throws BadInterpretationException if the interpretation failed
+     */
+    private static long orThrow(@NotNull InterpretResult result){
+        if(!result.isSuccess())
+            throw new BadInterpretationException(result.getMessage());
+        return result.getAsLong();
+    }
+    
+    /**
+     * The built-in {@code boolean} interpreter, which also suggests the only two values it accepts
+     */
+    private static final class DefaultBooleanInterpreter implements BooleanInterpreter, Suggester {
+        
+        private static final Suggester VALUES = SortedSuggestions.of("false", "true");
+        
+        @Override
+        public boolean applyAsBoolean(@NotNull String input){
+            return toBoolean(input);
+        }
+        
+        @Override
+        public boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+            return tryBoolean(input, result);
+        }
+        
+        @Override
+        public @NotNull List<String> suggest(@NotNull CharSequence partial){
+            return VALUES.suggest(partial);
         }
+        
     }
     
 }
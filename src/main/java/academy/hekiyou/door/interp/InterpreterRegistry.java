@@ -0,0 +1,211 @@
+package academy.hekiyou.door.interp;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A set of {@link Interpreter}s, optionally layered over another set (its parent), i.e a
+ * {@link academy.hekiyou.door.house.House} registering interpreters of its own over the global ones held by
+ * {@link Interpreters}.
+ * <p>
+ * An interpreter is looked up for a type in the following order, where each step checks this registry before its
+ * parent:
+ * <ol>
+ *     <li>an interpreter registered for the type itself</li>
+ *     <li>an {@link EnumInterpreter}, if the type is an enum</li>
+ *     <li>the interpreter registered for the primitive of a wrapper type (i.e {@code int} for {@link Integer})</li>
+ *     <li>the interpreter registered for the single subtype closest to the type (i.e the {@link String} interpreter
+ *     for a {@link CharSequence}), since whatever it interprets can be passed as the type; if more than one subtype
+ *     is equally close, there is no interpreter</li>
+ * </ol>
+ *
+ * @implNote Registering is thread safe. Looking up is lock-free: what each type resolved to is cached in a
+ * {@link ClassValue}, along with the number of registrations (in this registry and its parents) it was resolved
+ * after. A registration makes every cached result stale, and a stale result is resolved again when it is next read.
+ */
+public final class InterpreterRegistry {
+    
+    /**
+     * The {@link EnumInterpreter} of each enum, shared by every registry
+     */
+    private static final ClassValue<Interpreter<?>> ENUMS = new ClassValue<Interpreter<?>>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected Interpreter<?> computeValue(Class<?> type){
+            return new EnumInterpreter(type.asSubclass(Enum.class));
+        }
+    };
+    
+    private final @Nullable InterpreterRegistry parent;
+    private final Map<Class<?>, Interpreter<?>> registered = new ConcurrentHashMap<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private final ClassValue<Cached> cache = new ClassValue<Cached>() {
+        @Override
+        protected Cached computeValue(Class<?> type){
+            return new Cached();
+        }
+    };
+    
+    /**
+     * Constructs an empty registry with no parent
+     */
+    public InterpreterRegistry(){
+        this(null);
+    }
+    
+    /**
+     * Constructs an empty registry layered over {@code parent}
+     *
+     * @param parent The registry to fall back on, or {@code null} for none
+     */
+    public InterpreterRegistry(@Nullable InterpreterRegistry parent){
+        this.parent = parent;
+    }
+    
+    /**
+     * Fetches an {@link Interpreter} to translate an object of type {@code T}
+     *
+     * @param klass the class of type {@code T}
+     * @param <T>   the type that requires an {@link Interpreter}
+     *
+     * @return An {@link Interpreter} instance, or {@code null} if none was found
+     *
+     * @throws IllegalArgumentException if {@code klass} is an enum whose constants cannot be told apart (see
+     *                                  {@link EnumInterpreter#EnumInterpreter(Class)})
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable Interpreter<T> of(@NotNull Class<T> klass){
+        Cached cached = cache.get(klass);
+        long stamp = stamp();
+        Resolved resolved = cached.resolved;
+        if(resolved == null || resolved.stamp != stamp){
+            // read the stamp first, so a registration made while resolving leaves this result stale
+            resolved = new Resolved(stamp, resolve(klass));
+            cached.resolved = resolved;
+        }
+        return (Interpreter<T>) resolved.interpreter;
+    }
+    
+    /**
+     * Registers an {@link Interpreter} to be associated with the specified {@link Class} in this registry, which
+     * later can be retrieved and used. An interpreter registered in a parent is shadowed, not replaced.
+     *
+     * @param klass       the {@link Class} to map as a key
+     * @param interpreter the {@link Interpreter} to map as a value
+     * @param <T>         the type of {@code klass}
+     *
+     * @throws IllegalArgumentException if {@code klass} is already mapped to an {@link Interpreter} in this registry
+     */
+    public <T> void register(@NotNull Class<T> klass, @NotNull Interpreter<T> interpreter){
+        Interpreter<?> existing = registered.putIfAbsent(klass, interpreter);
+        if(existing != null)
+            throw new IllegalArgumentException(String.format("%s is already registered to %s!",
+                    klass.getName(), existing));
+        registrations.incrementAndGet();
+    }
+    
+    /**
+     * Return the registry this one falls back on
+     *
+     * @return The parent registry, or {@code null} if there is none
+     */
+    public @Nullable InterpreterRegistry getParent(){
+        return parent;
+    }
+    
+    /**
+     * Return the number of registrations made in this registry and every parent, which only ever grows
+     */
+    private long stamp(){
+        long stamp = 0;
+        for(InterpreterRegistry registry = this; registry != null; registry = registry.parent)
+            stamp += registry.registrations.get();
+        return stamp;
+    }
+    
+    /**
+     * Return the interpreter registered for exactly {@code klass} in this registry or a parent
+     */
+    private @Nullable Interpreter<?> registeredFor(@NotNull Class<?> klass){
+        for(InterpreterRegistry registry = this; registry != null; registry = registry.parent){
+            Interpreter<?> interpreter = registry.registered.get(klass);
+            if(interpreter != null)
+                return interpreter;
+        }
+        return null;
+    }
+    
+    private @Nullable Interpreter<?> resolve(@NotNull Class<?> klass){
+        Interpreter<?> interpreter = registeredFor(klass);
+        if(interpreter != null)
+            return interpreter;
+        if(klass.isEnum())
+            return ENUMS.get(klass);
+        
+        Class<?> primitive = MethodType.methodType(klass).unwrap().returnType();
+        if(primitive != klass)
+            return registeredFor(primitive);
+        
+        // a primitive (or final class) has no subtypes to look through
+        if(klass.isPrimitive() || Modifier.isFinal(klass.getModifiers()))
+            return null;
+        return closestSubtype(klass);
+    }
+    
+    /**
+     * Finds the interpreter of the subtype of {@code klass} that is registered and closest to it, that is, one which
+     * no other registered subtype is a supertype of
+     */
+    private @Nullable Interpreter<?> closestSubtype(@NotNull Class<?> klass){
+        List<Class<?>> closest = new ArrayList<>();
+        for(InterpreterRegistry registry = this; registry != null; registry = registry.parent){
+            for(Class<?> type : registry.registered.keySet()){
+                if(type.isPrimitive() || !klass.isAssignableFrom(type) || closest.contains(type))
+                    continue;
+                
+                boolean covered = false;
+                for(Class<?> other : closest){
+                    if(other.isAssignableFrom(type)){
+                        covered = true;
+                        break;
+                    }
+                }
+                if(covered)
+                    continue;
+                closest.removeIf(type::isAssignableFrom);
+                closest.add(type);
+            }
+        }
+        return closest.size() == 1 ? registeredFor(closest.get(0)) : null;
+    }
+    
+    /**
+     * What a single type resolved to, and when
+     */
+    private static final class Cached {
+        
+        volatile @Nullable Resolved resolved;
+        
+    }
+    
+    private static final class Resolved {
+        
+        final long stamp;
+        final @Nullable Interpreter<?> interpreter;
+        
+        Resolved(long stamp, @Nullable Interpreter<?> interpreter){
+            this.stamp = stamp;
+            this.interpreter = interpreter;
+        }
+        
+    }
+    
+}
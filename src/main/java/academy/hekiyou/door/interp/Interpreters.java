@@ -1,27 +1,24 @@
 package academy.hekiyou.door.interp;
 
+import academy.hekiyou.door.model.Invoker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * A class to maintain the registry and retrieval of Interpreters.
+ * A class to maintain the registry and retrieval of the global Interpreters, which every
+ * {@link academy.hekiyou.door.house.House} falls back on.
  * <p>
- * Applications can call {@link Interpreters#register(Class, Interpreter)} to register new {@link Interpreter}s.
+ * Applications can call {@link Interpreters#register(Class, Interpreter)} to register new {@link Interpreter}s for
+ * every House, or register them with a single House's {@link InterpreterRegistry} instead.
+ *
+ * @see InterpreterRegistry
  */
 public class Interpreters {
     
     /**
-     * A {@link Class} to {@link Interpreter} mapping; used internally to manage {@link Interpreter}s,
-     *
-     * @implNote Not thread safe! {@link Interpreters#register(Class, Interpreter)} would not be synchronized, even
-     * if we swapped {@link HashMap} out for {@link ConcurrentHashMap}, as it would be possible for two
-     * threads to pass {@link Map#containsKey(Object)} and then have one thread overwrite the other.
+     * The global registry; used internally to manage {@link Interpreter}s
      */
-    private static final Map<Class<?>, Interpreter<?>> REGISTERED = new HashMap<>();
+    private static final InterpreterRegistry GLOBAL = new InterpreterRegistry();
     
     // register the default whenever Interpreters is access to ensure we at least have primitive support
     static{
@@ -29,20 +26,24 @@ public class Interpreters {
     }
     
     /**
-     * Fetches an {@link Interpreter} to translate an object of type {@code T}.
+     * Fetches a global {@link Interpreter} to translate an object of type {@code T}. An enum without a registered
+     * {@link Interpreter} is given an {@link EnumInterpreter}, which is created once and then reused.
      *
      * @param klass the class of type {@code T}
      * @param <T>   the type that requires an {@link Interpreter}
      *
      * @return An {@link Interpreter} instance, or {@code null} if none was found
+     *
+     * @throws IllegalArgumentException if {@code klass} is an enum whose constants cannot be told apart (see
+     *                                  {@link EnumInterpreter#EnumInterpreter(Class)})
+     * @see InterpreterRegistry#of(Class)
      */
-    @SuppressWarnings("unchecked")
     public static <T> @Nullable Interpreter<T> of(@NotNull Class<T> klass){
-        return (Interpreter<T>) REGISTERED.get(klass);
+        return GLOBAL.of(klass);
     }
     
     /**
-     * Registers an {@link Interpreter} to be associated with the specified {@link Class}, which later can be
+     * Registers an {@link Interpreter} to be associated with the specified {@link Class} globally, which later can be
      * retrieved and used.
      *
      * @param klass       the {@link Class} to map as a key
@@ -50,30 +51,50 @@ public class Interpreters {
      * @param <T>         the type of {@code klass}
      *
      * @throws IllegalArgumentException if {@code klass} is already mapped to an {@link Interpreter}
-     * @implNote Since the backing map is a {@link HashMap}, there is a possible race condition if registering
-     * multiple {@link Interpreter}s for the same {@link Class}, causing only the last call to be registered.
      */
     public static <T> void register(@NotNull Class<T> klass, @NotNull Interpreter<T> interpreter){
-        if(REGISTERED.containsKey(klass))
-            throw new IllegalArgumentException(String.format("%s is already registered to %s!",
-                    klass.getName(), String.valueOf(REGISTERED.get(klass))));
-        
-        REGISTERED.put(klass, interpreter);
+        GLOBAL.register(klass, interpreter);
+    }
+    
+    /**
+     * Return the global registry, which holds the defaults and everything registered through
+     * {@link #register(Class, Interpreter)}
+     *
+     * @return The global {@link InterpreterRegistry}
+     */
+    public static @NotNull InterpreterRegistry global(){
+        return GLOBAL;
+    }
+    
+    /**
+     * Return an interpreter resolving the name of a member of the channel a command is executed in (see
+     * {@link academy.hekiyou.door.model.Channel#getMember(CharSequence)}). It is not registered by default, so that
+     * applications with an {@link Invoker} interpreter of their own are unaffected; opt in with
+     * {@code register(Invoker.class, Interpreters.members())}, or with a single House's registry.
+     *
+     * @return A {@link ContextualInterpreter} of {@link Invoker}
+     */
+    public static @NotNull ContextualInterpreter<Invoker> members(){
+        return InterpreterDefaults.MEMBER;
     }
     
     /**
      * Registers the default interpreters, which cover {@link String} and any primitive data type.
+     *
+     * @implNote The defaults never throw from {@link Interpreter#tryApply(CharSequence, InterpretResult)}, and
+     * {@code int}, {@code long}, {@code double} and {@code boolean} are registered with their primitive
+     * specializations (i.e {@link IntInterpreter}).
      */
     private static void registerDefaults(){
-        register(String.class, InterpreterDefaults::toString);
-        register(byte.class, InterpreterDefaults::toByte);
-        register(short.class, InterpreterDefaults::toShort);
-        register(char.class, InterpreterDefaults::toChar);
-        register(int.class, InterpreterDefaults::toInt);
-        register(float.class, InterpreterDefaults::toFloat);
-        register(long.class, InterpreterDefaults::toLong);
-        register(double.class, InterpreterDefaults::toDouble);
-        register(boolean.class, InterpreterDefaults::toBoolean);
+        register(String.class, InterpreterDefaults.STRING);
+        register(byte.class, InterpreterDefaults.BYTE);
+        register(short.class, InterpreterDefaults.SHORT);
+        register(char.class, InterpreterDefaults.CHAR);
+        register(int.class, InterpreterDefaults.INT);
+        register(float.class, InterpreterDefaults.FLOAT);
+        register(long.class, InterpreterDefaults.LONG);
+        register(double.class, InterpreterDefaults.DOUBLE);
+        register(boolean.class, InterpreterDefaults.BOOLEAN);
     }
     
 }
@@ -0,0 +1,45 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.exception.BadInterpretationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A primitive specialization of {@link Interpreter} that interprets input as a {@code long} without boxing it.
+ */
+@FunctionalInterface
+public interface LongInterpreter extends Interpreter<Long> {
+    
+    /**
+     * Applies the interpreter to the given input.
+     *
+     * @param input the input to attempt to interpret
+     *
+     * @return The interpreted value, if possible.
+     */
+    long applyAsLong(@NotNull String input);
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Boxes the result of {@link #applyAsLong(String)}
+     */
+    @Override
+    default @NotNull Long apply(@NotNull String input){
+        return applyAsLong(input);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Stores the result of {@link #applyAsLong(String)} without boxing it
+     */
+    @Override
+    default boolean tryApply(@NotNull CharSequence input, @NotNull InterpretResult result){
+        try {
+            return result.succeedAsLong(applyAsLong(input.toString()));
+        } catch(BadInterpretationException exc) {
+            return result.fail(String.valueOf(exc.getMessage()));
+        }
+    }
+    
+}
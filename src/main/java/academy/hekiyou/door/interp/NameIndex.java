@@ -0,0 +1,141 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe index of entities by name, i.e the members of a {@link academy.hekiyou.door.model.Channel}, matched
+ * according to a {@link CaseFolding}.
+ * <p>
+ * Names are looked up by any {@link CharSequence}: the name is hashed as it is folded, so looking up an argument is a
+ * single hash lookup that neither copies the argument nor makes a lowercase copy of it.
+ *
+ * @param <E> the type of the entities
+ * @implNote Lookups probe the index with a key object kept per thread (and shared by every index), which is pointed
+ * at the name being looked up rather than created for it.
+ */
+public final class NameIndex<E> {
+    
+    /**
+     * The key each thread looks names up with, shared by every index
+     */
+    private static final ThreadLocal<Name> PROBES = ThreadLocal.withInitial(() -> new Name(CaseFolding.SENSITIVE));
+    
+    private final CaseFolding folding;
+    private final Map<Name, E> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Constructs an empty index
+     *
+     * @param folding How names are matched
+     */
+    public NameIndex(@NotNull CaseFolding folding){
+        this.folding = folding;
+    }
+    
+    /**
+     * Indexes {@code entity} under {@code name}, replacing any entity already under it
+     *
+     * @param name   The name of the entity
+     * @param entity The entity
+     *
+     * @return The entity previously under {@code name}, or {@code null} if there was none
+     */
+    public @Nullable E put(@NotNull String name, @NotNull E entity){
+        return entries.put(new Name(folding).set(name), entity);
+    }
+    
+    /**
+     * Removes {@code entity} from under {@code name}, if it is still the entity under it
+     *
+     * @param name   The name of the entity
+     * @param entity The entity
+     *
+     * @return {@code true} if the entity was removed, {@code false} otherwise
+     */
+    public boolean remove(@NotNull String name, @NotNull E entity){
+        return entries.remove(new Name(folding).set(name), entity);
+    }
+    
+    /**
+     * Finds the entity under {@code name}
+     *
+     * @param name The name to look up
+     *
+     * @return The entity, or {@code null} if there is none under {@code name}
+     */
+    public @Nullable E get(@NotNull CharSequence name){
+        Name probe = PROBES.get();
+        probe.folding = folding;
+        try {
+            return entries.get(probe.set(name));
+        } finally {
+            // don't keep the name reachable from the probe
+            probe.set("");
+        }
+    }
+    
+    /**
+     * Return the number of entities indexed
+     *
+     * @return The number of entities indexed
+     */
+    public int size(){
+        return entries.size();
+    }
+    
+    /**
+     * Return every entity indexed
+     *
+     * @return An unmodifiable view of the entities
+     */
+    public @NotNull Collection<E> values(){
+        return Collections.unmodifiableCollection(entries.values());
+    }
+    
+    /**
+     * A name, hashed and compared according to a {@link CaseFolding}
+     */
+    private static final class Name {
+        
+        private CaseFolding folding;
+        private CharSequence chars = "";
+        private int hash;
+        
+        Name(@NotNull CaseFolding folding){
+            this.folding = folding;
+        }
+        
+        @NotNull Name set(@NotNull CharSequence chars){
+            int h = 0;
+            for(int i = 0; i < chars.length(); i++)
+                h = 31 * h + folding.fold(chars.charAt(i));
+            this.chars = chars;
+            this.hash = h;
+            return this;
+        }
+        
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object other){
+            if(this == other)
+                return true;
+            if(!(other instanceof Name))
+                return false;
+            Name name = (Name) other;
+            return hash == name.hash && folding.matches(chars, name.chars);
+        }
+        
+    }
+    
+}
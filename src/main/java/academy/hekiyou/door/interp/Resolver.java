@@ -0,0 +1,29 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Finds the entity (i.e a member of a {@link Channel}) that a name refers to, in the context of a command's execution.
+ * Resolvers are meant to be backed by an index, such as a {@link NameIndex}, rather than a search.
+ *
+ * @param <T> the type of the entities
+ * @see ResolvingInterpreter
+ */
+@FunctionalInterface
+public interface Resolver<T> {
+    
+    /**
+     * Finds the entity {@code name} refers to
+     *
+     * @param name    the name typed, which may be a view of a larger input
+     * @param invoker the {@link Invoker} executing the command
+     * @param channel the {@link Channel} the command is executed in
+     *
+     * @return The entity, or {@code null} if there is none by that name
+     */
+    @Nullable T resolve(@NotNull CharSequence name, @NotNull Invoker invoker, @NotNull Channel channel);
+    
+}
@@ -0,0 +1,43 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link ContextualInterpreter} that interprets a name as the entity a {@link Resolver} finds for it, i.e
+ * {@code new ResolvingInterpreter<>(accounts::get, "account")} for a {@link NameIndex} of accounts.
+ *
+ * @param <T> the type of the entities
+ */
+public final class ResolvingInterpreter<T> implements ContextualInterpreter<T> {
+    
+    private final Resolver<? extends T> resolver;
+    private final String unknownMessage;
+    
+    /**
+     * Constructs an interpreter resolving names with {@code resolver}
+     *
+     * @param resolver The {@link Resolver} to find entities with
+     * @param noun     What the entities are called in the message sent for an unknown name, i.e {@code "member"}
+     */
+    public ResolvingInterpreter(@NotNull Resolver<? extends T> resolver, @NotNull String noun){
+        this.resolver = resolver;
+        this.unknownMessage = "Unknown " + noun.replace("%", "%%") + ": \"%s\"";
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec Never throws; a name with no entity fails {@code result}.
+     */
+    @Override
+    public boolean tryApply(@NotNull CharSequence input, @NotNull Invoker invoker, @NotNull Channel channel,
+                            @NotNull InterpretResult result){
+        T resolved = resolver.resolve(input, invoker, channel);
+        if(resolved == null)
+            return result.fail(unknownMessage, input, 0, input.length());
+        return result.succeed(resolved);
+    }
+    
+}
@@ -0,0 +1,105 @@
+package academy.hekiyou.door.interp;
+
+import academy.hekiyou.door.model.CaseFolding;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link Suggester} over a fixed set of values, which are sorted once so that suggesting is a range query.
+ * <p>
+ * Every value starting with a given prefix sits in a single run of the sorted array, found with two binary searches.
+ * The run is handed out as a view of the array rather than a copy, so suggesting never allocates more than the view.
+ */
+public final class SortedSuggestions implements Suggester {
+    
+    private final CaseFolding folding;
+    private final String[] sorted;
+    private final List<String> view;
+    
+    /**
+     * Constructs a suggester over the given values
+     *
+     * @param values  The values to suggest; duplicates are kept
+     * @param folding How values are matched against what has been typed
+     */
+    public SortedSuggestions(@NotNull Collection<String> values, @NotNull CaseFolding folding){
+        this.folding = folding;
+        this.sorted = values.toArray(new String[0]);
+        Arrays.sort(sorted, folding == CaseFolding.INSENSITIVE ? String.CASE_INSENSITIVE_ORDER
+                : Comparator.<String>naturalOrder());
+        this.view = Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+    
+    /**
+     * Constructs a case-insensitive suggester over the given values
+     *
+     * @param values The values to suggest
+     *
+     * @return A new {@link SortedSuggestions}
+     */
+    public static @NotNull SortedSuggestions of(@NotNull String... values){
+        return new SortedSuggestions(Arrays.asList(values), CaseFolding.INSENSITIVE);
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The list returned is an unmodifiable view of the sorted values.
+     */
+    @Override
+    public @NotNull List<String> suggest(@NotNull CharSequence partial){
+        int from = bound(partial, false);
+        int to = bound(partial, true);
+        return view.subList(from, to);
+    }
+    
+    /**
+     * Return the number of values held
+     *
+     * @return The number of values held
+     */
+    public int size(){
+        return sorted.length;
+    }
+    
+    /**
+     * Finds the first value that sorts after every value before the run starting with {@code prefix}, or (if
+     * {@code upper}) the first value that sorts after the run itself
+     */
+    private int bound(@NotNull CharSequence prefix, boolean upper){
+        int low = 0;
+        int high = sorted.length;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            int cmp = comparePrefix(sorted[mid], prefix);
+            if(cmp < 0 || (upper && cmp == 0))
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+    
+    /**
+     * Compares the start of {@code value} with {@code prefix}, in the order the values are sorted in
+     *
+     * @return 0 if {@code value} starts with {@code prefix}, otherwise a negative (positive) number if {@code value}
+     * sorts before (after) every value that does
+     */
+    private int comparePrefix(@NotNull String value, @NotNull CharSequence prefix){
+        int length = Math.min(value.length(), prefix.length());
+        for(int i = 0; i < length; i++){
+            char c = folding.fold(value.charAt(i));
+            char d = folding.fold(prefix.charAt(i));
+            if(c != d)
+                return c - d;
+        }
+        return value.length() < prefix.length() ? -1 : 0;
+    }
+    
+}
@@ -0,0 +1,27 @@
+package academy.hekiyou.door.interp;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An optional companion to {@link Interpreter} that suggests values for an argument that is still being typed, i.e
+ * for tab-completion.
+ * <p>
+ * An {@link Interpreter} that also implements {@link Suggester} has its suggestions offered for every parameter it
+ * interprets. Suggestions drawn from a fixed (or rarely changing) set of values are best kept in a
+ * {@link SortedSuggestions}, which answers a prefix with a range of an already sorted array.
+ */
+@FunctionalInterface
+public interface Suggester {
+    
+    /**
+     * Suggests values starting with what has been typed of an argument so far
+     *
+     * @param partial What has been typed of the argument so far, which may be empty
+     *
+     * @return A {@link List} of suggested values, which is empty if there are none
+     */
+    @NotNull List<String> suggest(@NotNull CharSequence partial);
+    
+}
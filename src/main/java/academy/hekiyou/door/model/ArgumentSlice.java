@@ -0,0 +1,93 @@
+package academy.hekiyou.door.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view of every argument of another {@link Arguments} from an offset onwards, so that a command can hand the rest of
+ * its arguments to another (i.e a branch) without copying them.
+ * <p>
+ * A slice can be pointed at other arguments by calling {@link #set(Arguments, int)} again, which lets a dispatcher
+ * reuse one rather than allocating one per dispatch.
+ *
+ * @implNote Not thread safe. A slice only reflects its backing arguments, and is invalidated along with them.
+ */
+public final class ArgumentSlice implements Arguments {
+    
+    private static final Arguments EMPTY = new ArgumentSlice();
+    
+    private Arguments backing = EMPTY;
+    private int offset;
+    
+    /**
+     * Constructs an empty slice
+     */
+    public ArgumentSlice(){
+    }
+    
+    /**
+     * Constructs a slice of {@code backing} from {@code offset} onwards
+     *
+     * @param backing The arguments to view
+     * @param offset  The index of the first argument to view
+     *
+     * @throws IndexOutOfBoundsException if {@code offset} is out of range
+     */
+    public ArgumentSlice(@NotNull Arguments backing, int offset){
+        set(backing, offset);
+    }
+    
+    /**
+     * Points this slice at {@code backing}, from {@code offset} onwards
+     *
+     * @param backing The arguments to view
+     * @param offset  The index of the first argument to view, from 0 to {@code backing.size()} (inclusive)
+     *
+     * @return This object, for convenience
+     *
+     * @throws IndexOutOfBoundsException if {@code offset} is out of range
+     */
+    public @NotNull ArgumentSlice set(@NotNull Arguments backing, int offset){
+        if(offset < 0 || offset > backing.size())
+            throw new IndexOutOfBoundsException("offset: " + offset + ", size: " + backing.size());
+        this.backing = backing;
+        this.offset = offset;
+        return this;
+    }
+    
+    /**
+     * Releases the arguments currently viewed
+     */
+    public void clear(){
+        backing = EMPTY;
+        offset = 0;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(){
+        return backing.size() - offset;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CharSequence get(int index){
+        if(index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        return backing.get(offset + index);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull CharSequence glob(int from){
+        if(from < 0 || from >= size())
+            throw new IndexOutOfBoundsException("index: " + from + ", size: " + size());
+        return backing.glob(offset + from);
+    }
+    
+}
@@ -0,0 +1,72 @@
+package academy.hekiyou.door.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the arguments given to a {@link Command}, as a read-only sequence of character views.
+ * <p>
+ * Unlike a {@link String} array, an implementation is free to hand out views into whatever it was built from
+ * (i.e a raw command line), so that arguments are never copied unless something actually needs a {@link String}.
+ *
+ * @implSpec Views are only guaranteed to be valid while the command is being dispatched; anything that needs to keep
+ * an argument around should call {@link CharSequence#toString()} on it.
+ */
+public interface Arguments {
+    
+    /**
+     * Return the number of arguments
+     *
+     * @return The number of arguments
+     */
+    int size();
+    
+    /**
+     * Return the argument at the given index
+     *
+     * @param index The index of the argument, from 0 to {@link #size()} (exclusive)
+     *
+     * @return A {@link CharSequence} view of the argument
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    @NotNull CharSequence get(int index);
+    
+    /**
+     * Return every argument from {@code from} onwards as a single sequence, as expected by
+     * {@link academy.hekiyou.door.annotations.GlobAll}.
+     *
+     * @param from The index of the first argument to glob
+     *
+     * @return A {@link CharSequence} view of the globbed arguments, with surrounding whitespace removed
+     *
+     * @throws IndexOutOfBoundsException if {@code from} is out of range
+     */
+    @NotNull CharSequence glob(int from);
+    
+    /**
+     * Return a view of every argument from {@code from} onwards, without copying any of them
+     *
+     * @param from The index of the first argument to view, from 0 to {@link #size()} (inclusive)
+     *
+     * @return An {@link Arguments} view, whose first argument is this one's argument at {@code from}
+     *
+     * @throws IndexOutOfBoundsException if {@code from} is out of range
+     * @see ArgumentSlice
+     */
+    default @NotNull Arguments slice(int from){
+        return new ArgumentSlice(this, from);
+    }
+    
+    /**
+     * Copies every argument into a new {@link String} array
+     *
+     * @return A {@link String} array containing each argument
+     */
+    default @NotNull String[] toArray(){
+        String[] array = new String[size()];
+        for(int i = 0; i < array.length; i++)
+            array[i] = get(i).toString();
+        return array;
+    }
+    
+}
@@ -0,0 +1,97 @@
+package academy.hekiyou.door.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Represents how command (and branch) names are matched against what a user typed.
+ * <p>
+ * Folding is applied character by character as the input is hashed and compared, so matching a name
+ * case-insensitively never requires a lowercase copy of the input.
+ */
+public enum CaseFolding {
+    
+    /**
+     * Names only match if every character is identical
+     */
+    SENSITIVE {
+        @Override
+        public char fold(char c){
+            return c;
+        }
+        
+        @Override
+        public <V> @NotNull Map<String, V> newMap(){
+            return new LinkedHashMap<>();
+        }
+    },
+    
+    /**
+     * Names match regardless of case, in the same manner as {@link String#equalsIgnoreCase(String)}
+     */
+    INSENSITIVE {
+        @Override
+        public char fold(char c){
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+        
+        @Override
+        public <V> @NotNull Map<String, V> newMap(){
+            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+    };
+    
+    /**
+     * Folds a single character into the form it is hashed and compared in
+     *
+     * @param c The character to fold
+     *
+     * @return The folded character
+     */
+    public abstract char fold(char c);
+    
+    /**
+     * Creates an empty, mutable map whose keys are matched according to this folding
+     *
+     * @param <V> The type of the values
+     *
+     * @return A new {@link Map}
+     */
+    public abstract <V> @NotNull Map<String, V> newMap();
+    
+    /**
+     * Creates a mutable copy of {@code map} whose keys are matched according to this folding
+     *
+     * @param map The map to copy
+     * @param <V> The type of the values
+     *
+     * @return A new {@link Map} holding every entry of {@code map}
+     */
+    public <V> @NotNull Map<String, V> copyOf(@NotNull Map<String, V> map){
+        Map<String, V> copy = newMap();
+        copy.putAll(map);
+        return copy;
+    }
+    
+    /**
+     * Checks if two names match according to this folding
+     *
+     * @param name  The first name
+     * @param other The second name
+     *
+     * @return {@code true} if the names match, {@code false} otherwise
+     */
+    public boolean matches(@NotNull CharSequence name, @NotNull CharSequence other){
+        if(name.length() != other.length())
+            return false;
+        for(int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            char d = other.charAt(i);
+            if(c != d && fold(c) != fold(d))
+                return false;
+        }
+        return true;
+    }
+    
+}
@@ -1,6 +1,7 @@
 package academy.hekiyou.door.model;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.stream.Stream;
 
@@ -25,6 +26,25 @@ public interface Channel extends Identifiable, MessageReceiver {
      */
     @NotNull Stream<Invoker> getAllMembers();
     
+    /**
+     * Finds the member of this channel with the given name, i.e an {@link Invoker} argument of a command.
+     *
+     * @param name the name of the member, compared without regard to case
+     *
+     * @return The member, or {@code null} if there is no member by that name
+     *
+     * @implSpec Scans {@link #getAllMembers()} on every call, which is linear in the number of members.
+     * @implNote Only a channel that overrides this is looked up in constant time: keep a
+     * {@link academy.hekiyou.door.interp.NameIndex} of the members, updated in {@link #addInvoker(Invoker)} and
+     * {@link #removeInvoker(Invoker)}, and return {@link academy.hekiyou.door.interp.NameIndex#get(CharSequence)}.
+     */
+    default @Nullable Invoker getMember(@NotNull CharSequence name){
+        return getAllMembers()
+                .filter(member -> CaseFolding.INSENSITIVE.matches(member.getName(), name))
+                .findFirst()
+                .orElse(null);
+    }
+    
     /**
      * Adds the given {@link Invoker} to this {@link Channel}.
      *
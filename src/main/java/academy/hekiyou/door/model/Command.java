@@ -4,6 +4,8 @@ import academy.hekiyou.door.annotations.RegisterCommand;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Parameter;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a command that can be executed by a user.
@@ -21,6 +23,36 @@ public interface Command {
     void execute(@NotNull String commandName, @NotNull Invoker invoker,
                  @NotNull Channel channel, @NotNull String[] arguments);
     
+    /**
+     * Attempts to execute the function this command points to, given environmental context (i.e {@link Invoker}),
+     * with arguments that may be views into the original input.
+     *
+     * @param commandName The current name of the command being executed (can be an alias)
+     * @param invoker     A {@link Invoker} representing who is executing the command
+     * @param channel     A {@link Channel} representing the channel this being
+     * @param arguments   The {@link Arguments} to execute with
+     *
+     * @implSpec The default implementation copies {@code commandName} and {@code arguments} and calls
+     * {@link #execute(String, Invoker, Channel, String[])}.
+     */
+    default void execute(@NotNull CharSequence commandName, @NotNull Invoker invoker,
+                         @NotNull Channel channel, @NotNull Arguments arguments){
+        execute(commandName.toString(), invoker, channel, arguments.toArray());
+    }
+    
+    /**
+     * Completes the argument currently being typed for this command
+     *
+     * @param arguments The arguments typed so far, the last of which is the one being completed (and may be empty)
+     *
+     * @return A {@link List} of possible values for the last argument, which is empty if there are none
+     *
+     * @implSpec The default implementation does not complete anything.
+     */
+    default @NotNull List<String> complete(@NotNull Arguments arguments){
+        return Collections.emptyList();
+    }
+    
     /**
      * Return the primary name for this command
      *
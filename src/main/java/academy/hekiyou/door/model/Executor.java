@@ -2,6 +2,8 @@ package academy.hekiyou.door.model;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+
 public interface Executor {
     
     /**
@@ -28,4 +30,20 @@ public interface Executor {
     boolean findAndExecute(@NotNull String commandName, @NotNull Invoker invoker,
                            @NotNull Channel chan, @NotNull String[] args);
     
+    /**
+     * Finds the appropriate command (if any) from a raw command line and executes it with the given Invoker and flow.
+     * The first token of {@code line} is the command name, and every following token is an argument.
+     * @param line The raw command line, i.e {@code "tp 5 2 3"}
+     * @param invoker The {@link Invoker} for the command
+     * @param chan The {@link Channel} the command was executed in
+     * @return {@code true} if the command was found and (was attempted to be) executed,
+     *         {@code false} otherwise
+     * @implSpec The default implementation splits {@code line} on whitespace and calls
+     *           {@link #findAndExecute(String, Invoker, Channel, String[])}; it does not understand quoting.
+     */
+    default boolean findAndExecute(@NotNull CharSequence line, @NotNull Invoker invoker, @NotNull Channel chan){
+        String[] tokens = line.toString().trim().split("\\s+");
+        return findAndExecute(tokens[0], invoker, chan, Arrays.copyOfRange(tokens, 1, tokens.length));
+    }
+    
 }
@@ -3,7 +3,7 @@ package academy.hekiyou.door.model;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
+import java.util.*;
 
 public interface Register {
     
@@ -31,6 +31,43 @@ public interface Register {
      */
     @NotNull Map<String, String> getRegistered();
     
+    /**
+     * Return a read-only view of every registered name (aliases included) and the {@link Command} it refers to
+     *
+     * @return A {@link Map} whose entries consist of the command name and the {@link Command} itself
+     *
+     * @implSpec The default implementation builds a copy from {@link #getRegistered()}. Whether the view reflects
+     * later changes is up to the implementation.
+     */
+    default @NotNull Map<String, Command> getCommands(){
+        Map<String, Command> commands = new HashMap<>();
+        for(String commandName : getRegistered().keySet()){
+            Command command = getCommand(commandName);
+            if(command != null)
+                commands.put(commandName, command);
+        }
+        return Collections.unmodifiableMap(commands);
+    }
+    
+    /**
+     * Return a read-only view of every registered name (aliases included) whose {@link Command} is owned by the
+     * given class
+     *
+     * @param owningClass The name of the owning class, as in {@link Command#getOwningClass()}
+     *
+     * @return A {@link Map} whose entries consist of the command name and the {@link Command} itself
+     *
+     * @implSpec The default implementation filters {@link #getCommands()}.
+     */
+    default @NotNull Map<String, Command> getCommandsOwnedBy(@NotNull String owningClass){
+        Map<String, Command> owned = new LinkedHashMap<>();
+        for(Map.Entry<String, Command> entry : getCommands().entrySet()){
+            if(entry.getValue().getOwningClass().equals(owningClass))
+                owned.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(owned);
+    }
+    
     /**
      * Fetches a {@link Command} from the register
      *
@@ -40,6 +77,58 @@ public interface Register {
      */
     @Nullable Command getCommand(@NotNull String commandName);
     
+    /**
+     * Fetches a {@link Command} from the register, given a name that may not be a {@link String}
+     *
+     * @param commandName The name of the command to get
+     *
+     * @return A {@link Command} instance, or {@code null} if none was found
+     *
+     * @implSpec The default implementation copies {@code commandName} into a {@link String} if it is not one.
+     */
+    default @Nullable Command getCommand(@NotNull CharSequence commandName){
+        return getCommand(commandName.toString());
+    }
+    
+    /**
+     * Signals that the registered commands are not expected to change, so that the register may compile them into a
+     * structure that is faster to look up. Commands may still be (un)registered afterwards.
+     *
+     * @implSpec The default implementation does nothing.
+     */
+    default void freeze(){
+    }
+    
+    /**
+     * Undoes {@link #freeze()}, i.e before (un)registering many commands at once
+     *
+     * @implSpec The default implementation does nothing.
+     */
+    default void thaw(){
+    }
+    
+    /**
+     * Return if the register is currently frozen
+     *
+     * @return {@code true} if {@link #freeze()} is in effect, {@code false} otherwise
+     *
+     * @implSpec The default implementation always returns {@code false}.
+     */
+    default boolean isFrozen(){
+        return false;
+    }
+    
+    /**
+     * Return how command names are matched by this register
+     *
+     * @return The {@link CaseFolding} used for lookups
+     *
+     * @implSpec The default implementation returns {@link CaseFolding#SENSITIVE}.
+     */
+    default @NotNull CaseFolding getCaseFolding(){
+        return CaseFolding.SENSITIVE;
+    }
+    
     /**
      * Unregisters the {@link Command} given
      *
@@ -47,4 +136,21 @@ public interface Register {
      */
     void unregister(@NotNull Command command);
     
+    /**
+     * Unregisters every name (aliases included) whose {@link Command} is owned by the given class
+     *
+     * @param owningClass The name of the owning class, as in {@link Command#getOwningClass()}
+     *
+     * @return A {@link List} of the names that were unregistered
+     *
+     * @implSpec The default implementation calls {@link #unregister(Command)} for every command found by
+     * {@link #getCommandsOwnedBy(String)}.
+     */
+    default @NotNull List<String> unregisterOwnedBy(@NotNull String owningClass){
+        Map<String, Command> owned = getCommandsOwnedBy(owningClass);
+        for(Command command : new HashSet<>(owned.values()))
+            unregister(command);
+        return new ArrayList<>(owned.keySet());
+    }
+    
 }
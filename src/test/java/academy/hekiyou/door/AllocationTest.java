@@ -0,0 +1,232 @@
+package academy.hekiyou.door;
+
+import academy.hekiyou.door.house.ConcurrentRegister;
+import academy.hekiyou.door.mock.MockModuleAllocation;
+import academy.hekiyou.door.mock.MockQuietInvoker;
+import academy.hekiyou.door.model.CaseFolding;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class AllocationTest {
+    
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    
+    private com.sun.management.ThreadMXBean threads;
+    private MockQuietInvoker mockInvoker;
+    
+    @Before
+    public void setup(){
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        
+        FrontDoor.initialize();
+        FrontDoor.load(MockModuleAllocation.class);
+        mockInvoker = new MockQuietInvoker();
+    }
+    
+    /**
+     * Return the number of bytes allocated on average by a single call to {@link FrontDoor#process}
+     */
+    private double bytesPerDispatch(String command, String[] args){
+        for(int i = 0; i < WARMUP_ITERATIONS; i++)
+            FrontDoor.process(command, mockInvoker, args);
+        
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for(int i = 0; i < MEASURED_ITERATIONS; i++)
+            FrontDoor.process(command, mockInvoker, args);
+        long after = threads.getThreadAllocatedBytes(thread);
+        
+        return (after - before) / (double) MEASURED_ITERATIONS;
+    }
+    
+    /**
+     * Return the number of bytes allocated on average by a single raw line given to {@link FrontDoor#process}
+     */
+    private double bytesPerDispatch(CharSequence line){
+        for(int i = 0; i < WARMUP_ITERATIONS; i++)
+            FrontDoor.process(line, mockInvoker);
+        
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for(int i = 0; i < MEASURED_ITERATIONS; i++)
+            FrontDoor.process(line, mockInvoker);
+        long after = threads.getThreadAllocatedBytes(thread);
+        
+        return (after - before) / (double) MEASURED_ITERATIONS;
+    }
+    
+    @Test
+    public void testDispatchDoesNotAllocate(){
+        String[] args = { "mock", "true", "42" };
+        Assert.assertTrue(FrontDoor.process("mockStore", mockInvoker, args));
+        Assert.assertEquals("mock", MockModuleAllocation.lastString);
+        Assert.assertEquals(42, MockModuleAllocation.lastInt);
+        Assert.assertTrue(MockModuleAllocation.lastBoolean);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStore", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testOptionalDispatchDoesNotAllocate(){
+        String[] args = { "mock", "false" };
+        Assert.assertTrue(FrontDoor.process("mockStore", mockInvoker, args));
+        Assert.assertEquals(5, MockModuleAllocation.lastInt);
+        Assert.assertFalse(MockModuleAllocation.lastBoolean);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStore", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testBadOptionalDispatchDoesNotAllocate(){
+        String[] args = { "mock", "true", "notAnInteger" };
+        Assert.assertTrue(FrontDoor.process("mockStore", mockInvoker, args));
+        Assert.assertEquals(5, MockModuleAllocation.lastInt);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStore", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testPrimitiveDispatchDoesNotAllocate(){
+        String[] args = { "2147483647", "-9223372036854775808" };
+        Assert.assertTrue(FrontDoor.process("mockStorePrimitives", mockInvoker, args));
+        Assert.assertEquals(Integer.MAX_VALUE, MockModuleAllocation.lastInt);
+        Assert.assertEquals(Long.MIN_VALUE, MockModuleAllocation.lastLong);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStorePrimitives", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testSingleGlobDoesNotAllocate(){
+        String[] args = { "hello" };
+        Assert.assertTrue(FrontDoor.process("mockStoreGlob", mockInvoker, args));
+        Assert.assertEquals("hello", MockModuleAllocation.lastString);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStoreGlob", args) < 1);
+    }
+    
+    @Test
+    public void testDecimalDispatchDoesNotAllocate(){
+        String[] args = { "-1234.5678", "0.1" };
+        Assert.assertTrue(FrontDoor.process("mockStoreDecimals", mockInvoker, args));
+        Assert.assertEquals(-1234.5678, MockModuleAllocation.lastDouble, 0);
+        Assert.assertEquals(0.1f, MockModuleAllocation.lastFloat, 0);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStoreDecimals", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testFrozenRawLineDispatchDoesNotAllocate(){
+        FrontDoor.freeze();
+        String line = "mockStorePrimitives 2147483647 -9223372036854775808";
+        Assert.assertTrue(FrontDoor.process(line, mockInvoker));
+        Assert.assertEquals(Integer.MAX_VALUE, MockModuleAllocation.lastInt);
+        Assert.assertEquals(Long.MIN_VALUE, MockModuleAllocation.lastLong);
+        Assert.assertFalse(FrontDoor.process("mockMissing 1 2", mockInvoker));
+        
+        Assert.assertTrue(bytesPerDispatch(line) < 1);
+        Assert.assertTrue(bytesPerDispatch("  mockStoreDecimals  -1234.5678  0.1  ") < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testCaseInsensitiveDispatchDoesNotAllocate(){
+        FrontDoor.initialize(new ConcurrentRegister(CaseFolding.INSENSITIVE));
+        FrontDoor.load(MockModuleAllocation.class);
+        FrontDoor.freeze();
+        
+        String line = "MOCKSTOREPRIMITIVES 42 -42";
+        Assert.assertTrue(FrontDoor.process(line, mockInvoker));
+        Assert.assertEquals(42, MockModuleAllocation.lastInt);
+        Assert.assertEquals(-42L, MockModuleAllocation.lastLong);
+        
+        Assert.assertTrue(bytesPerDispatch(line) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testBranchDispatchDoesNotAllocate(){
+        String[] args = { "set", "primitives", "2147483647", "-9223372036854775808" };
+        Assert.assertTrue(FrontDoor.process("mockStoreBranch", mockInvoker, args));
+        Assert.assertEquals(Integer.MAX_VALUE, MockModuleAllocation.lastInt);
+        Assert.assertEquals(Long.MIN_VALUE, MockModuleAllocation.lastLong);
+        Assert.assertTrue(bytesPerDispatch("mockStoreBranch", args) < 1);
+        
+        FrontDoor.freeze();
+        String line = "mockStoreBranch SET primitives 42 -42";
+        Assert.assertTrue(FrontDoor.process(line, mockInvoker));
+        Assert.assertEquals(42, MockModuleAllocation.lastInt);
+        Assert.assertEquals(-42L, MockModuleAllocation.lastLong);
+        Assert.assertTrue(bytesPerDispatch(line) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testOverloadDispatchDoesNotAllocate(){
+        String[] args = { "true", "-9223372036854775808" };
+        Assert.assertTrue(FrontDoor.process("mockStoreOverload", mockInvoker, args));
+        Assert.assertTrue(MockModuleAllocation.lastBoolean);
+        Assert.assertEquals(Long.MIN_VALUE, MockModuleAllocation.lastLong);
+        Assert.assertTrue(bytesPerDispatch("mockStoreOverload", args) < 1);
+        
+        args = new String[]{ "2147483647", "42" };
+        Assert.assertTrue(FrontDoor.process("mockStoreOverload", mockInvoker, args));
+        Assert.assertEquals(Integer.MAX_VALUE, MockModuleAllocation.lastInt);
+        Assert.assertEquals(42L, MockModuleAllocation.lastLong);
+        Assert.assertTrue(bytesPerDispatch("mockStoreOverload", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testPrimitiveArrayDispatchDoesNotBox(){
+        String[] args = { "1000", "-2000", "3000" };
+        Assert.assertTrue(FrontDoor.process("mockStoreInts", mockInvoker, args));
+        Assert.assertArrayEquals(new int[]{ 1000, -2000, 3000 }, MockModuleAllocation.lastInts);
+        
+        // only the int[3] itself; boxing each element would take another 16 bytes apiece
+        Assert.assertTrue(bytesPerDispatch("mockStoreInts", args) <= 32);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testFlagDispatchDoesNotAllocate(){
+        String[] args = { "-b", "mock", "--integer", "42" };
+        Assert.assertTrue(FrontDoor.process("mockStoreFlags", mockInvoker, args));
+        Assert.assertEquals("mock", MockModuleAllocation.lastString);
+        Assert.assertEquals(42, MockModuleAllocation.lastInt);
+        Assert.assertTrue(MockModuleAllocation.lastBoolean);
+        Assert.assertTrue(bytesPerDispatch("mockStoreFlags", args) < 1);
+        
+        // a bundled option's value is a view of the token it is attached to
+        Assert.assertTrue(FrontDoor.process("mockStoreFlags mock -bn7", mockInvoker));
+        Assert.assertEquals(7, MockModuleAllocation.lastInt);
+        // the string argument is copied out of the line either way, but the flags add nothing to that
+        Assert.assertTrue(bytesPerDispatch("mockStoreFlags mock -bn7") <= bytesPerDispatch("mockStore mock true 7"));
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+    @Test
+    public void testConstrainedDispatchDoesNotAllocate(){
+        String[] args = { "mock", "999", "0.25" };
+        Assert.assertTrue(FrontDoor.process("mockStoreConstrained", mockInvoker, args));
+        Assert.assertEquals("mock", MockModuleAllocation.lastString);
+        Assert.assertEquals(999, MockModuleAllocation.lastInt);
+        Assert.assertEquals(0.25, MockModuleAllocation.lastDouble, 0);
+        
+        Assert.assertTrue(bytesPerDispatch("mockStoreConstrained", args) < 1);
+        Assert.assertEquals(0, mockInvoker.getMessageCount());
+    }
+    
+}
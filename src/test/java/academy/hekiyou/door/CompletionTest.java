@@ -0,0 +1,265 @@
+package academy.hekiyou.door;
+
+import academy.hekiyou.door.house.BKTree;
+import academy.hekiyou.door.house.CommandLine;
+import academy.hekiyou.door.house.CompletionIndex;
+import academy.hekiyou.door.house.House;
+import academy.hekiyou.door.house.HouseCommand;
+import academy.hekiyou.door.house.SimpleRegister;
+import academy.hekiyou.door.interp.SortedSuggestions;
+import academy.hekiyou.door.mock.MockModuleCaseSensitive;
+import academy.hekiyou.door.mock.MockModuleRegister;
+import academy.hekiyou.door.mock.MockModuleSimpleCommands;
+import academy.hekiyou.door.model.CaseFolding;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class CompletionTest {
+    
+    @Before
+    public void setup(){
+        FrontDoor.initialize();
+    }
+    
+    @Test
+    public void testIndex(){
+        List<String> names = Arrays.asList("perm", "permit", "ping", "tp");
+        CompletionIndex index = new CompletionIndex(names, CaseFolding.SENSITIVE);
+        Assert.assertEquals(4, index.size());
+        Assert.assertEquals(names, index.complete(""));
+        Assert.assertEquals(Arrays.asList("perm", "permit", "ping"), index.complete("p"));
+        Assert.assertEquals(Arrays.asList("perm", "permit"), index.complete("per"));
+        Assert.assertEquals(Collections.singletonList("permit"), index.complete("permit"));
+        Assert.assertEquals(Collections.emptyList(), index.complete("permits"));
+        Assert.assertEquals(Collections.emptyList(), index.complete("P"));
+        
+        index.add("pet");
+        Assert.assertEquals(Arrays.asList("perm", "permit", "pet", "ping"), index.complete("p"));
+        Assert.assertTrue(index.remove("perm"));
+        Assert.assertFalse(index.remove("perm"));
+        Assert.assertFalse(index.remove("pe"));
+        Assert.assertEquals(Arrays.asList("permit", "pet"), index.complete("pe"));
+        Assert.assertTrue(index.remove("permit"));
+        Assert.assertTrue(index.remove("pet"));
+        Assert.assertEquals(Collections.singletonList("ping"), index.complete("p"));
+        Assert.assertEquals(Collections.emptyList(), index.complete("pe"));
+        Assert.assertEquals(2, index.size());
+    }
+    
+    @Test
+    public void testIndexCache(){
+        CompletionIndex index = new CompletionIndex(Arrays.asList("perm", "permit", "tp"), CaseFolding.SENSITIVE);
+        List<String> cached = index.complete("pe");
+        Assert.assertSame(cached, index.complete("pe"));
+        
+        // a change elsewhere in the trie keeps the cached completions
+        index.add("tpa");
+        Assert.assertSame(cached, index.complete("pe"));
+        Assert.assertEquals(Arrays.asList("tp", "tpa"), index.complete("t"));
+        
+        // but a change below the prefix does not
+        index.add("personal");
+        Assert.assertNotSame(cached, index.complete("pe"));
+        Assert.assertEquals(Arrays.asList("perm", "permit", "personal"), index.complete("pe"));
+    }
+    
+    @Test
+    public void testIndexCaseFolding(){
+        CompletionIndex index = new CompletionIndex(Arrays.asList("Perm", "permIt"), CaseFolding.INSENSITIVE);
+        Assert.assertEquals(Arrays.asList("Perm", "permIt"), index.complete("PERM"));
+        
+        // names matching under the folding are respelled rather than duplicated
+        index.add("PERM");
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(Arrays.asList("PERM", "permIt"), index.complete("p"));
+        Assert.assertTrue(index.remove("perm"));
+        Assert.assertEquals(Collections.singletonList("permIt"), index.complete("pErM"));
+    }
+    
+    @Test
+    public void testCompleteCommands(){
+        FrontDoor.load(MockModuleSimpleCommands.class);
+        Assert.assertEquals(Arrays.asList("mockAlias", "mockArgument"), FrontDoor.complete("mockA"));
+        Assert.assertEquals(Arrays.asList("mockChannel", "mockCommand"), FrontDoor.complete("mockC"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("nothing"));
+        Assert.assertEquals(9, FrontDoor.complete("").size());
+        Assert.assertEquals(9, FrontDoor.complete("  ").size());
+        
+        // arguments of commands that do not complete anything
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("mockArgument "));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("nothing "));
+    }
+    
+    @Test
+    public void testCompleteBranches(){
+        FrontDoor.load(MockModuleSimpleCommands.class);
+        Assert.assertEquals(Arrays.asList("branch1", "branch2", "branch3"), FrontDoor.complete("mockBranch "));
+        Assert.assertEquals(Arrays.asList("branch1", "branch2", "branch3"), FrontDoor.complete("mockBranch BR"));
+        Assert.assertEquals(Collections.singletonList("branch2"), FrontDoor.complete("mockBranch branch2"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("mockBranch branch2 "));
+        
+        FrontDoor.load(MockModuleCaseSensitive.class);
+        Assert.assertEquals(Arrays.asList("Branch", "branch"), FrontDoor.complete("mockSensitive "));
+        Assert.assertEquals(Collections.singletonList("Branch"), FrontDoor.complete("mockSensitive B"));
+    }
+    
+    @Test
+    public void testCompleteAfterUnload(){
+        House house = new House(new SimpleRegister());
+        house.load(MockModuleSimpleCommands.class);
+        house.load(MockModuleRegister.class);
+        Assert.assertEquals(Arrays.asList("mockFirst", "mockFirstAlias"), house.complete("mockF"));
+        Assert.assertEquals(Arrays.asList("mockSecond", "mockSecondAlias", "mockShared"), house.complete("mockS"));
+        
+        house.unload(MockModuleRegister.class);
+        Assert.assertEquals(Collections.emptyList(), house.complete("mockF"));
+        Assert.assertEquals(Collections.emptyList(), house.complete("mockS"));
+        Assert.assertEquals(Arrays.asList("mockAlias", "mockArgument"), house.complete("mockA"));
+        
+        house.unload(MockModuleSimpleCommands.class);
+        Assert.assertEquals(Collections.emptyList(), house.complete(""));
+    }
+
+    @Test
+    public void testSortedSuggestions(){
+        SortedSuggestions suggestions = new SortedSuggestions(Arrays.asList("Zeta", "alpha", "Alpine", "beta", "al"),
+                CaseFolding.INSENSITIVE);
+        Assert.assertEquals(5, suggestions.size());
+        Assert.assertEquals(Arrays.asList("al", "alpha", "Alpine", "beta", "Zeta"), suggestions.suggest(""));
+        Assert.assertEquals(Arrays.asList("al", "alpha", "Alpine"), suggestions.suggest("AL"));
+        Assert.assertEquals(Arrays.asList("alpha", "Alpine"), suggestions.suggest("alp"));
+        Assert.assertEquals(Collections.singletonList("Zeta"), suggestions.suggest("z"));
+        Assert.assertEquals(Collections.emptyList(), suggestions.suggest("alphabet"));
+        Assert.assertEquals(Collections.emptyList(), suggestions.suggest("c"));
+        
+        SortedSuggestions sensitive = new SortedSuggestions(Arrays.asList("b", "B", "a", "A"), CaseFolding.SENSITIVE);
+        Assert.assertEquals(Arrays.asList("A", "B", "a", "b"), sensitive.suggest(""));
+        Assert.assertEquals(Collections.singletonList("B"), sensitive.suggest("B"));
+    }
+    
+    @Test
+    public void testParameterIndex(){
+        SimpleRegister register = new SimpleRegister();
+        new House(register).load(MockModuleSimpleCommands.class);
+        HouseCommand mixed = (HouseCommand) register.getCommand("mockMixed");
+        HouseCommand glob = (HouseCommand) register.getCommand("mockGlob");
+        CommandLine line = new CommandLine();
+        
+        // mockMixed <str> [integer=5678] <bool>
+        Assert.assertEquals(0, mixed.getParameterIndex(line.tokenizePartial("mockMixed "), 0));
+        Assert.assertEquals(1, mixed.getParameterIndex(line.tokenizePartial("mockMixed a "), 1));
+        Assert.assertEquals(2, mixed.getParameterIndex(line.tokenizePartial("mockMixed a 5 "), 2));
+        // the optional integer is skipped when what was typed for it isn't one, so the boolean was already given
+        Assert.assertEquals(-1, mixed.getParameterIndex(line.tokenizePartial("mockMixed a true "), 2));
+        Assert.assertEquals(-1, mixed.getParameterIndex(line.tokenizePartial("mockMixed a 5 true "), 3));
+        
+        // everything belongs to a glob
+        Assert.assertEquals(0, glob.getParameterIndex(line.tokenizePartial("mockGlob a b c"), 2));
+    }
+    
+    @Test
+    public void testCompleteArguments(){
+        FrontDoor.load(MockModuleSimpleCommands.class);
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("mockMixed "));
+        // the optional integer may be skipped, so the boolean after it is suggested for
+        Assert.assertEquals(Arrays.asList("false", "true"), FrontDoor.complete("mockMixed a "));
+        Assert.assertEquals(Collections.singletonList("true"), FrontDoor.complete("mockMixed a T"));
+        Assert.assertEquals(Collections.singletonList("false"), FrontDoor.complete("mockMixed a 5 f"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.complete("mockMixed a 5 true "));
+    }
+
+    @Test
+    public void testNearest(){
+        List<String> names = Arrays.asList("teleport", "tp", "tpa", "tell", "kick", "kill", "help", "home");
+        BKTree tree = new BKTree(names, CaseFolding.SENSITIVE);
+        Assert.assertEquals(8, tree.size());
+        Assert.assertEquals(Arrays.asList("tp", "tpa"), tree.nearest("tpp", 1, 5));
+        Assert.assertEquals(Collections.singletonList("tp"), tree.nearest("tpp", 1, 1));
+        Assert.assertEquals(Arrays.asList("kill", "kick"), tree.nearest("kil", 2, 5));
+        Assert.assertEquals(Arrays.asList("help", "tell"), tree.nearest("hell", 1, 5));
+        Assert.assertEquals(Collections.singletonList("teleport"), tree.nearest("telport", 2, 5));
+        Assert.assertEquals(Collections.emptyList(), tree.nearest("xyzzy", 2, 5));
+        Assert.assertEquals(Collections.emptyList(), tree.nearest("TP", 1, 5));
+        
+        Assert.assertTrue(tree.remove("tp"));
+        Assert.assertFalse(tree.remove("tp"));
+        Assert.assertEquals(Collections.singletonList("tpa"), tree.nearest("tpp", 1, 5));
+        tree.add("tp");
+        Assert.assertEquals(Arrays.asList("tp", "tpa"), tree.nearest("tpp", 1, 5));
+        
+        // removing most names rebuilds the tree out of those left
+        for(String name : names){
+            if(!name.equals("home"))
+                Assert.assertTrue(tree.remove(name));
+        }
+        Assert.assertEquals(1, tree.size());
+        Assert.assertEquals(Collections.singletonList("home"), tree.nearest("hom", 1, 5));
+        
+        BKTree insensitive = new BKTree(names, CaseFolding.INSENSITIVE);
+        Assert.assertEquals(Arrays.asList("tp", "tpa"), insensitive.nearest("TPP", 1, 5));
+    }
+    
+    @Test
+    public void testNearestMatchesScan(){
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for(int i = 0; i < 500; i++){
+            char[] name = new char[3 + random.nextInt(6)];
+            for(int j = 0; j < name.length; j++)
+                name[j] = (char) ('a' + random.nextInt(6));
+            names.add(new String(name));
+        }
+        BKTree tree = new BKTree(names, CaseFolding.SENSITIVE);
+        
+        for(int i = 0; i < 200; i++){
+            String query = names.get(random.nextInt(names.size())).substring(1) + (char) ('a' + random.nextInt(6));
+            // every name within distance 2 must be found, just as if every name was compared
+            Set<String> expected = new TreeSet<>();
+            for(String name : names){
+                if(levenshtein(query, name) <= 2)
+                    expected.add(name);
+            }
+            Assert.assertEquals(expected, new TreeSet<>(tree.nearest(query, 2, Integer.MAX_VALUE)));
+        }
+    }
+    
+    @Test
+    public void testSuggest(){
+        FrontDoor.load(MockModuleSimpleCommands.class);
+        Assert.assertEquals(Collections.singletonList("mockAlias"), FrontDoor.suggest("mockAlais"));
+        Assert.assertEquals(Collections.singletonList("mockGlob"), FrontDoor.suggest("mockGlb a b c"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.suggest("nothingClose"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.suggest("mockGlob"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.suggest(""));
+        
+        // a mistyped branch suggests branches
+        Assert.assertEquals(Arrays.asList("branch1", "branch2", "branch3"), FrontDoor.suggest("mockBranch branch"));
+        Assert.assertEquals(Arrays.asList("branch2", "branch1", "branch3"), FrontDoor.suggest("mockBranch brnch2"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.suggest("mockBranch branch2"));
+        
+        House house = new House(new SimpleRegister());
+        house.load(MockModuleRegister.class);
+        Assert.assertEquals(Collections.singletonList("mockFirst"), house.suggest("mockFist", 1, 5));
+        house.unload(MockModuleRegister.class);
+        Assert.assertEquals(Collections.emptyList(), house.suggest("mockFist", 1, 5));
+    }
+    
+    private static int levenshtein(String a, String b){
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for(int i = 0; i <= a.length(); i++){
+            for(int j = 0; j <= b.length(); j++){
+                if(i == 0 || j == 0){
+                    distance[i][j] = i + j;
+                } else {
+                    int substitute = distance[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                    distance[i][j] = Math.min(substitute, Math.min(distance[i - 1][j], distance[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distance[a.length()][b.length()];
+    }
+    
+}
@@ -1,13 +1,30 @@
 package academy.hekiyou.door;
 
 import academy.hekiyou.door.exception.BadInterpretationException;
-import academy.hekiyou.door.interp.Interpreter;
-import academy.hekiyou.door.interp.Interpreters;
+import academy.hekiyou.door.house.CommandLine;
+import academy.hekiyou.door.interp.*;
+import academy.hekiyou.door.mock.MockChannel;
+import academy.hekiyou.door.mock.MockInvoker;
+import academy.hekiyou.door.mock.MockModuleAccounts;
+import academy.hekiyou.door.mock.MockModuleEnums;
+import academy.hekiyou.door.mock.MockModuleNoInterpreter;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class InterpreterTest {
     
@@ -37,6 +54,19 @@ public class InterpreterTest {
         Assert.assertEquals(9223372036854775807L, (long)longInterp.apply("9223372036854775807"));
     }
     
+    @Test
+    public void testPrimitiveInterpreters(){
+        Assert.assertTrue(Interpreters.of(int.class) instanceof IntInterpreter);
+        Assert.assertTrue(Interpreters.of(long.class) instanceof LongInterpreter);
+        Assert.assertTrue(Interpreters.of(double.class) instanceof DoubleInterpreter);
+        Assert.assertTrue(Interpreters.of(boolean.class) instanceof BooleanInterpreter);
+        
+        Assert.assertEquals(-2147483648, ((IntInterpreter) Interpreters.of(int.class)).applyAsInt("-2147483648"));
+        Assert.assertEquals(42L, ((LongInterpreter) Interpreters.of(long.class)).applyAsLong("42"));
+        Assert.assertEquals(0.5, ((DoubleInterpreter) Interpreters.of(double.class)).applyAsDouble("0.5"), 0);
+        Assert.assertTrue(((BooleanInterpreter) Interpreters.of(boolean.class)).applyAsBoolean("true"));
+    }
+    
     @Test(expected = BadInterpretationException.class)
     public void testBadInterpretation(){
         Interpreter<Byte> byteInterp = Objects.requireNonNull(Interpreters.of(byte.class));
@@ -44,6 +74,95 @@ public class InterpreterTest {
         Assert.fail("String was interpreted as bytes");
     }
     
+    @Test
+    public void testTryInterpretation(){
+        InterpretResult result = new InterpretResult();
+        
+        Assert.assertTrue(Interpreters.of(int.class).tryApply("-2147483648", result));
+        Assert.assertEquals(Integer.MIN_VALUE, result.getAsInt());
+        Assert.assertTrue(Interpreters.of(byte.class).tryApply("+127", result));
+        Assert.assertEquals((byte) 127, result.get());
+        Assert.assertTrue(Interpreters.of(double.class).tryApply("-1.5e3", result));
+        Assert.assertEquals(-1500.0, result.getAsDouble(), 0);
+        Assert.assertTrue(Interpreters.of(boolean.class).tryApply("false", result));
+        Assert.assertFalse(result.getAsBoolean());
+        
+        // none of these should throw
+        Assert.assertFalse(Interpreters.of(byte.class).tryApply("128", result));
+        Assert.assertFalse(Interpreters.of(int.class).tryApply("2147483648", result));
+        Assert.assertFalse(Interpreters.of(long.class).tryApply("-", result));
+        Assert.assertFalse(Interpreters.of(long.class).tryApply("", result));
+        Assert.assertFalse(Interpreters.of(double.class).tryApply("1e", result));
+        Assert.assertFalse(Interpreters.of(double.class).tryApply(".", result));
+        Assert.assertFalse(Interpreters.of(char.class).tryApply("ab", result));
+        Assert.assertFalse(Interpreters.of(boolean.class).tryApply("True", result));
+        
+        Assert.assertFalse(Interpreters.of(int.class).tryApply("mock", result));
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals("Non-numeric input: \"mock\"", result.getMessage());
+    }
+    
+    @Test
+    public void testRangeInterpretation(){
+        InterpretResult result = new InterpretResult();
+        String line = "tp -12 true 3.75 x";
+        
+        Assert.assertTrue(InterpreterDefaults.tryInt(line, 3, 6, result));
+        Assert.assertEquals(-12, result.getAsInt());
+        Assert.assertTrue(InterpreterDefaults.tryLong(line, 4, 6, result));
+        Assert.assertEquals(12L, result.getAsLong());
+        Assert.assertTrue(InterpreterDefaults.tryBoolean(line, 7, 11, result));
+        Assert.assertTrue(result.getAsBoolean());
+        Assert.assertTrue(InterpreterDefaults.tryDouble(line, 12, 16, result));
+        Assert.assertEquals(3.75, result.getAsDouble(), 0);
+        Assert.assertTrue(InterpreterDefaults.tryFloat(line, 12, 16, result));
+        Assert.assertEquals(3.75f, (Float) result.get(), 0);
+        Assert.assertTrue(InterpreterDefaults.tryChar(line, 17, 18, result));
+        Assert.assertEquals('x', result.get());
+        
+        // the range must match exactly; nothing around it may leak in
+        Assert.assertFalse(InterpreterDefaults.tryBoolean(line, 7, 12, result));
+        Assert.assertEquals("Non-boolean input: \"true \"", result.getMessage());
+        Assert.assertFalse(InterpreterDefaults.tryInt(line, 0, 6, result));
+        Assert.assertEquals("Non-numeric input: \"tp -12\"", result.getMessage());
+        Assert.assertFalse(InterpreterDefaults.tryShort(line, 3, 3, result));
+        Assert.assertFalse(InterpreterDefaults.tryByte(line, 3, 4, result));
+    }
+    
+    @Test
+    public void testDecimalInterpretation(){
+        InterpretResult result = new InterpretResult();
+        String[] inputs = {
+                "0", "-0", "+0.0", "1", "1.5", "-0.25", ".5", "5.", "3e4", "1E-3", "2.5f", "2.5D", "0.1", "0.3",
+                "123456.789", "9007199254740993", "1e22", "1e23", "4.9e-324", "1.7976931348623157e308", "1e400",
+                "0.000000000000000000000000000001", "12345678901234567890", "NaN", "-Infinity", "Infinity"
+        };
+        for(String input : inputs){
+            Assert.assertTrue(input, InterpreterDefaults.tryDouble(input, 0, input.length(), result));
+            Assert.assertEquals(input, Double.doubleToLongBits(Double.parseDouble(input)),
+                    Double.doubleToLongBits(result.getAsDouble()));
+            
+            Assert.assertTrue(input, InterpreterDefaults.tryFloat(input, 0, input.length(), result));
+            Assert.assertEquals(input, Float.floatToIntBits(Float.parseFloat(input)),
+                    Float.floatToIntBits((Float) result.get()));
+        }
+        
+        // the fast path must be correctly rounded, so compare against the JDK for plenty of random decimals
+        Random random = new Random(42);
+        for(int i = 0; i < 100_000; i++){
+            String input = random.nextInt(100_000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(30) - 15);
+            Assert.assertTrue(input, InterpreterDefaults.tryDouble(input, 0, input.length(), result));
+            Assert.assertEquals(input, Double.parseDouble(input), result.getAsDouble(), 0);
+            Assert.assertTrue(input, InterpreterDefaults.tryFloat(input, 0, input.length(), result));
+            Assert.assertEquals(input, Float.parseFloat(input), (Float) result.get(), 0);
+        }
+        
+        Assert.assertFalse(InterpreterDefaults.tryDouble("0x1p3", 0, 5, result));
+        Assert.assertFalse(InterpreterDefaults.tryDouble(" 1.5", 0, 4, result));
+        Assert.assertFalse(InterpreterDefaults.tryDouble("1.5.", 0, 4, result));
+        Assert.assertFalse(InterpreterDefaults.tryFloat("e5", 0, 2, result));
+    }
+    
     @Test
     public void testCustomInterpreter(){
         UUID testUUID = UUID.randomUUID();
@@ -55,4 +174,191 @@ public class InterpreterTest {
         Assert.assertEquals(testUUID, uuidInterp.apply(testUUID.toString()));
     }
     
+    @Test
+    public void testEnumInterpreter(){
+        Interpreter<MockModuleEnums.Direction> interp = Interpreters.of(MockModuleEnums.Direction.class);
+        Assert.assertTrue(interp instanceof EnumInterpreter);
+        Assert.assertSame(interp, Interpreters.of(MockModuleEnums.Direction.class));
+        
+        // names and aliases match regardless of case
+        Assert.assertEquals(MockModuleEnums.Direction.NORTH, interp.apply("north"));
+        Assert.assertEquals(MockModuleEnums.Direction.WEST, interp.apply("WeSt"));
+        Assert.assertEquals(MockModuleEnums.Direction.SOUTH, interp.apply("S"));
+        Assert.assertEquals(MockModuleEnums.Direction.SOUTH, interp.apply("down"));
+        
+        InterpretResult result = new InterpretResult();
+        Assert.assertTrue(interp.tryApply(new StringBuilder("east"), result));
+        Assert.assertEquals(MockModuleEnums.Direction.EAST, result.get());
+        result.reset();
+        Assert.assertFalse(interp.tryApply("up", result));
+        Assert.assertEquals("Unknown Direction: \"up\"", result.getMessage());
+        result.reset();
+        Assert.assertFalse(interp.tryApply("", result));
+        
+        Assert.assertEquals(Arrays.asList("EAST", "NORTH", "SOUTH", "WEST"), ((Suggester) interp).suggest(""));
+        Assert.assertEquals(Arrays.asList("SOUTH"), ((Suggester) interp).suggest("so"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testAmbiguousEnumInterpreter(){
+        Interpreters.of(MockModuleEnums.Clash.class);
+        Assert.fail("Created an interpreter for an enum with two constants named the same");
+    }
+    
+    @Test
+    public void testInterpreterRegistry(){
+        InterpreterRegistry layer = new InterpreterRegistry(Interpreters.global());
+        Assert.assertSame(Interpreters.global(), layer.getParent());
+        
+        // looked up before anything is registered, then registered; the cached result must not stick
+        Assert.assertNull(layer.of(MockModuleNoInterpreter.Uninterpretable.class));
+        Interpreter<MockModuleNoInterpreter.Uninterpretable> custom =
+                input -> new MockModuleNoInterpreter.Uninterpretable();
+        layer.register(MockModuleNoInterpreter.Uninterpretable.class, custom);
+        Assert.assertSame(custom, layer.of(MockModuleNoInterpreter.Uninterpretable.class));
+        Assert.assertNull(Interpreters.of(MockModuleNoInterpreter.Uninterpretable.class));
+        
+        // a layer falls back on its parent, and may shadow it
+        Assert.assertSame(Interpreters.of(int.class), layer.of(int.class));
+        Interpreter<String> shouting = input -> input.toUpperCase();
+        layer.register(String.class, shouting);
+        Assert.assertSame(shouting, layer.of(String.class));
+        Assert.assertNotSame(shouting, Interpreters.of(String.class));
+        
+        // wrappers use their primitive's interpreter, and supertypes their closest registered subtype
+        Assert.assertSame(Interpreters.of(int.class), Interpreters.of(Integer.class));
+        Assert.assertSame(Interpreters.of(String.class), Interpreters.of(CharSequence.class));
+        Assert.assertSame(shouting, layer.of(CharSequence.class));
+        
+        // two subtypes that are equally close are ambiguous
+        layer.register(StringBuilder.class, StringBuilder::new);
+        Assert.assertNull(layer.of(CharSequence.class));
+        Assert.assertSame(Interpreters.of(String.class), Interpreters.of(CharSequence.class));
+    }
+    
+    @Test
+    public void testConcurrentInterpreterRegistry() throws InterruptedException {
+        InterpreterRegistry registry = new InterpreterRegistry(Interpreters.global());
+        Thread[] readers = new Thread[4];
+        boolean[] failed = new boolean[readers.length];
+        for(int t = 0; t < readers.length; t++){
+            int index = t;
+            readers[t] = new Thread(() -> {
+                for(int i = 0; i < 100_000; i++){
+                    if(registry.of(int.class) != Interpreters.of(int.class))
+                        failed[index] = true;
+                }
+            });
+            readers[t].start();
+        }
+        
+        registry.register(MockModuleNoInterpreter.Uninterpretable.class, input -> null);
+        for(Thread reader : readers)
+            reader.join();
+        
+        for(boolean fail : failed)
+            Assert.assertFalse(fail);
+        Assert.assertNotNull(registry.of(MockModuleNoInterpreter.Uninterpretable.class));
+    }
+    
+    @Test
+    public void testNameIndex(){
+        NameIndex<String> index = new NameIndex<>(CaseFolding.INSENSITIVE);
+        Assert.assertNull(index.put("Alice", "a"));
+        Assert.assertNull(index.put("bob", "b"));
+        Assert.assertEquals("a", index.get("ALICE"));
+        Assert.assertEquals("b", index.get(new StringBuilder("Bob")));
+        Assert.assertEquals("a", index.get(new CommandLine().tokenize("poke alice").get(0)));
+        Assert.assertNull(index.get("carol"));
+        
+        // a stale removal (i.e of someone who has since been replaced) leaves the entry alone
+        Assert.assertEquals("b", index.put("BOB", "b2"));
+        Assert.assertFalse(index.remove("bob", "b"));
+        Assert.assertTrue(index.remove("bob", "b2"));
+        Assert.assertEquals(1, index.size());
+        
+        NameIndex<String> sensitive = new NameIndex<>(CaseFolding.SENSITIVE);
+        sensitive.put("Alice", "a");
+        Assert.assertNull(sensitive.get("alice"));
+        Assert.assertEquals("a", sensitive.get("Alice"));
+    }
+    
+    @Test
+    public void testContextualInterpreter(){
+        MockInvoker member = new MockInvoker();
+        MockChannel channel = new MockChannel();
+        channel.addInvoker(member);
+        
+        // members are only interpreted once opted in
+        Assert.assertNull(Interpreters.of(Invoker.class));
+        Interpreter<Invoker> interpreter = Interpreters.members();
+        InterpretResult result = new InterpretResult();
+        Assert.assertTrue(ContextualInterpreter.tryApply(interpreter, member.getName().toUpperCase(),
+                member, channel, result));
+        Assert.assertSame(member, result.get());
+        
+        Assert.assertFalse(ContextualInterpreter.tryApply(interpreter, "nobody", member, channel, result));
+        Assert.assertEquals("Unknown member: \"nobody\"", result.getMessage());
+        
+        // without a channel to look in, there is nothing to resolve
+        Assert.assertFalse(interpreter.tryApply(member.getName(), result));
+        try {
+            interpreter.apply(member.getName());
+            Assert.fail("Interpreted a member outside of a command");
+        } catch(BadInterpretationException expected) {
+            // expected
+        }
+        
+        // the default lookup searches the channel's members
+        Channel searched = new Channel.NullChannel() {
+            @Override
+            public @NotNull Stream<Invoker> getAllMembers(){
+                return Stream.of(member);
+            }
+        };
+        Assert.assertSame(member, searched.getMember(member.getName()));
+        Assert.assertNull(searched.getMember("nobody"));
+    }
+    
+    @Test
+    public void testBatchingInterpreter(){
+        MockModuleAccounts.Store store = new MockModuleAccounts.Store("alice", "bob");
+        Queue<Runnable> fetches = new ArrayDeque<>();
+        BatchingInterpreter<MockModuleAccounts.Account> interpreter =
+                new BatchingInterpreter<>(store, fetches::add, "account");
+        
+        CompletableFuture<MockModuleAccounts.Account> alice = interpreter.applyAsync("alice");
+        Assert.assertSame(alice, interpreter.applyAsync("alice"));
+        CompletableFuture<MockModuleAccounts.Account> nobody = interpreter.applyAsync("nobody");
+        Assert.assertEquals(1, fetches.size());
+        Assert.assertFalse(alice.isDone());
+        
+        fetches.remove().run();
+        Assert.assertEquals("alice", alice.join().toString());
+        InterpretResult result = new InterpretResult();
+        Assert.assertFalse(AsyncInterpreter.tryGet(nobody, "nobody", result));
+        Assert.assertEquals("Unknown account: \"nobody\"", result.getMessage());
+        Assert.assertEquals(Collections.singletonList(new TreeSet<>(Arrays.asList("alice", "nobody"))),
+                store.getBatches());
+        
+        // once fetched, the next lookup starts a new batch
+        CompletableFuture<MockModuleAccounts.Account> bob = interpreter.applyAsync("bob");
+        Assert.assertNotSame(alice, interpreter.applyAsync("alice"));
+        fetches.remove().run();
+        Assert.assertEquals("bob", bob.join().toString());
+        Assert.assertEquals(2, store.getBatches().size());
+        
+        // the blocking variants wait on the lookup
+        BatchingInterpreter<MockModuleAccounts.Account> direct = new BatchingInterpreter<>(store, Runnable::run,
+                "account");
+        Assert.assertEquals("bob", direct.apply("bob").toString());
+        Assert.assertFalse(direct.tryApply("nobody", result));
+        try {
+            direct.apply("nobody");
+            Assert.fail("Looked up an account that does not exist");
+        } catch(BadInterpretationException expected) {
+            // expected
+        }
+    }
+    
 }
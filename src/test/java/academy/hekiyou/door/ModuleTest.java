@@ -1,11 +1,27 @@
 package academy.hekiyou.door;
 
+import academy.hekiyou.door.annotations.optional.DefaultProviders;
+import academy.hekiyou.door.house.CommandLine;
+import academy.hekiyou.door.house.ConcurrentRegister;
+import academy.hekiyou.door.house.House;
+import academy.hekiyou.door.interp.BatchingInterpreter;
+import academy.hekiyou.door.interp.Interpreters;
 import academy.hekiyou.door.mock.*;
+import academy.hekiyou.door.model.ArgumentSlice;
+import academy.hekiyou.door.model.Arguments;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Invoker;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
 
 public class ModuleTest {
     
@@ -43,6 +59,412 @@ public class ModuleTest {
         Assert.fail("Loaded bad module");
     }
     
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadMissingInterpreter(){
+        FrontDoor.load(MockModuleNoInterpreter.class);
+        Assert.fail("Loaded module with an uninterpretable argument");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBadDefault(){
+        FrontDoor.load(MockModuleBadDefault.class);
+        Assert.fail("Loaded module with a default that does not fit its argument");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadAmbiguousOverloads(){
+        FrontDoor.load(MockModuleAmbiguousOverloads.class);
+        Assert.fail("Loaded module with overloads that take the same arguments");
+    }
+    
+    @Test
+    public void testOverloads(){
+        Interpreters.register(MockModuleOverloads.Counted.class, MockModuleOverloads.Counted.INTERPRETER);
+        Assert.assertNotNull(FrontDoor.load(MockModuleOverloads.class));
+        
+        checkForRecvMessage("mockTp", new String[]{ "Steve" }, "player Steve");
+        checkForRecvMessage("mockTp", new String[]{ "1", "2" }, "column 1 2");
+        checkForRecvMessage("mockTp", new String[]{ "1", "Alex" }, "players 1 Alex");
+        checkForRecvMessage("mockTp", new String[]{ "1", "2", "3.5" }, "coordinates 1.0 2.0 3.5");
+        checkForRecvMessage("mockTeleport", new String[]{ "Steve", "Alex" }, "players Steve Alex");
+        
+        // the overload that got the furthest explains what was wrong
+        FrontDoor.process("mockTp", mockInvoker, new String[]{ "1", "up", "3" });
+        Assert.assertTrue(mockInvoker.getMessage().startsWith(FrontDoor.getSettings().getBadInterpretationPrefix()));
+        Assert.assertTrue(mockInvoker.getMessage().contains("mockTp"));
+        Assert.assertNull(mockInvoker.getMessage());
+        
+        // no overload takes this few arguments, so every usage is given
+        FrontDoor.process("mockTp", mockInvoker, new String[0]);
+        for(int i = 0; i < 4; i++)
+            Assert.assertTrue(mockInvoker.getMessage().contains("mockTp"));
+        Assert.assertNull(mockInvoker.getMessage());
+        
+        // overloads that take fewer optional parameters are preferred
+        checkForRecvMessage("mockGive", new String[]{ "apple" }, "give apple 1");
+        checkForRecvMessage("mockGive", new String[]{ "5", "apple" }, "slot 5 apple");
+        checkForRecvMessage("mockGive", new String[]{ "apple", "5" }, "give apple 5");
+        
+        Assert.assertTrue(FrontDoor.process("mockTp 1 \"2\" 3", mockInvoker));
+        Assert.assertEquals("coordinates 1.0 2.0 3.0", mockInvoker.getMessage());
+        
+        // overloads interpreting the same argument the same way share the interpretation
+        MockModuleOverloads.Counted.interpretations = 0;
+        checkForRecvMessage("mockCounted", new String[]{ "a", "b" }, "word b");
+        Assert.assertEquals(1, MockModuleOverloads.Counted.interpretations);
+        checkForRecvMessage("mockCounted", new String[]{ "a", "5" }, "number 5");
+        Assert.assertEquals(2, MockModuleOverloads.Counted.interpretations);
+        
+        // an overload the invoker may not use is passed over for one they may
+        checkForRecvMessage("mockSet", new String[]{ "5" }, "text 5");
+        checkForRecvMessage("mockLocked", new String[]{ "5" }, FrontDoor.getSettings().getPermissionError());
+        
+        // an argument breaking the constraints of one overload falls through to the next
+        checkForRecvMessage("mockVolume", new String[]{ "50" }, "level 50");
+        checkForRecvMessage("mockVolume", new String[]{ "500" }, "preset 500");
+        checkForRecvMessage("mockVolume", new String[]{ "loud" }, "preset loud");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBadCollection(){
+        FrontDoor.load(MockModuleBadCollection.class);
+        Assert.fail("Loaded module with an array that is not the last parameter");
+    }
+    
+    @Test
+    public void testCollections(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleCollections.class));
+        
+        checkForRecvMessage("mockSum", new String[]{ "1", "2", "3000" }, "3003");
+        checkForRecvMessage("mockSum", new String[0], "0");
+        checkForRecvMessage("mockLabel", new String[]{ "ids", "5", "-9223372036854775808" },
+                "ids[5, -9223372036854775808]");
+        checkForRecvMessage("mockAverage", new String[]{ "1.5", "2.5" }, "2.0");
+        checkForRecvMessage("mockJoin", new String[]{ "a", "b", "c" }, "a,b,c");
+        checkForRecvMessage("mockList", new String[]{ "true", "false" }, "[true, false]");
+        
+        Assert.assertTrue(FrontDoor.process("mockJoin \"a b\" c", mockInvoker));
+        Assert.assertEquals("a b,c", mockInvoker.getMessage());
+        
+        // elements are required to interpret, and the usage accounts for them
+        FrontDoor.process("mockSum", mockInvoker, new String[]{ "1", "two" });
+        Assert.assertTrue(mockInvoker.getMessage().startsWith(FrontDoor.getSettings().getBadInterpretationPrefix()));
+        Assert.assertNotNull(mockInvoker.getMessage());
+        FrontDoor.process("mockLabel", mockInvoker, new String[0]);
+        Assert.assertEquals(String.format(FrontDoor.getSettings().getUsageErrorFormat(),
+                "mockLabel " + FrontDoor.getSettings().getErrorPrefix() + "<label> "
+                        + FrontDoor.getSettings().getErrorPrefix() + "[values...]"), mockInvoker.getMessage());
+        
+        Assert.assertEquals(Arrays.asList("false", "true"), FrontDoor.complete("mockList true "));
+    }
+    
+    @Test
+    public void testFailedLoadLeavesNothing(){
+        ConcurrentRegister register = new ConcurrentRegister();
+        House house = new House(register);
+        for(Class<?> module : Arrays.asList(MockModuleNoInterpreter.class, MockModuleBadDefault.class)){
+            try {
+                house.load(module);
+                Assert.fail("Loaded " + module.getSimpleName());
+            } catch(IllegalArgumentException expected) {
+                // expected
+            }
+        }
+        
+        Assert.assertTrue(register.getRegistered().isEmpty());
+        Assert.assertFalse(house.findAndExecute("mockInterpretable", mockInvoker, mockChannel, new String[]{ "a" }));
+        Assert.assertFalse(house.findAndExecute("mockGoodDefault", mockInvoker, mockChannel, new String[]{ "a" }));
+        Assert.assertEquals(Collections.emptyList(), house.complete("mock"));
+    }
+    
+    @Test
+    public void testHouseInterpreters(){
+        House withInterpreter = new House(new ConcurrentRegister());
+        House without = new House(new ConcurrentRegister());
+        withInterpreter.getInterpreters().register(MockModuleNoInterpreter.Uninterpretable.class,
+                input -> new MockModuleNoInterpreter.Uninterpretable());
+        
+        // an interpreter registered with one House is not seen by another
+        Assert.assertNotNull(withInterpreter.load(MockModuleNoInterpreter.class));
+        try {
+            without.load(MockModuleNoInterpreter.class);
+            Assert.fail("Loaded module with an interpreter registered to a different House");
+        } catch(IllegalArgumentException expected) {
+            // expected
+        }
+        Assert.assertNull(Interpreters.of(MockModuleNoInterpreter.Uninterpretable.class));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBadFlag(){
+        FrontDoor.load(MockModuleBadFlag.class);
+        Assert.fail("Loaded module with a flag that is not a boolean");
+    }
+    
+    @Test
+    public void testFlags(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleFlags.class));
+        
+        checkForRecvMessage("mockCopy", new String[]{ "a" }, "a false false 1 0");
+        checkForRecvMessage("mockCopy", new String[]{ "-fv", "a", "--count=5" }, "a true true 5 0");
+        checkForRecvMessage("mockCopy", new String[]{ "--count", "3", "a", "--verbose", "7" }, "a false true 3 7");
+        checkForRecvMessage("mockCopy", new String[]{ "-n5", "a", "-f" }, "a true false 5 0");
+        checkForRecvMessage("mockCopy", new String[]{ "-n", "2", "-n", "4", "a" }, "a false false 4 0");
+        
+        // an unknown short name is positional (i.e a negative number), as is everything after "--"
+        checkForRecvMessage("mockCopy", new String[]{ "a", "-7" }, "a false false 1 -7");
+        checkForRecvMessage("mockCopy", new String[]{ "-f", "--", "-v" }, "-v true false 1 0");
+        
+        Assert.assertTrue(FrontDoor.process("mockMove a --to b", mockInvoker));
+        Assert.assertEquals("a->b", mockInvoker.getMessage());
+        
+        // the usage names every flag and option
+        Settings settings = FrontDoor.getSettings();
+        FrontDoor.process("mockMove", mockInvoker, new String[]{ "a" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Option \"--to\" is required",
+                mockInvoker.getMessage());
+        Assert.assertEquals(String.format(settings.getUsageErrorFormat(), "mockMove " + settings.getErrorPrefix()
+                + "<source> " + settings.getInvalidArgumentPrefix() + "<--to target>"), mockInvoker.getMessage());
+        
+        FrontDoor.process("mockCopy", mockInvoker, new String[]{ "a", "--bogus=1" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Unknown option: \"--bogus\"",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        FrontDoor.process("mockCopy", mockInvoker, new String[]{ "a", "-fx" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Unknown flag: \"-x\"", mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        FrontDoor.process("mockCopy", mockInvoker, new String[]{ "a", "--force=yes" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Flag \"--force\" does not take a value",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        FrontDoor.process("mockCopy", mockInvoker, new String[]{ "a", "-n" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Option \"-n|--count\" needs a value",
+                mockInvoker.getMessage());
+        Assert.assertEquals(String.format(settings.getUsageErrorFormat(), "mockCopy " + settings.getErrorPrefix()
+                + "<source> " + settings.getErrorPrefix() + "[-f|--force] " + settings.getErrorPrefix()
+                + "[-v|--verbose] " + settings.getInvalidArgumentPrefix() + "[-n|--count count=1] "
+                + settings.getErrorPrefix() + "[offset=0]"), mockInvoker.getMessage());
+        
+        Assert.assertEquals(Arrays.asList("--count", "--force", "--verbose"), FrontDoor.complete("mockCopy a --"));
+        Assert.assertEquals(Collections.singletonList("--verbose"), FrontDoor.complete("mockCopy -f --v"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBadConstraint(){
+        FrontDoor.load(MockModuleBadConstraint.class);
+        Assert.fail("Loaded module with a default that does not meet its constraints");
+    }
+    
+    @Test(timeout = 5000, expected = IllegalArgumentException.class)
+    public void testLoadCollidingOneOf(){
+        FrontDoor.load(MockModuleBadOneOf.class);
+        Assert.fail("Loaded module with values that collide regardless of case");
+    }
+    
+    @Test
+    public void testConstraints(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleConstraints.class));
+        Settings settings = FrontDoor.getSettings();
+        
+        checkForRecvMessage("mockPercent", new String[]{ "100" }, "100%");
+        checkForRecvMessage("mockScale", new String[]{ "0.5" }, "x0.5");
+        checkForRecvMessage("mockNick", new String[]{ "door" }, "door");
+        checkForRecvMessage("mockColor", new String[]{ "Green", "3" }, "3 Green");
+        
+        // an optional argument that does not meet its constraints is skipped, like one that cannot be interpreted
+        checkForRecvMessage("mockSkip", new String[]{ "5" }, "10 5");
+        
+        // violations highlight the parameter at fault
+        FrontDoor.process("mockPercent", mockInvoker, new String[]{ "101" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "101 is not between 0 and 100",
+                mockInvoker.getMessage());
+        Assert.assertEquals(String.format(settings.getUsageErrorFormat(),
+                "mockPercent " + settings.getInvalidArgumentPrefix() + "<percent>"), mockInvoker.getMessage());
+        
+        FrontDoor.process("mockScale", mockInvoker, new String[]{ "NaN" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "NaN is not between 0.5 and 2.0",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        
+        FrontDoor.process("mockNick", mockInvoker, new String[]{ "doorknob1" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "doorknob1 is not between 3 and 8 characters long",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        FrontDoor.process("mockNick", mockInvoker, new String[]{ "Door" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "Door does not match [a-z]+",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        
+        FrontDoor.process("mockColor", mockInvoker, new String[]{ "purple" });
+        Assert.assertEquals(settings.getBadInterpretationPrefix() + "purple is not one of red, green, blue",
+                mockInvoker.getMessage());
+        Assert.assertEquals(String.format(settings.getUsageErrorFormat(), "mockColor "
+                + settings.getInvalidArgumentPrefix() + "<color> " + settings.getErrorPrefix() + "[amount=1]"),
+                mockInvoker.getMessage());
+        
+        Assert.assertEquals(Arrays.asList("blue"), FrontDoor.complete("mockColor B"));
+    }
+    
+    @Test
+    public void testEnums(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleEnums.class));
+        
+        checkForRecvMessage("mockHead", new String[]{ "north" }, "NORTH");
+        checkForRecvMessage("mockRoute", new String[]{ "down", "East", "s" }, "[SOUTH, EAST, SOUTH]");
+        
+        FrontDoor.process("mockHead", mockInvoker, new String[]{ "up" });
+        Assert.assertEquals(FrontDoor.getSettings().getBadInterpretationPrefix() + "Unknown Direction: \"up\"",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        
+        Assert.assertEquals(Arrays.asList("EAST"), FrontDoor.complete("mockHead e"));
+    }
+    
+    @Test
+    public void testMembers(){
+        FrontDoor.getInterpreters().register(Invoker.class, Interpreters.members());
+        Assert.assertNotNull(FrontDoor.load(MockModuleMembers.class));
+        
+        FrontDoor.process("mockPoke", mockInvoker, mockChannel,
+                new String[]{ mockOtherInvoker.getName().toUpperCase(), "hi" });
+        Assert.assertEquals(mockInvoker.getID() + "hi", mockOtherInvoker.getMessage());
+        
+        Assert.assertTrue(FrontDoor.process("mockPoke " + mockOtherInvoker.getName() + " there", mockInvoker,
+                mockChannel));
+        Assert.assertEquals(mockInvoker.getID() + "there", mockOtherInvoker.getMessage());
+        
+        // someone who is not in the channel cannot be named
+        FrontDoor.process("mockPoke", mockInvoker, mockChannel, new String[]{ "nobody", "hi" });
+        Assert.assertEquals(FrontDoor.getSettings().getBadInterpretationPrefix() + "Unknown member: \"nobody\"",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        
+        mockChannel.removeInvoker(mockOtherInvoker);
+        FrontDoor.process("mockPoke", mockInvoker, mockChannel, new String[]{ mockOtherInvoker.getName(), "hi" });
+        Assert.assertNull(mockOtherInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testAsyncArguments(){
+        MockModuleAccounts.Store store = new MockModuleAccounts.Store("alice", "bob", "carol");
+        Queue<Runnable> fetches = new ArrayDeque<>();
+        FrontDoor.getInterpreters().register(MockModuleAccounts.Account.class,
+                new BatchingInterpreter<>(store, fetches::add, "account"));
+        Assert.assertNotNull(FrontDoor.load(MockModuleAccounts.class));
+        
+        // the command waits for both of its accounts, which are fetched together
+        FrontDoor.process("mockTransfer", mockInvoker, new String[]{ "alice", "bob", "5" });
+        Assert.assertNull(mockInvoker.getMessage());
+        Assert.assertEquals(1, fetches.size());
+        fetches.remove().run();
+        Assert.assertEquals("alice->bob 5", mockInvoker.getMessage());
+        Assert.assertEquals(Collections.singletonList(new TreeSet<>(Arrays.asList("alice", "bob"))),
+                store.getBatches());
+        
+        // lookups of separate dispatches made before the batch is fetched join it
+        FrontDoor.process("mockTransfer alice bob 1", mockInvoker);
+        FrontDoor.process("mockTransfer bob carol 2", mockOtherInvoker);
+        Assert.assertEquals(1, fetches.size());
+        fetches.remove().run();
+        Assert.assertEquals("alice->bob 1", mockInvoker.getMessage());
+        Assert.assertEquals("bob->carol 2", mockOtherInvoker.getMessage());
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("alice", "bob", "carol")), store.getBatches().get(1));
+        
+        // an account that does not exist is reported once it has been looked up
+        FrontDoor.process("mockTransfer", mockInvoker, new String[]{ "alice", "nobody", "5" });
+        fetches.remove().run();
+        Assert.assertEquals(FrontDoor.getSettings().getBadInterpretationPrefix() + "Unknown account: \"nobody\"",
+                mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        Assert.assertNull(mockInvoker.getMessage());
+        
+        // arguments that are not looked up are still checked before waiting
+        FrontDoor.process("mockTransfer", mockInvoker, new String[]{ "alice", "bob", "0" });
+        Assert.assertNotNull(mockInvoker.getMessage());
+        Assert.assertNotNull(mockInvoker.getMessage());
+        fetches.remove().run();
+        Assert.assertNull(mockInvoker.getMessage());
+        
+        store.setDown(true);
+        FrontDoor.process("mockTransfer", mockInvoker, new String[]{ "alice", "bob", "5" });
+        fetches.remove().run();
+        Assert.assertEquals(FrontDoor.getSettings().getBadInterpretationPrefix() + "Could not look up \"alice\"",
+                mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testOptionalAsyncArguments(){
+        MockModuleAccounts.Store store = new MockModuleAccounts.Store("alice");
+        Queue<Runnable> fetches = new ArrayDeque<>();
+        FrontDoor.getInterpreters().register(MockModuleAccounts.Account.class,
+                new BatchingInterpreter<>(store, fetches::add, "account"));
+        Assert.assertNotNull(FrontDoor.load(MockModuleAccounts.class));
+        
+        FrontDoor.process("mockBalance alice", mockInvoker);
+        fetches.remove().run();
+        Assert.assertEquals("balance of alice", mockInvoker.getMessage());
+        
+        // nothing is looked up without an argument
+        FrontDoor.process("mockBalance", mockInvoker);
+        Assert.assertTrue(fetches.isEmpty());
+        Assert.assertEquals("balance of yourself", mockInvoker.getMessage());
+        
+        // an account that does not exist falls back to the default instead of a usage error
+        FrontDoor.process("mockBalance nobody", mockInvoker);
+        fetches.remove().run();
+        Assert.assertEquals("balance of yourself", mockInvoker.getMessage());
+        Assert.assertNull(mockInvoker.getMessage());
+        
+        // as does a failed lookup
+        store.setDown(true);
+        FrontDoor.process("mockBalance alice", mockInvoker);
+        fetches.remove().run();
+        Assert.assertEquals("balance of yourself", mockInvoker.getMessage());
+        Assert.assertNull(mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testThrowingCommands(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleThrowing.class));
+        
+        // whatever the method throws reaches the caller wrapped, checked or not
+        for(String command : new String[]{ "mockThrowUnchecked", "mockThrowChecked" }){
+            try {
+                FrontDoor.process(command, mockInvoker, new String[0]);
+                Assert.fail("Command did not throw");
+            } catch(RuntimeException exc) {
+                Assert.assertTrue(exc.getCause() instanceof InvocationTargetException);
+                Assert.assertNotNull(exc.getCause().getCause());
+            }
+        }
+    }
+    
+    @Test
+    public void testCustomDefaultProvider(){
+        if(DefaultProviders.of(MockModuleDefaults.OptionalGreeting.class) == null){
+            // without a provider, the module should refuse to load
+            try {
+                FrontDoor.load(MockModuleDefaults.class);
+                Assert.fail("Loaded module with an optional annotation that has no provider");
+            } catch(IllegalArgumentException expected) {
+                // expected; register the provider and try again
+            }
+            
+            DefaultProviders.register(MockModuleDefaults.OptionalGreeting.class, greeting -> {
+                StringBuilder repeated = new StringBuilder();
+                for(int i = 0; i < greeting.times(); i++)
+                    repeated.append(greeting.value());
+                return repeated.toString();
+            });
+        }
+        
+        Assert.assertNotNull(FrontDoor.load(MockModuleDefaults.class));
+        checkForRecvMessage("mockGreeting", new String[0], "hihihi");
+        checkForRecvMessage("mockGreeting", new String[]{ mockMessage }, mockMessage);
+        checkForRecvMessage("mockCharacter", new String[0], "x");
+    }
+    
     @Test
     public void testCommandLoad(){
         Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
@@ -118,6 +540,37 @@ public class ModuleTest {
         checkForRecvMessage("mockBranch", new String[]{ "branch3" }, mockInvoker.getName() + "3");
     }
     
+    @Test
+    public void testBranchCaseFolding(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        checkForRecvMessage("mockBranch", new String[]{ "BRANCH1" }, mockInvoker.getName() + "1");
+        checkForRecvMessage("mockBranch", new String[]{ "bRaNcH2" }, mockInvoker.getName() + "2");
+        
+        Assert.assertNotNull(FrontDoor.load(MockModuleCaseSensitive.class));
+        checkForRecvMessage("mockSensitive", new String[]{ "Branch" }, "Branch");
+        checkForRecvMessage("mockSensitive", new String[]{ "branch" }, "branch");
+        checkForRecvMessage("mockSensitive", new String[]{ "BRANCH" },
+                String.format(FrontDoor.getSettings().getInvalidSubcommandError(), "Branch, branch"));
+    }
+    
+    @Test
+    public void testCommandCaseFolding(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        Assert.assertFalse(FrontDoor.process("MOCKCOMMAND", mockInvoker, new String[0]));
+        
+        FrontDoor.initialize(new ConcurrentRegister(CaseFolding.INSENSITIVE));
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        checkForRecvMessage("MOCKCOMMAND", new String[0], mockInvoker.getID());
+        Assert.assertTrue(FrontDoor.process("MockAlias", mockInvoker));
+        Assert.assertEquals(mockInvoker.getID(), mockInvoker.getMessage());
+        
+        FrontDoor.freeze();
+        Assert.assertTrue(FrontDoor.process("mockargument MOCK 1234", mockInvoker));
+        Assert.assertEquals("MOCK", mockInvoker.getMessage());
+        Assert.assertEquals(mockIntegerString, mockInvoker.getMessage());
+        Assert.assertFalse(FrontDoor.process("mockMissing", mockInvoker));
+    }
+    
     @Test
     public void testBadBranchExecution(){
         Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
@@ -125,6 +578,61 @@ public class ModuleTest {
                 String.format(FrontDoor.getSettings().getInvalidSubcommandError(), "branch3, branch2, branch1"));
     }
     
+    @Test
+    public void testNestedBranchExecution(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleNestedBranches.class));
+        checkForRecvMessage("mockPerm", new String[]{ "group", "add", "mods", "kick" }, "add mods kick");
+        checkForRecvMessage("mockPerm", new String[]{ "GROUP", "Remove", "mods" }, "remove mods");
+        checkForRecvMessage("mockPerm", new String[]{ "user", "set", "flag", "true" }, "flag true");
+        
+        // a branch with branches of its own is still taken when no further branch is named
+        checkForRecvMessage("mockPerm", new String[]{ "group", "mods" }, "group mods");
+        
+        // a level that names no branch lists the branches of that level
+        checkForRecvMessage("mockPerm", new String[]{ "user", "bad" },
+                String.format(FrontDoor.getSettings().getInvalidSubcommandError(), "set"));
+        checkForRecvMessage("mockPerm", new String[]{ "user" },
+                String.format(FrontDoor.getSettings().getInvalidSubcommandError(), "set"));
+        
+        Assert.assertTrue(FrontDoor.process("mockPerm group add mods \"kick ban\"", mockInvoker));
+        Assert.assertEquals("add mods kick ban", mockInvoker.getMessage());
+        
+        Assert.assertEquals(Arrays.asList("add", "remove"), FrontDoor.complete("mockPerm group "));
+        Assert.assertEquals(Collections.singletonList("flag"), FrontDoor.complete("mockPerm user set f"));
+        Assert.assertEquals(Collections.singletonList("true"), FrontDoor.complete("mockPerm user set flag t"));
+        Assert.assertEquals(Collections.singletonList("flag"), FrontDoor.suggest("mockPerm user set flg"));
+        Assert.assertEquals(Collections.emptyList(), FrontDoor.suggest("mockPerm group mods"));
+    }
+    
+    @Test
+    public void testArgumentSlice(){
+        Arguments line = new CommandLine().tokenize("mockPerm group add  'kick ban'  mute ");
+        Arguments slice = line.slice(2);
+        Assert.assertEquals(2, slice.size());
+        Assert.assertEquals("kick ban", slice.get(0).toString());
+        Assert.assertEquals("'kick ban'  mute", slice.glob(0).toString());
+        Assert.assertEquals("mute", slice.slice(1).glob(0).toString());
+        Assert.assertEquals(0, line.slice(line.size()).size());
+        Assert.assertArrayEquals(new String[]{ "kick ban", "mute" }, slice.toArray());
+        
+        ArgumentSlice reused = new ArgumentSlice(line, 1);
+        Assert.assertEquals("add", reused.get(0).toString());
+        Assert.assertEquals("group", reused.set(line, 0).get(0).toString());
+        
+        try {
+            line.slice(line.size() + 1);
+            Assert.fail("Sliced past the end of the arguments");
+        } catch(IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            slice.get(2);
+            Assert.fail("Read past the end of a slice");
+        } catch(IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+    
     @Test
     public void testChannelCommand(){
         Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
@@ -151,4 +659,49 @@ public class ModuleTest {
         checkForRecvMessage("mockGlob", new String[]{"h", "e", "l", "l", "o"}, "h e l l o");
     }
     
+    @Test
+    public void testRawLineExecution(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        
+        Assert.assertTrue(FrontDoor.process("  mockArgument   mock  1234 ", mockInvoker));
+        Assert.assertEquals(mockMessage, mockInvoker.getMessage());
+        Assert.assertEquals(mockIntegerString, mockInvoker.getMessage());
+        
+        Assert.assertTrue(FrontDoor.process("mockBranch branch2", mockInvoker));
+        Assert.assertEquals(mockInvoker.getName() + "2", mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testRawLineQuoting(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        
+        Assert.assertTrue(FrontDoor.process("mockArgument \"hello world\" 1234", mockInvoker));
+        Assert.assertEquals("hello world", mockInvoker.getMessage());
+        Assert.assertEquals(mockIntegerString, mockInvoker.getMessage());
+        
+        Assert.assertTrue(FrontDoor.process("mockArgument it\\'s' a \\ quote' 1234", mockInvoker));
+        Assert.assertEquals("it's a \\ quote", mockInvoker.getMessage());
+        Assert.assertEquals(mockIntegerString, mockInvoker.getMessage());
+        
+        Assert.assertTrue(FrontDoor.process("mockArgument \"\" 1234", mockInvoker));
+        Assert.assertEquals("", mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testRawLineGlob(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        
+        Assert.assertTrue(FrontDoor.process("mockGlob  hello,   \"world\"  ", mockInvoker));
+        Assert.assertEquals("hello,   \"world\"", mockInvoker.getMessage());
+    }
+    
+    @Test
+    public void testRawLineNotFound(){
+        Assert.assertNotNull(FrontDoor.load(MockModuleSimpleCommands.class));
+        
+        Assert.assertFalse(FrontDoor.process("mockMissing 1234", mockInvoker));
+        Assert.assertFalse(FrontDoor.process("   ", mockInvoker));
+        Assert.assertNull(mockInvoker.getMessage());
+    }
+    
 }
@@ -0,0 +1,293 @@
+package academy.hekiyou.door;
+
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.house.ConcurrentRegister;
+import academy.hekiyou.door.house.HouseCommand;
+import academy.hekiyou.door.house.SimpleRegister;
+import academy.hekiyou.door.mock.MockModuleOneCommand;
+import academy.hekiyou.door.mock.MockModuleRegister;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Command;
+import academy.hekiyou.door.model.Invoker;
+import academy.hekiyou.door.model.Register;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RegisterTest {
+    
+    private final MockModuleRegister module = new MockModuleRegister();
+    
+    @Before
+    public void setup(){
+        FrontDoor.initialize();
+    }
+    
+    private Command command(String name, String methodName) throws NoSuchMethodException {
+        return command(name, module, methodName);
+    }
+    
+    private Command command(String name, Object module, String methodName) throws NoSuchMethodException {
+        Method method = module.getClass().getMethod(methodName, Invoker.class);
+        return new HouseCommand(name, module, method, method.getAnnotation(RegisterCommand.class));
+    }
+    
+    private void checkSemantics(Register register) throws NoSuchMethodException {
+        Command first = command("mockFirst", "mockFirst");
+        Command second = command("mockSecond", "mockSecond");
+        
+        register.register(first);
+        register.register(second);
+        Assert.assertSame(first, register.getCommand("mockFirst"));
+        Assert.assertSame(first, register.getCommand("mockFirstAlias"));
+        Assert.assertSame(second, register.getCommand("mockSecondAlias"));
+        // aliases that were already taken are kept by whoever took them first
+        Assert.assertSame(first, register.getCommand("mockShared"));
+        Assert.assertEquals(5, register.getRegistered().size());
+        
+        try {
+            register.register(command("mockFirst", "mockSecond"));
+            Assert.fail("Registered a command over another without overriding");
+        } catch(IllegalStateException expected) {
+            // expected; nothing should have changed
+        }
+        Assert.assertSame(first, register.getCommand("mockFirst"));
+        
+        Command override = command("mockFirst", "mockOverride");
+        register.register(override);
+        Assert.assertSame(override, register.getCommand("mockFirst"));
+        Assert.assertSame(override, register.getCommand("mockShared"));
+        Assert.assertSame(first, register.getCommand("mockFirstAlias"));
+        
+        // unregistering removes every name still pointing at the command
+        register.unregister(second);
+        Assert.assertNull(register.getCommand("mockSecond"));
+        Assert.assertNull(register.getCommand("mockSecondAlias"));
+        Assert.assertTrue(register.isRegistered("mockFirst"));
+        
+        // even if its own name has since been overridden
+        register.unregister(first);
+        Assert.assertNull(register.getCommand("mockFirstAlias"));
+        Assert.assertSame(override, register.getCommand("mockFirst"));
+        
+        register.unregister(override);
+        Assert.assertNull(register.getCommand("mockFirst"));
+        Assert.assertNull(register.getCommand("mockShared"));
+    }
+    
+    private void checkOwnerIndex(Register register) throws NoSuchMethodException {
+        String owner = MockModuleRegister.class.getName();
+        String otherOwner = MockModuleOneCommand.class.getName();
+        Command first = command("mockFirst", "mockFirst");
+        Command second = command("mockSecond", "mockSecond");
+        Command other = command("mockOnlyCommand", new MockModuleOneCommand(), "mockOnlyCommand");
+        
+        register.register(first);
+        register.register(second);
+        register.register(other);
+        Assert.assertEquals(6, register.getCommands().size());
+        Assert.assertEquals(5, register.getCommandsOwnedBy(owner).size());
+        Assert.assertEquals(Collections.singletonMap("mockOnlyCommand", other),
+                register.getCommandsOwnedBy(otherOwner));
+        Assert.assertTrue(register.getCommandsOwnedBy("nonexistent").isEmpty());
+        
+        // overriding a name moves it to the overriding command's owner
+        Command override = command("mockOnlyCommand", "mockOverride");
+        register.register(override);
+        Assert.assertTrue(register.getCommandsOwnedBy(otherOwner).isEmpty());
+        Assert.assertSame(override, register.getCommandsOwnedBy(owner).get("mockOnlyCommand"));
+        Assert.assertSame(override, register.getCommandsOwnedBy(owner).get("mockShared"));
+        
+        register.unregister(second);
+        Assert.assertFalse(register.getCommandsOwnedBy(owner).containsKey("mockSecondAlias"));
+        
+        List<String> unregistered = register.unregisterOwnedBy(owner);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("mockFirst", "mockFirstAlias", "mockShared",
+                "mockOnlyCommand")), new HashSet<>(unregistered));
+        Assert.assertTrue(register.getCommands().isEmpty());
+        Assert.assertTrue(register.getCommandsOwnedBy(owner).isEmpty());
+        Assert.assertTrue(register.unregisterOwnedBy(owner).isEmpty());
+    }
+    
+    @Test
+    public void testSimpleRegister() throws NoSuchMethodException {
+        checkSemantics(new SimpleRegister());
+        checkOwnerIndex(new SimpleRegister());
+    }
+    
+    @Test
+    public void testConcurrentRegister() throws NoSuchMethodException {
+        checkSemantics(new ConcurrentRegister());
+        checkOwnerIndex(new ConcurrentRegister());
+    }
+    
+    @Test
+    public void testFrozenRegister() throws NoSuchMethodException {
+        ConcurrentRegister register = new ConcurrentRegister();
+        register.freeze();
+        Assert.assertTrue(register.isFrozen());
+        
+        // writes are still allowed, and keep the register frozen
+        checkSemantics(register);
+        checkOwnerIndex(register);
+        Assert.assertTrue(register.isFrozen());
+        
+        register.thaw();
+        Assert.assertFalse(register.isFrozen());
+    }
+    
+    @Test
+    public void testFrozenLookup() throws NoSuchMethodException {
+        ConcurrentRegister register = new ConcurrentRegister();
+        List<Command> commands = new ArrayList<>();
+        for(int i = 0; i < 5000; i++){
+            Command command = command("mockCommand" + i, "mockSecond");
+            commands.add(command);
+            register.register(command);
+        }
+        register.freeze();
+        
+        for(Command command : commands){
+            Assert.assertSame(command, register.getCommand(command.getName()));
+            Assert.assertSame(command, register.getCommand(new StringBuilder(command.getName())));
+        }
+        Assert.assertSame(commands.get(0), register.getCommand("mockSecondAlias"));
+        Assert.assertNull(register.getCommand("mockCommand5000"));
+        Assert.assertNull(register.getCommand("mockcommand1"));
+        Assert.assertNull(register.getCommand(""));
+        Assert.assertNull(register.getCommand(new StringBuilder("mockCommand")));
+        
+        register.thaw();
+        Assert.assertSame(commands.get(42), register.getCommand(new StringBuilder("mockCommand42")));
+        
+        // an empty register can be frozen too
+        ConcurrentRegister empty = new ConcurrentRegister();
+        empty.freeze();
+        Assert.assertNull(empty.getCommand("mockCommand"));
+    }
+    
+    private void checkCaseFolding(Register register) throws NoSuchMethodException {
+        Command first = command("mockFirst", "mockFirst");
+        register.register(first);
+        Assert.assertSame(first, register.getCommand("MOCKFIRST"));
+        Assert.assertSame(first, register.getCommand("mockfirstalias"));
+        Assert.assertSame(first, register.getCommand(new StringBuilder("MockShared")));
+        Assert.assertNull(register.getCommand("mockFirs"));
+        
+        try {
+            register.register(command("MOCKFIRST", "mockSecond"));
+            Assert.fail("Registered a command that only differs by case");
+        } catch(IllegalStateException expected) {
+            // expected
+        }
+        
+        register.freeze();
+        Assert.assertSame(first, register.getCommand("MOCKFIRST"));
+        Assert.assertSame(first, register.getCommand(new StringBuilder("mOcKsHaReD")));
+        Assert.assertNull(register.getCommand("mockFirstAlia"));
+        
+        // overriding replaces the old spelling
+        Command override = command("MOCKFIRST", "mockOverride");
+        register.register(override);
+        Assert.assertSame(override, register.getCommand("mockfirst"));
+        Assert.assertTrue(register.getRegistered().containsKey("MOCKFIRST"));
+        Assert.assertFalse(register.getRegistered().containsKey("mockFirst"));
+        
+        register.unregisterOwnedBy(MockModuleRegister.class.getName());
+        Assert.assertTrue(register.getCommands().isEmpty());
+    }
+    
+    @Test
+    public void testCaseFolding() throws NoSuchMethodException {
+        checkCaseFolding(new SimpleRegister(CaseFolding.INSENSITIVE));
+        checkCaseFolding(new ConcurrentRegister(CaseFolding.INSENSITIVE));
+        checkSemantics(new ConcurrentRegister(CaseFolding.INSENSITIVE));
+        checkOwnerIndex(new ConcurrentRegister(CaseFolding.INSENSITIVE));
+        
+        ConcurrentRegister sensitive = new ConcurrentRegister();
+        sensitive.register(command("mockFirst", "mockFirst"));
+        sensitive.freeze();
+        Assert.assertNull(sensitive.getCommand("MOCKFIRST"));
+        Assert.assertNull(sensitive.getCommand(new StringBuilder("mockfirst")));
+    }
+    
+    @Test
+    public void testConcurrentRegisterUnderLoad() throws Exception {
+        ConcurrentRegister register = new ConcurrentRegister();
+        Command stable = command("mockFirst", "mockFirst");
+        Command churn = command("mockSecond", "mockSecond");
+        register.register(stable);
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> readers = new ArrayList<>();
+        for(int i = 0; i < 4; i++){
+            Thread reader = new Thread(() -> {
+                started.countDown();
+                try {
+                    while(running.get()){
+                        Assert.assertSame(stable, register.getCommand("mockFirst"));
+                        // a change is either entirely visible or not at all
+                        Command found = register.getCommand("mockSecond");
+                        Command alias = register.getCommand("mockSecondAlias");
+                        if(found != null && found != churn)
+                            Assert.fail("Found a command that was never registered");
+                        register.getRegistered();
+                        Assert.assertTrue(alias == null || alias == churn);
+                    }
+                } catch(Throwable exc) {
+                    failure.compareAndSet(null, exc);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        
+        started.await();
+        for(int i = 0; i < 10_000; i++){
+            register.register(churn);
+            register.unregister(churn);
+        }
+        running.set(false);
+        for(Thread reader : readers)
+            reader.join();
+        
+        if(failure.get() != null)
+            throw new AssertionError(failure.get());
+        Assert.assertNull(register.getCommand("mockSecond"));
+        Assert.assertEquals(3, register.getRegistered().size());
+    }
+    
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        ConcurrentRegister register = new ConcurrentRegister();
+        List<Command> commands = new ArrayList<>();
+        for(int i = 0; i < 64; i++)
+            commands.add(command("mockCommand" + i, "mockSecond"));
+        
+        List<Thread> writers = new ArrayList<>();
+        for(int i = 0; i < 4; i++){
+            int offset = i;
+            Thread writer = new Thread(() -> {
+                for(int j = offset; j < commands.size(); j += 4)
+                    register.register(commands.get(j));
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for(Thread writer : writers)
+            writer.join();
+        
+        // no registration may be lost to a race
+        for(Command command : commands)
+            Assert.assertSame(command, register.getCommand(command.getName()));
+    }
+    
+}
@@ -22,7 +22,9 @@ public class SettingsTest {
                .invalidSubcommandError(testSub)
                .permissionError(testPerm)
                .usageErrorFormat(testUse)
-               .badInterpretationPrefix(testInt);
+               .badInterpretationPrefix(testInt)
+               .suggestionDistance(4)
+               .suggestionLimit(7);
         
         Settings settings = builder.build();
         
@@ -32,6 +34,8 @@ public class SettingsTest {
         Assert.assertEquals(testPerm, settings.getPermissionError());
         Assert.assertEquals(testUse, settings.getUsageErrorFormat());
         Assert.assertEquals(testInt, settings.getBadInterpretationPrefix());
+        Assert.assertEquals(4, settings.getSuggestionDistance());
+        Assert.assertEquals(7, settings.getSuggestionLimit());
     }
     
 }
@@ -1,8 +1,11 @@
 package academy.hekiyou.door.mock;
 
+import academy.hekiyou.door.interp.NameIndex;
+import academy.hekiyou.door.model.CaseFolding;
 import academy.hekiyou.door.model.Channel;
 import academy.hekiyou.door.model.Invoker;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +21,7 @@ public class MockChannel implements Channel {
     private final Logger logger = Logger.getLogger("Channel-" + id);
     
     private final List<Invoker> inChannel = new ArrayList<>();
+    private final NameIndex<Invoker> byName = new NameIndex<>(CaseFolding.INSENSITIVE);
     
     @Override
     public @NotNull Stream<Invoker> getAllMembers(){
@@ -28,12 +32,19 @@ public class MockChannel implements Channel {
     public void addInvoker(@NotNull Invoker invoker){
         logger.log(Level.INFO, "Adding invoker: {0}", invoker.getID());
         inChannel.add(invoker);
+        byName.put(invoker.getName(), invoker);
     }
     
     @Override
     public void removeInvoker(@NotNull Invoker invoker){
         logger.log(Level.INFO, "Removing invoker: {0}", invoker.getID());
         inChannel.remove(invoker);
+        byName.remove(invoker.getName(), invoker);
+    }
+    
+    @Override
+    public @Nullable Invoker getMember(@NotNull CharSequence name){
+        return byName.get(name);
     }
     
     @Override
@@ -0,0 +1,91 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.annotations.optional.OptionalObject;
+import academy.hekiyou.door.interp.BatchFetcher;
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@Module
+public class MockModuleAccounts {
+    
+    public static final class Account {
+        
+        private final String name;
+        
+        public Account(String name){
+            this.name = name;
+        }
+        
+        @Override
+        public String toString(){
+            return name;
+        }
+        
+    }
+    
+    /**
+     * An in-memory stand-in for a store of accounts, which records every batch it is asked to fetch
+     */
+    public static final class Store implements BatchFetcher<Account> {
+        
+        private final Map<String, Account> accounts = new HashMap<>();
+        private final List<Set<String>> batches = new ArrayList<>();
+        private boolean down;
+        
+        public Store(String... names){
+            for(String name : names)
+                accounts.put(name, new Account(name));
+        }
+        
+        @Override
+        public synchronized @NotNull CompletableFuture<Map<String, Account>> fetch(@NotNull Set<String> names){
+            batches.add(new TreeSet<>(names));
+            CompletableFuture<Map<String, Account>> fetched = new CompletableFuture<>();
+            if(down){
+                fetched.completeExceptionally(new IllegalStateException("store is down"));
+                return fetched;
+            }
+            
+            Map<String, Account> found = new HashMap<>();
+            for(String name : names){
+                Account account = accounts.get(name);
+                if(account != null)
+                    found.put(name, account);
+            }
+            fetched.complete(found);
+            return fetched;
+        }
+        
+        public synchronized List<Set<String>> getBatches(){
+            return new ArrayList<>(batches);
+        }
+        
+        public synchronized void setDown(boolean down){
+            this.down = down;
+        }
+        
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with accounts that are looked up"
+    )
+    public void mockTransfer(Invoker invoker, Account from, Account to, @Range(min = 1) int amount){
+        invoker.sendMessage(from + "->" + to + " " + amount);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with an account that is looked up, if given"
+    )
+    public void mockBalance(Invoker invoker, @OptionalObject("yourself") Account account){
+        invoker.sendMessage("balance of " + (account == null ? "yourself" : account));
+    }
+    
+}
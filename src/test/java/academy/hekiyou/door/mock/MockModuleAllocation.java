@@ -0,0 +1,124 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.BranchingCommand;
+import academy.hekiyou.door.annotations.Flag;
+import academy.hekiyou.door.annotations.GlobAll;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.Option;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.DecimalRange;
+import academy.hekiyou.door.annotations.constraint.Matches;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.annotations.optional.OptionalInteger;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleAllocation {
+    
+    public static String lastString;
+    public static int lastInt;
+    public static boolean lastBoolean;
+    public static long lastLong;
+    public static double lastDouble;
+    public static float lastFloat;
+    public static int[] lastInts;
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that does not allocate"
+    )
+    public void mockStore(Invoker invoker, String str, boolean bool, @OptionalInteger(5) int integer){
+        lastString = str;
+        lastInt = integer;
+        lastBoolean = bool;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with primitives that do not fit in the box caches"
+    )
+    public void mockStorePrimitives(Invoker invoker, int integer, long longInteger){
+        lastInt = integer;
+        lastLong = longInteger;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock globbing command that does not allocate"
+    )
+    public void mockStoreGlob(Invoker invoker, @GlobAll String globbed){
+        lastString = globbed;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with decimals that does not allocate"
+    )
+    public void mockStoreDecimals(Invoker invoker, double decimal, float single){
+        lastDouble = decimal;
+        lastFloat = single;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that only allocates the array it is given"
+    )
+    public void mockStoreInts(Invoker invoker, int[] integers){
+        lastInts = integers;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a flag and an option that does not allocate"
+    )
+    public void mockStoreFlags(Invoker invoker, String str, @Flag(shortName = 'b') boolean bool,
+                               @Option(shortName = 'n') @OptionalInteger(5) int integer){
+        lastString = str;
+        lastInt = integer;
+        lastBoolean = bool;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with constraints that does not allocate"
+    )
+    public void mockStoreConstrained(Invoker invoker, @Matches("[a-z]+") String str, @Range(max = 1000) int integer,
+                                     @DecimalRange(min = 0) double decimal){
+        lastString = str;
+        lastInt = integer;
+        lastDouble = decimal;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock overloaded command that does not allocate"
+    )
+    public void mockStoreOverload(Invoker invoker, int integer, long longInteger){
+        lastInt = integer;
+        lastLong = longInteger;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock overloaded command that does not allocate"
+    )
+    public void mockStoreOverload(Invoker invoker, boolean bool, long longInteger){
+        lastBoolean = bool;
+        lastLong = longInteger;
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock branching command that does not allocate"
+    )
+    @BranchingCommand
+    public void mockStoreBranch(Invoker invoker){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    public void mockStoreBranch$set$primitives(Invoker invoker, int integer, long longInteger){
+        lastInt = integer;
+        lastLong = longInteger;
+    }
+    
+}
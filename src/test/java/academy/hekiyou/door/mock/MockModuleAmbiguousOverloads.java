@@ -0,0 +1,28 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Channel;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleAmbiguousOverloads {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that takes a string"
+    )
+    public void mockAmbiguous(Invoker invoker, String str){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that takes the same string with a channel",
+            requiresChannelSupport = true
+    )
+    public void mockAmbiguous(Invoker invoker, Channel channel, String str){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
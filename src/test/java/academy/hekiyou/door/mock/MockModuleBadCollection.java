@@ -0,0 +1,18 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleBadCollection {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with an array that is not its last parameter"
+    )
+    public void mockBadCollection(Invoker invoker, int[] numbers, String after){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
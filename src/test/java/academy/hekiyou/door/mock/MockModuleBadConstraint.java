@@ -0,0 +1,20 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.annotations.optional.OptionalInteger;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleBadConstraint {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a default outside of its range"
+    )
+    public void mockBadConstraint(Invoker invoker, @Range(min = 1) @OptionalInteger(0) int count){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
@@ -0,0 +1,27 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.optional.OptionalString;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleBadDefault {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that loads fine on its own"
+    )
+    public void mockGoodDefault(Invoker invoker, String value){
+        invoker.sendMessage(value);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose default cannot be passed to its argument"
+    )
+    public void mockBadDefault(Invoker invoker, @OptionalString("mock") int integer){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
@@ -0,0 +1,19 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Flag;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleBadFlag {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a flag that is not a boolean"
+    )
+    public void mockBadFlag(Invoker invoker, @Flag int count){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
@@ -0,0 +1,21 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.OneOf;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleBadOneOf {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with values that are the same regardless of case"
+    )
+    public void mockBadOneOf(Invoker invoker,
+                             @OneOf(value = { "Add", "add" }, caseFolding = CaseFolding.INSENSITIVE) String action){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+}
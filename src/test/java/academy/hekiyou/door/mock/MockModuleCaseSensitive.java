@@ -0,0 +1,29 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.BranchingCommand;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleCaseSensitive {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "A branching mock command whose branches are case-sensitive"
+    )
+    @BranchingCommand(caseFolding = CaseFolding.SENSITIVE)
+    public void mockSensitive(Invoker invoker){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    public void mockSensitive$Branch(Invoker invoker){
+        invoker.sendMessage("Branch");
+    }
+    
+    public void mockSensitive$branch(Invoker invoker){
+        invoker.sendMessage("branch");
+    }
+    
+}
@@ -0,0 +1,53 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Module
+public class MockModuleCollections {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that sums integers"
+    )
+    public void mockSum(Invoker invoker, int[] numbers){
+        invoker.sendMessage(String.valueOf(Arrays.stream(numbers).sum()));
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that labels longs"
+    )
+    public void mockLabel(Invoker invoker, String label, long[] values){
+        invoker.sendMessage(label + Arrays.toString(values));
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that averages decimals"
+    )
+    public void mockAverage(Invoker invoker, double[] values){
+        invoker.sendMessage(String.valueOf(Arrays.stream(values).average().orElse(0)));
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that joins names"
+    )
+    public void mockJoin(Invoker invoker, String[] names){
+        invoker.sendMessage(String.join(",", names));
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that lists booleans"
+    )
+    public void mockList(Invoker invoker, List<Boolean> flags){
+        invoker.sendMessage(flags.toString());
+    }
+    
+}
@@ -0,0 +1,58 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.DecimalRange;
+import academy.hekiyou.door.annotations.constraint.Length;
+import academy.hekiyou.door.annotations.constraint.Matches;
+import academy.hekiyou.door.annotations.constraint.OneOf;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.annotations.optional.OptionalInteger;
+import academy.hekiyou.door.model.CaseFolding;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleConstraints {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a ranged integer"
+    )
+    public void mockPercent(Invoker invoker, @Range(min = 0, max = 100) int percent){
+        invoker.sendMessage(percent + "%");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a ranged decimal"
+    )
+    public void mockScale(Invoker invoker, @DecimalRange(min = 0.5, max = 2) double scale){
+        invoker.sendMessage("x" + scale);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a constrained string"
+    )
+    public void mockNick(Invoker invoker, @Length(min = 3, max = 8) @Matches("[a-z]+") String nick){
+        invoker.sendMessage(nick);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a fixed set of values"
+    )
+    public void mockColor(Invoker invoker, @OneOf(value = { "red", "green", "blue" },
+            caseFolding = CaseFolding.INSENSITIVE) String color, @Range(min = 1) @OptionalInteger(1) int amount){
+        invoker.sendMessage(amount + " " + color);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with an optional ranged integer"
+    )
+    public void mockSkip(Invoker invoker, @Range(min = 10) @OptionalInteger(10) int big, String rest){
+        invoker.sendMessage(big + " " + rest);
+    }
+    
+}
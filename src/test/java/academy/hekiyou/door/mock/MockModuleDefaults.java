@@ -0,0 +1,44 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.optional.Optional;
+import academy.hekiyou.door.annotations.optional.OptionalCharacter;
+import academy.hekiyou.door.model.Invoker;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Module
+public class MockModuleDefaults {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a user-defined optional argument"
+    )
+    public void mockGreeting(Invoker invoker, @OptionalGreeting(value = "hi", times = 3) String greeting){
+        invoker.sendMessage(greeting);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with an optional character"
+    )
+    public void mockCharacter(Invoker invoker, @OptionalCharacter('x') char character){
+        invoker.sendMessage(String.valueOf(character));
+    }
+    
+    @Optional
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface OptionalGreeting {
+        
+        String value();
+        
+        int times();
+        
+    }
+    
+}
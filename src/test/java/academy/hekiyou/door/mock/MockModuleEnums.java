@@ -0,0 +1,41 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Alias;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+import java.util.List;
+
+@Module
+public class MockModuleEnums {
+    
+    public enum Direction {
+        NORTH,
+        @Alias({ "s", "down" }) SOUTH,
+        EAST,
+        WEST
+    }
+    
+    public enum Clash {
+        ONE,
+        @Alias("one") TWO
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with an enum"
+    )
+    public void mockHead(Invoker invoker, Direction direction){
+        invoker.sendMessage(direction.name());
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a list of enums"
+    )
+    public void mockRoute(Invoker invoker, List<Direction> directions){
+        invoker.sendMessage(directions.toString());
+    }
+    
+}
@@ -0,0 +1,31 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Flag;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.Option;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.optional.OptionalInteger;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleFlags {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with flags and an option"
+    )
+    public void mockCopy(Invoker invoker, String source, @Flag(shortName = 'f') boolean force,
+                         @Flag(shortName = 'v') boolean verbose, @Option(shortName = 'n') @OptionalInteger(1) int count,
+                         @OptionalInteger(0) int offset){
+        invoker.sendMessage(source + " " + force + " " + verbose + " " + count + " " + offset);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a required option"
+    )
+    public void mockMove(Invoker invoker, String source, @Option("to") String target){
+        invoker.sendMessage(source + "->" + target);
+    }
+    
+}
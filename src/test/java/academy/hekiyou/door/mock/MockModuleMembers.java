@@ -0,0 +1,18 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleMembers {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command resolving a member of the channel"
+    )
+    public void mockPoke(Invoker invoker, Invoker target, String message){
+        target.sendMessage(invoker.getID() + message);
+    }
+    
+}
@@ -0,0 +1,36 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.BranchingCommand;
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleNestedBranches {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "A branching mock command with nested branches"
+    )
+    @BranchingCommand
+    public void mockPerm(Invoker invoker){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    public void mockPerm$group(Invoker invoker, String group){
+        invoker.sendMessage("group " + group);
+    }
+    
+    public void mockPerm$group$add(Invoker invoker, String group, String permission){
+        invoker.sendMessage("add " + group + " " + permission);
+    }
+    
+    public void mockPerm$group$remove(Invoker invoker, String group){
+        invoker.sendMessage("remove " + group);
+    }
+    
+    public void mockPerm$user$set$flag(Invoker invoker, boolean flag){
+        invoker.sendMessage("flag " + flag);
+    }
+    
+}
@@ -0,0 +1,30 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleNoInterpreter {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that loads fine on its own"
+    )
+    public void mockInterpretable(Invoker invoker, String value){
+        invoker.sendMessage(value);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose argument cannot be interpreted"
+    )
+    public void mockUninterpretable(Invoker invoker, Uninterpretable value){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    public static class Uninterpretable {
+    
+    }
+    
+}
@@ -0,0 +1,142 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.annotations.constraint.Range;
+import academy.hekiyou.door.annotations.optional.OptionalInteger;
+import academy.hekiyou.door.interp.Interpreter;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleOverloads {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that teleports to a player",
+            alias = "mockTeleport"
+    )
+    public void mockTp(Invoker invoker, String player){
+        invoker.sendMessage("player " + player);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that teleports a player to another",
+            alias = "mockTeleport"
+    )
+    public void mockTp(Invoker invoker, String player, String target){
+        invoker.sendMessage("players " + player + " " + target);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that teleports to a column",
+            alias = "mockTeleport"
+    )
+    public void mockTp(Invoker invoker, int x, int z){
+        invoker.sendMessage("column " + x + " " + z);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that teleports to coordinates",
+            alias = "mockTeleport"
+    )
+    public void mockTp(Invoker invoker, double x, double y, double z){
+        invoker.sendMessage("coordinates " + x + " " + y + " " + z);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that gives an item"
+    )
+    public void mockGive(Invoker invoker, String item, @OptionalInteger(1) int amount){
+        invoker.sendMessage("give " + item + " " + amount);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that gives an item into a slot"
+    )
+    public void mockGive(Invoker invoker, int slot, String item){
+        invoker.sendMessage("slot " + slot + " " + item);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose first argument is counted as it is interpreted"
+    )
+    public void mockCounted(Invoker invoker, Counted counted, int number){
+        invoker.sendMessage("number " + number);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose first argument is counted as it is interpreted"
+    )
+    public void mockCounted(Invoker invoker, Counted counted, String word){
+        invoker.sendMessage("word " + word);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.disallowed",
+            description = "Mock command whose preferred overload should be denied"
+    )
+    public void mockSet(Invoker invoker, int value){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose preferred overload should be denied"
+    )
+    public void mockSet(Invoker invoker, String value){
+        invoker.sendMessage("text " + value);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.disallowed",
+            description = "Mock command whose every overload should be denied"
+    )
+    public void mockLocked(Invoker invoker, int value){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.disallowed",
+            description = "Mock command whose every overload should be denied"
+    )
+    public void mockLocked(Invoker invoker, String value){
+        throw new IllegalStateException("should not reach here!");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose preferred overload is constrained"
+    )
+    public void mockVolume(Invoker invoker, @Range(min = 0, max = 100) int level){
+        invoker.sendMessage("level " + level);
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose preferred overload is constrained"
+    )
+    public void mockVolume(Invoker invoker, String preset){
+        invoker.sendMessage("preset " + preset);
+    }
+    
+    /**
+     * A type whose interpreter counts how many times it was applied
+     */
+    public static final class Counted {
+        
+        public static int interpretations;
+        public static final Interpreter<Counted> INTERPRETER = input -> {
+            interpretations++;
+            return new Counted();
+        };
+        
+    }
+    
+}
@@ -0,0 +1,38 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+@Module
+public class MockModuleRegister {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command with a shared alias",
+            alias = { "mockShared", "mockFirstAlias" }
+    )
+    public void mockFirst(Invoker invoker){
+        invoker.sendMessage("first");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command whose shared alias is already taken",
+            alias = { "mockShared", "mockSecondAlias" }
+    )
+    public void mockSecond(Invoker invoker){
+        invoker.sendMessage("second");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that overrides whatever it collides with",
+            alias = "mockShared",
+            override = true
+    )
+    public void mockOverride(Invoker invoker){
+        invoker.sendMessage("override");
+    }
+    
+}
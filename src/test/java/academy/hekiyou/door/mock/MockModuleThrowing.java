@@ -0,0 +1,28 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.annotations.Module;
+import academy.hekiyou.door.annotations.RegisterCommand;
+import academy.hekiyou.door.model.Invoker;
+
+import java.io.IOException;
+
+@Module
+public class MockModuleThrowing {
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that fails with an unchecked exception"
+    )
+    public void mockThrowUnchecked(Invoker invoker){
+        throw new IllegalStateException("unchecked");
+    }
+    
+    @RegisterCommand(
+            permission = "mock.allowed",
+            description = "Mock command that fails with a checked exception"
+    )
+    public void mockThrowChecked(Invoker invoker) throws IOException {
+        throw new IOException("checked");
+    }
+    
+}
@@ -0,0 +1,32 @@
+package academy.hekiyou.door.mock;
+
+import academy.hekiyou.door.model.Invoker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link Invoker} that neither logs nor records anything, so that it can be used to measure dispatch itself.
+ */
+public class MockQuietInvoker implements Invoker {
+    
+    private int messagesRecv = 0;
+    
+    @Override
+    public @NotNull String getID(){
+        return "quiet";
+    }
+    
+    @Override
+    public void sendMessage(@NotNull String message){
+        messagesRecv++;
+    }
+    
+    @Override
+    public boolean hasPermission(@NotNull String permission){
+        return true;
+    }
+    
+    public int getMessageCount(){
+        return messagesRecv;
+    }
+    
+}